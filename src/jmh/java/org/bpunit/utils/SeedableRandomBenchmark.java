@@ -0,0 +1,235 @@
+package org.bpunit.utils;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.bpunit.utils.cores.BufferedCore;
+import org.bpunit.utils.cores.LinearCongruentialCore;
+import org.bpunit.utils.cores.RandomCore;
+import org.bpunit.utils.cores.SplitMix64Core;
+import org.bpunit.utils.cores.Xoshiro256StarStarCore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of every family of {@link SeedableRandom}'s methods, with each of the available
+ * {@link RandomCore}s.
+ *
+ * Run with {@code mvn -Pbenchmarks verify -DskipTests}, or e.g.
+ * {@code -Djmh.args="SeedableRandomBenchmark.nextLong -p core=SplitMix64"} for a subset.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SeedableRandomBenchmark {
+
+    /** The number of elements generated by the bulk methods. */
+    private static final int BULK_SIZE = 1024;
+
+    private static final int STRING_LENGTH = 16;
+
+    private static final Pattern SKU = Pattern.compile("[A-Z]{3}-\\d{4}");
+
+    /** The core to use, where {@code Random} is {@link java.util.Random}'s own generator. */
+    @Param({ "Random", "LinearCongruential", "SplitMix64", "Xoshiro256StarStar", "BufferedXoshiro256StarStar" })
+    public String core;
+
+    private SeedableRandom random;
+    private final byte[] bytes = new byte[BULK_SIZE];
+    private final int[] ints = new int[BULK_SIZE];
+    private final long[] longs = new long[BULK_SIZE];
+    private final double[] doubles = new double[BULK_SIZE];
+    private final char[] chars = new char[BULK_SIZE];
+    private long index;
+
+    @Setup
+    public void setUp() {
+        random = new SeedableRandom(19811611L, createCore(core));
+        for (int i = 0; i < ints.length; ++i) {
+            ints[i] = i;
+        }
+    }
+
+    private static RandomCore createCore(String name) {
+        switch (name) {
+        case "Random":
+            return null;
+        case "LinearCongruential":
+            return new LinearCongruentialCore();
+        case "SplitMix64":
+            return new SplitMix64Core();
+        case "Xoshiro256StarStar":
+            return new Xoshiro256StarStarCore();
+        case "BufferedXoshiro256StarStar":
+            return new BufferedCore(new Xoshiro256StarStarCore());
+        default:
+            throw new IllegalArgumentException("Unknown core " + name);
+        }
+    }
+
+    /* --- Primitives --- */
+
+    @Benchmark
+    public int nextInt() {
+        return random.nextInt();
+    }
+
+    @Benchmark
+    public int nextIntBounded() {
+        return random.nextInt(1000);
+    }
+
+    @Benchmark
+    public int nextIntRange() {
+        return random.nextInt(-500, 500);
+    }
+
+    @Benchmark
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    @Benchmark
+    public long nextLongRange() {
+        return random.nextLong(-500_000_000_000L, 500_000_000_000L);
+    }
+
+    @Benchmark
+    public boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+
+    @Benchmark
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    @Benchmark
+    public double nextGaussian() {
+        return random.nextGaussian();
+    }
+
+    @Benchmark
+    public char nextChar() {
+        return random.nextChar();
+    }
+
+    /* --- Bulk --- */
+
+    @Benchmark
+    public byte[] nextBytes() {
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    @Benchmark
+    public int[] nextInts() {
+        random.nextInts(ints);
+        return ints;
+    }
+
+    @Benchmark
+    public long[] nextLongs() {
+        random.nextLongs(longs);
+        return longs;
+    }
+
+    @Benchmark
+    public double[] nextDoubles() {
+        random.nextDoubles(doubles);
+        return doubles;
+    }
+
+    @Benchmark
+    public char[] nextChars() {
+        random.nextChars(chars, 0, chars.length, Alphabet.PRINTABLE);
+        return chars;
+    }
+
+    @Benchmark
+    public int[] shuffle() {
+        random.shuffle(ints);
+        return ints;
+    }
+
+    /* --- Strings --- */
+
+    @Benchmark
+    public String nextString() {
+        return random.nextString(STRING_LENGTH);
+    }
+
+    @Benchmark
+    public String nextStringAlphabet() {
+        return random.nextString(Alphabet.PRINTABLE, STRING_LENGTH);
+    }
+
+    @Benchmark
+    public String nextPropertyString() {
+        return random.nextPropertyString(STRING_LENGTH);
+    }
+
+    @Benchmark
+    public String nextNumericString() {
+        return random.nextNumericString(STRING_LENGTH);
+    }
+
+    @Benchmark
+    public String nextStringPattern() {
+        return random.nextString(SKU);
+    }
+
+    /* --- Objects --- */
+
+    @Benchmark
+    public Date nextDate() {
+        return random.nextDate();
+    }
+
+    @Benchmark
+    public BigInteger nextBigInteger() {
+        return random.nextBigInteger(128);
+    }
+
+    @Benchmark
+    public LocalDate nextLocalDate() {
+        return random.next(LocalDate.class);
+    }
+
+    /* --- Streams and derived generators --- */
+
+    @Benchmark
+    public long longsStream() {
+        return random.longs(BULK_SIZE).sum();
+    }
+
+    @Benchmark
+    public long valueAt() {
+        return random.valueAt(index++);
+    }
+
+    @Benchmark
+    public SeedableRandom split() {
+        return random.split(index++);
+    }
+
+    @Benchmark
+    public long uniqueLongs() {
+        return random.uniqueLongs(BULK_SIZE).sum();
+    }
+}
@@ -0,0 +1,186 @@
+package org.bpunit.assertions;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.bpunit.assertions.behaviors.Behavior;
+import org.bpunit.assertions.behaviors.LoggingBehavior;
+import org.bpunit.utils.ObjectGraphGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * An asserter for the number of bytes a POJO's getters and setters allocate per call, for accessors on hot paths
+ * where defensive copies, boxing or lazily built strings drive the garbage collector.
+ *
+ * The asserter populates the POJO's public setters with random values (see {@link ObjectGraphGenerator}), warms up
+ * the getter and the setter of each property, and then measures the bytes the current thread allocates over many
+ * calls of each, with {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}. The setter is called
+ * with the value its getter returns. Each accessor allocating more than its property type's budget is
+ * reported to the failure {@link Behavior}. By default, accessors of primitive properties may not allocate at all,
+ * and those of other properties are unlimited.
+ *
+ * A JVM that cannot measure the allocations of a thread aborts the assertion with a JUnit assumption, so the test is
+ * skipped rather than failed.
+ */
+public class AllocationAsserter {
+
+    /** The logger to use. */
+    private static final Logger log = LoggerFactory.getLogger(AllocationAsserter.class);
+
+    /** The default number of calls of each accessor to warm up with, enough for the JIT to compile the calls. */
+    public static final int DEFAULT_WARMUP_CALLS = 20_000;
+
+    /** The default number of calls of each accessor to measure. */
+    public static final int DEFAULT_CALLS = 10_000;
+
+    /** The number of times each measurement is repeated, keeping the lowest one. */
+    private static final int ROUNDS = 3;
+
+    private final Object pojo;
+    private final Random random;
+    private final ObjectGraphGenerator objectGraphGenerator;
+    private final int warmupCalls;
+    private final int calls;
+    private final Map<Class<?>, Long> budgets;
+    private final long defaultBudget;
+    private final Behavior failureBehavior;
+
+    /**
+     * @param pojo
+     *            The POJO to measure.
+     * @param random
+     *            The random generator to populate the POJO with.
+     * @param objectGraphGenerator
+     *            The generator to populate the POJO with.
+     * @param warmupCalls
+     *            The number of calls of each accessor to warm up with.
+     * @param calls
+     *            The number of calls of each accessor to measure.
+     * @param budgets
+     *            The bytes an accessor may allocate per call, by property type.
+     * @param defaultBudget
+     *            The bytes an accessor of a non-primitive property type without a budget may allocate per call.
+     * @param failureBehavior
+     *            The {@link Behavior} to perform for each failed check.
+     */
+    AllocationAsserter(Object pojo,
+                       Random random,
+                       ObjectGraphGenerator objectGraphGenerator,
+                       int warmupCalls,
+                       int calls,
+                       Map<Class<?>, Long> budgets,
+                       long defaultBudget,
+                       Behavior failureBehavior) {
+        this.pojo = pojo;
+        this.random = random;
+        this.objectGraphGenerator = objectGraphGenerator;
+        this.warmupCalls = warmupCalls;
+        this.calls = calls;
+        this.budgets = budgets;
+        this.defaultBudget = defaultBudget;
+        this.failureBehavior = failureBehavior;
+    }
+
+    /**
+     * Populates the POJO, measures the allocations of all of its accessors, and reports the ones over budget to the
+     * failure {@link Behavior}.
+     *
+     * @return The measurements.
+     * @throws org.opentest4j.TestAbortedException if the JVM cannot measure the allocations of a thread.
+     */
+    public AllocationReport assertAllocations() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported(),
+                "The JVM cannot measure the allocations of a thread");
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        if (!allocations.isThreadAllocatedMemoryEnabled()) {
+            allocations.setThreadAllocatedMemoryEnabled(true);
+        }
+        long threadId = Thread.currentThread().getId();
+
+        Class<?> type = pojo.getClass();
+        objectGraphGenerator.populate(pojo, random);
+        List<PropertyAccessor> accessors = new ArrayList<>();
+        for (BeanProperty property : BeanProperty.find(type, new LoggingBehavior(false))) {
+            try {
+                PropertyAccessor accessor = PropertyAccessor.of(property);
+                accessor.get(pojo, warmupCalls);
+                accessor.set(pojo, warmupCalls);
+                accessors.add(accessor);
+            } catch (Throwable t) {
+                PropertyAccessor.rethrowIfError(t);
+                failureBehavior.behave("Can't measure property " + property.getName(), t);
+            }
+        }
+
+        // Calibrate the allocations of the measurement itself, e.g., of the bean's own bookkeeping
+        long baseline = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; ++round) {
+            long start = allocations.getThreadAllocatedBytes(threadId);
+            baseline = Math.min(baseline, allocations.getThreadAllocatedBytes(threadId) - start);
+        }
+
+        List<AllocationReport.PropertyAllocation> measured = new ArrayList<>();
+        for (PropertyAccessor accessor : accessors) {
+            BeanProperty property = accessor.getProperty();
+            long getterBytes = Long.MAX_VALUE;
+            long setterBytes = Long.MAX_VALUE;
+            try {
+                for (int round = 0; round < ROUNDS; ++round) {
+                    long start = allocations.getThreadAllocatedBytes(threadId);
+                    accessor.get(pojo, calls);
+                    long between = allocations.getThreadAllocatedBytes(threadId);
+                    accessor.set(pojo, calls);
+                    long end = allocations.getThreadAllocatedBytes(threadId);
+                    getterBytes = Math.min(getterBytes, between - start - baseline);
+                    setterBytes = Math.min(setterBytes, end - between - baseline);
+                }
+            } catch (Throwable t) {
+                PropertyAccessor.rethrowIfError(t);
+                failureBehavior.behave("Can't measure property " + property.getName(), t);
+                continue;
+            }
+            measured.add(new AllocationReport.PropertyAllocation(property.getName(),
+                                                                 property.getType(),
+                                                                 Math.max(0L, getterBytes) / (double) calls,
+                                                                 Math.max(0L, setterBytes) / (double) calls,
+                                                                 budgetOf(property.getType())));
+        }
+
+        AllocationReport report = new AllocationReport(type, baseline, measured);
+        log.info(report.toString());
+
+        for (AllocationReport.PropertyAllocation property : measured) {
+            // Allocations amounting to less than half a byte per call are rounded away as noise
+            if (Math.round(property.getGetterBytes()) > property.getBudget()) {
+                failureBehavior.behave(String.format("Getter of property %s of %s allocates %.1f bytes per call, "
+                        + "over its budget of %d", property.getName(), type.getName(), property.getGetterBytes(),
+                        property.getBudget()), null);
+            }
+            if (Math.round(property.getSetterBytes()) > property.getBudget()) {
+                failureBehavior.behave(String.format("Setter of property %s of %s allocates %.1f bytes per call, "
+                        + "over its budget of %d", property.getName(), type.getName(), property.getSetterBytes(),
+                        property.getBudget()), null);
+            }
+        }
+        return report;
+    }
+
+    /* Private helper methods */
+
+    private long budgetOf(Class<?> propertyType) {
+        Long budget = budgets.get(propertyType);
+        if (budget != null) {
+            return budget;
+        }
+        return propertyType.isPrimitive() ? 0L : defaultBudget;
+    }
+}
@@ -0,0 +1,172 @@
+package org.bpunit.assertions;
+
+import org.bpunit.assertions.behaviors.Behavior;
+import org.bpunit.assertions.behaviors.FailingBehavior;
+import org.bpunit.utils.Generator;
+import org.bpunit.utils.GeneratorRegistry;
+import org.bpunit.utils.ObjectGraphGenerator;
+import org.bpunit.utils.SeedableRandom;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * A builder class for the {@link AllocationAsserter} which allows creating it by a fluent API.
+ */
+public class AllocationAsserterBuilder {
+    private Object pojo;
+    private Random random;
+    private GeneratorRegistry generators = new GeneratorRegistry();
+    private int warmupCalls = AllocationAsserter.DEFAULT_WARMUP_CALLS;
+    private int calls = AllocationAsserter.DEFAULT_CALLS;
+    private final Map<Class<?>, Long> budgets = new HashMap<>();
+    private long defaultBudget = Long.MAX_VALUE;
+    private Behavior failureBehavior;
+
+    public AllocationAsserter build() {
+        Objects.requireNonNull(pojo, "Cannot construct an AllocationAsserter without a POJO to assert");
+
+        if (random == null) {
+            random = new SeedableRandom();
+        }
+
+        if (failureBehavior == null) {
+            failureBehavior = new FailingBehavior();
+        }
+
+        return new AllocationAsserter(pojo,
+                                      random,
+                                      new ObjectGraphGenerator().withGenerators(generators),
+                                      warmupCalls,
+                                      calls,
+                                      new HashMap<>(budgets),
+                                      defaultBudget,
+                                      failureBehavior);
+    }
+
+    /**
+     * Specify the POJO to measure. Its public setters are populated with random values before the measurements.
+     *
+     * @param pojo
+     *          The POJO to be asserted.
+     */
+    public AllocationAsserterBuilder forPOJO(Object pojo) {
+        this.pojo = pojo;
+        return this;
+    }
+
+    /**
+     * Specify the {@link Random} generator the POJO is populated from.
+     * If this method is not called, a default {@link SeedableRandom} with its default seed is used.
+     *
+     * @param random
+     *          The random generator to use.
+     */
+    public AllocationAsserterBuilder withRandom(Random random) {
+        this.random = random;
+        return this;
+    }
+
+    /**
+     * Register a {@link Generator} to use for properties of the given type.
+     *
+     * @param type
+     *          The type to generate.
+     * @param generator
+     *          The generator to use.
+     */
+    public <V> AllocationAsserterBuilder withGenerator(Class<V> type, Generator<? extends V> generator) {
+        generators.register(type, generator);
+        return this;
+    }
+
+    /**
+     * Specify a {@link GeneratorRegistry} to generate the properties with. Generators registered with
+     * {@code withGenerator} afterwards are registered in a child registry, so the given one is not modified.
+     *
+     * @param generators
+     *          The generators to use.
+     */
+    public AllocationAsserterBuilder withGenerators(GeneratorRegistry generators) {
+        this.generators = new GeneratorRegistry(generators);
+        return this;
+    }
+
+    /**
+     * Specify the number of calls of each accessor to warm up with before measuring.
+     * If this method is not called, {@link AllocationAsserter#DEFAULT_WARMUP_CALLS} are used.
+     *
+     * @param warmupCalls
+     *          The number of calls.
+     */
+    public AllocationAsserterBuilder withWarmupCalls(int warmupCalls) {
+        if (warmupCalls < 0) {
+            throw new IllegalArgumentException("warmupCalls must be non-negative");
+        }
+        this.warmupCalls = warmupCalls;
+        return this;
+    }
+
+    /**
+     * Specify the number of calls of each accessor to measure.
+     * If this method is not called, {@link AllocationAsserter#DEFAULT_CALLS} are measured.
+     *
+     * @param calls
+     *          The number of calls.
+     */
+    public AllocationAsserterBuilder withCalls(int calls) {
+        if (calls < 1) {
+            throw new IllegalArgumentException("calls must be positive");
+        }
+        this.calls = calls;
+        return this;
+    }
+
+    /**
+     * Specify the number of bytes an accessor of a property of the given type may allocate per call.
+     * If this method is not called for a type, accessors of primitive types may not allocate, and the default budget
+     * applies to the other types.
+     *
+     * @param type
+     *          The type of the properties.
+     * @param bytesPerCall
+     *          The budget of each call.
+     */
+    public AllocationAsserterBuilder withBudget(Class<?> type, long bytesPerCall) {
+        if (bytesPerCall < 0) {
+            throw new IllegalArgumentException("bytesPerCall must be non-negative");
+        }
+        budgets.put(type, bytesPerCall);
+        return this;
+    }
+
+    /**
+     * Specify the number of bytes an accessor of a non-primitive property may allocate per call, unless its type has
+     * a budget of its own.
+     * If this method is not called, the allocations of such accessors are only reported.
+     *
+     * @param bytesPerCall
+     *          The budget of each call.
+     */
+    public AllocationAsserterBuilder withDefaultBudget(long bytesPerCall) {
+        if (bytesPerCall < 0) {
+            throw new IllegalArgumentException("bytesPerCall must be non-negative");
+        }
+        this.defaultBudget = bytesPerCall;
+        return this;
+    }
+
+    /**
+     * Specify the {@link Behavior} to use for each accessor over its budget.
+     * If this method is not called, a default {@link FailingBehavior} is used.
+     *
+     * @param failureBehavior
+     *          The Behavior to use
+     */
+    public AllocationAsserterBuilder withFailureBehavior(Behavior failureBehavior) {
+        this.failureBehavior = failureBehavior;
+        return this;
+    }
+}
@@ -0,0 +1,123 @@
+package org.bpunit.assertions;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The measurements of an {@link AllocationAsserter}: how many bytes each getter and setter of a POJO allocates per
+ * call, once warmed up.
+ */
+public final class AllocationReport {
+    private final Class<?> type;
+    private final long baselineBytes;
+    private final List<PropertyAllocation> properties;
+
+    AllocationReport(Class<?> type, long baselineBytes, List<PropertyAllocation> properties) {
+        this.type = type;
+        this.baselineBytes = baselineBytes;
+        this.properties = Collections.unmodifiableList(properties);
+    }
+
+    /**
+     * Returns the class of the measured POJO.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of bytes a measurement allocates on its own, which was subtracted from each measurement.
+     */
+    public long getBaselineBytes() {
+        return baselineBytes;
+    }
+
+    /**
+     * Returns the allocations of each measured property.
+     */
+    public List<PropertyAllocation> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Returns the measurements of the property of the given name, or {@code null} if it wasn't measured.
+     */
+    public PropertyAllocation getProperty(String name) {
+        for (PropertyAllocation property : properties) {
+            if (property.getName().equals(name)) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder()
+                .append(type.getName()).append(": baseline ").append(baselineBytes).append(" bytes");
+        for (PropertyAllocation property : properties) {
+            builder.append(", ").append(property);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The bytes allocated per call by the getter and the setter of a property.
+     */
+    public static final class PropertyAllocation {
+        private final String name;
+        private final Class<?> propertyType;
+        private final double getterBytes;
+        private final double setterBytes;
+        private final long budget;
+
+        PropertyAllocation(String name, Class<?> propertyType, double getterBytes, double setterBytes, long budget) {
+            this.name = name;
+            this.propertyType = propertyType;
+            this.getterBytes = getterBytes;
+            this.setterBytes = setterBytes;
+            this.budget = budget;
+        }
+
+        /**
+         * Returns the name of the property.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the type of the property.
+         */
+        public Class<?> getPropertyType() {
+            return propertyType;
+        }
+
+        /**
+         * Returns the mean number of bytes a getter call allocates.
+         */
+        public double getGetterBytes() {
+            return getterBytes;
+        }
+
+        /**
+         * Returns the mean number of bytes a setter call allocates.
+         */
+        public double getSetterBytes() {
+            return setterBytes;
+        }
+
+        /**
+         * Returns the number of bytes a call may allocate, or {@link Long#MAX_VALUE} if it is unlimited.
+         */
+        public long getBudget() {
+            return budget;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: get %.1f bytes, set %.1f bytes (budget %s)",
+                    name, getterBytes, setterBytes, budget == Long.MAX_VALUE ? "unlimited" : budget);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.bpunit.assertions;
+
+import org.bpunit.assertions.behaviors.Behavior;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A property of a POJO with a pair of getter and setter, i.e., a {@code setXYZ(SomeType)} method and a
+ * {@code getXYZ()} (or {@code isXYZ()}, for booleans) method returning the same type.
+ */
+final class BeanProperty {
+
+    /** The logger to use. */
+    private static final Logger log = LoggerFactory.getLogger(BeanProperty.class);
+
+    // Prefixes to make up method names
+    private static final String SET_PREFIX = "set";
+    private static final String GET_PREFIX = "get";
+    private static final String BOOLEAN_GET_PREFIX = "is";
+
+    private final String name;
+    private final Class<?> type;
+    private final Method setMethod;
+    private final Method getMethod;
+
+    private BeanProperty(String name, Class<?> type, Method setMethod, Method getMethod) {
+        this.name = name;
+        this.type = type;
+        this.setMethod = setMethod;
+        this.getMethod = getMethod;
+    }
+
+    /**
+     * Finds all the properties of the given class that have a pair of public getter and setter.
+     *
+     * @param pojoClass
+     *            The class to find the properties of.
+     * @param noGetterBehavior
+     *            The {@link Behavior} to perform for each setter that does not have a getter.
+     */
+    static List<BeanProperty> find(Class<?> pojoClass, Behavior noGetterBehavior) {
+        List<BeanProperty> properties = new ArrayList<>();
+        for (Method setMethod : pojoClass.getMethods()) {
+            String setMethodName = setMethod.getName();
+
+            // Skip non setters
+            if (!setMethodName.startsWith(SET_PREFIX)) {
+                continue;
+            }
+
+            Class<?>[] paramTypes = setMethod.getParameterTypes();
+            if (paramTypes.length != 1) {
+                continue;
+            }
+
+            String propertyName = setMethodName.substring(SET_PREFIX.length());
+            Class<?> type = paramTypes[0];
+            Method getMethod = getGetMethod(pojoClass, propertyName, type);
+            if (getMethod == null) {
+                noGetterBehavior.behave("Cannot find getter and setter pair for property " + propertyName, null);
+                continue;
+            }
+
+            properties.add(new BeanProperty(propertyName, type, setMethod, getMethod));
+        }
+        return properties;
+    }
+
+    /**
+     * Returns the name of the property, e.g., {@code XYZ} for {@code getXYZ()} and {@code setXYZ(SomeType)}.
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the type of the property.
+     */
+    Class<?> getType() {
+        return type;
+    }
+
+    Method getSetMethod() {
+        return setMethod;
+    }
+
+    Method getGetMethod() {
+        return getMethod;
+    }
+
+    /**
+     * @param pojoClass
+     *            The class of POJO to get the method for.
+     * @param propertyName
+     *            The name of the property.
+     * @param expectedType
+     *            The expected return type.
+     * @return A {@link Method} object representing the "get method" of the given property name.
+     */
+    private static Method getGetMethod(Class<?> pojoClass, String propertyName, Class<?> expectedType) {
+        Method m = getGetMethod(pojoClass, propertyName, GET_PREFIX, expectedType);
+        if (m == null && (expectedType.equals(Boolean.TYPE) || expectedType.equals(Boolean.class))) {
+            log.info("Property " + propertyName + " is a boolean, trying a different prefix");
+            m = getGetMethod(pojoClass, propertyName, BOOLEAN_GET_PREFIX, expectedType);
+        }
+        return m;
+    }
+
+    /**
+     * @param pojoClass
+     *            The class of POJO to get the method for.
+     * @param propertyName
+     *            The name of the property.
+     * @param methodPrefix
+     *            The prefix of the method to which the property name is appended to (e.g., "get", "is").
+     * @param expectedType
+     *            The expected return type.
+     * @return A {@link Method} object representing the "get method" of the given property name.
+     */
+    private static Method getGetMethod(Class<?> pojoClass,
+                                       String propertyName,
+                                       String methodPrefix,
+                                       Class<?> expectedType) {
+        String getMethodName = methodPrefix + propertyName;
+        Method getMethod;
+        try {
+            getMethod = pojoClass.getMethod(getMethodName);
+            Class<?> retrunType = getMethod.getReturnType();
+            if (!retrunType.equals(expectedType)) {
+                throw new NoSuchMethodException();
+            }
+        } catch (NoSuchMethodException e) {
+            log.info("No appropriate getter " + getMethodName + " for " + propertyName);
+            return null;
+        }
+        return getMethod;
+    }
+}
@@ -0,0 +1,222 @@
+package org.bpunit.assertions;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A file store of the seeds that made property assertions fail, so later runs can replay them first.
+ *
+ * Each entry is the class, the property and the seed of a failure, and the number of times it passed since it last
+ * failed. An entry is dropped once it passes {@link #getRequiredPasses()} times in a row, so fixed regressions stop
+ * being replayed.
+ *
+ * The store is a small tab-separated text file, rewritten on every change. Failing to read or write it is logged, but
+ * never fails a test.
+ *
+ * @see POJOAsserterBuillder#withFailingSeedDatabase(FailingSeedDatabase)
+ */
+public class FailingSeedDatabase {
+
+    /** The logger to use. */
+    private static final Logger log = LoggerFactory.getLogger(FailingSeedDatabase.class);
+
+    /** The system property overriding the path of the {@link #getDefault()} database. */
+    public static final String PATH_PROPERTY = "BPUNIT.SEED_DB";
+
+    /** The path of the {@link #getDefault()} database, under Maven's build directory. */
+    public static final String DEFAULT_PATH = "target/bpunit/failing-seeds.tsv";
+
+    /** The default number of times in a row an entry must pass to be dropped. */
+    public static final int DEFAULT_REQUIRED_PASSES = 3;
+
+    private static final String SEPARATOR = "\t";
+
+    private final Path path;
+    private final int requiredPasses;
+
+    /** The number of passes of each entry, by class, property and seed, or {@code null} before loading the file. */
+    private Map<Entry, Integer> entries;
+
+    /**
+     * Constructs a database stored in the given file, which drops entries after {@link #DEFAULT_REQUIRED_PASSES}.
+     */
+    public FailingSeedDatabase(Path path) {
+        this(path, DEFAULT_REQUIRED_PASSES);
+    }
+
+    /**
+     * @param path
+     *            The file to store the database in. It is created, with its parent directories, on the first
+     *            failure.
+     * @param requiredPasses
+     *            The number of times in a row an entry must pass to be dropped.
+     */
+    public FailingSeedDatabase(Path path, int requiredPasses) {
+        if (requiredPasses < 1) {
+            throw new IllegalArgumentException("requiredPasses must be positive");
+        }
+        this.path = path;
+        this.requiredPasses = requiredPasses;
+    }
+
+    /**
+     * Returns the database stored in the file the {@code BPUNIT.SEED_DB} system property specifies, or in
+     * {@link #DEFAULT_PATH} if it isn't set.
+     */
+    public static FailingSeedDatabase getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the file the database is stored in.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the number of times in a row an entry must pass to be dropped.
+     */
+    public int getRequiredPasses() {
+        return requiredPasses;
+    }
+
+    /**
+     * Returns the seeds that made the given property of the given class fail, in the order they were recorded.
+     */
+    public synchronized List<Long> getSeeds(Class<?> type, String property) {
+        List<Long> seeds = new ArrayList<>();
+        for (Entry entry : getEntries().keySet()) {
+            if (entry.className.equals(type.getName()) && entry.property.equals(property)) {
+                seeds.add(entry.seed);
+            }
+        }
+        return seeds;
+    }
+
+    /**
+     * Records that the given seed made the given property of the given class fail, resetting its number of passes.
+     */
+    public synchronized void recordFailure(Class<?> type, String property, long seed) {
+        Integer previous = getEntries().put(new Entry(type.getName(), property, seed), 0);
+        if (previous == null || previous != 0) {
+            save();
+        }
+    }
+
+    /**
+     * Records that the given seed, which made the given property of the given class fail before, passed. The entry is
+     * dropped if it passed {@link #getRequiredPasses()} times in a row.
+     */
+    public synchronized void recordPass(Class<?> type, String property, long seed) {
+        Entry entry = new Entry(type.getName(), property, seed);
+        Integer passes = getEntries().get(entry);
+        if (passes == null) {
+            return;
+        }
+        if (passes + 1 >= requiredPasses) {
+            entries.remove(entry);
+            log.info("Dropping seed " + seed + " of " + type.getName() + "." + property + " after " + requiredPasses
+                    + " passes");
+        } else {
+            entries.put(entry, passes + 1);
+        }
+        save();
+    }
+
+    private Map<Entry, Integer> getEntries() {
+        if (entries == null) {
+            entries = load();
+        }
+        return entries;
+    }
+
+    private Map<Entry, Integer> load() {
+        Map<Entry, Integer> loaded = new LinkedHashMap<>();
+        if (!Files.exists(path)) {
+            return loaded;
+        }
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                String[] fields = line.split(SEPARATOR);
+                if (line.startsWith("#") || fields.length != 4) {
+                    continue;
+                }
+                loaded.put(new Entry(fields[0], fields[1], Long.parseLong(fields[2])), Integer.valueOf(fields[3]));
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Can't read the failing seed database " + path + ", ignoring it", e);
+        }
+        return loaded;
+    }
+
+    /**
+     * Writes all the entries to a temporary file, and moves it over the database, so a crash never leaves a
+     * truncated database behind.
+     */
+    private void save() {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write("# class\tproperty\tseed\tpasses");
+                writer.newLine();
+                for (Map.Entry<Entry, Integer> e : entries.entrySet()) {
+                    Entry entry = e.getKey();
+                    writer.write(entry.className + SEPARATOR + entry.property + SEPARATOR + entry.seed + SEPARATOR
+                            + e.getValue());
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Can't write the failing seed database " + path, e);
+        }
+    }
+
+    /** A failure's class, property and seed. */
+    private static final class Entry {
+        private final String className;
+        private final String property;
+        private final long seed;
+
+        private Entry(String className, String property, long seed) {
+            this.className = className;
+            this.property = property;
+            this.seed = seed;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry other = (Entry) o;
+            return seed == other.seed && className.equals(other.className) && property.equals(other.property);
+        }
+
+        @Override
+        public int hashCode() {
+            return (className.hashCode() * 31 + property.hashCode()) * 31 + Long.hashCode(seed);
+        }
+    }
+
+    /** Holds the default database, which is only created when it is used. */
+    private static final class DefaultHolder {
+        private static final FailingSeedDatabase INSTANCE =
+                new FailingSeedDatabase(Paths.get(System.getProperty(PATH_PROPERTY, DEFAULT_PATH)));
+    }
+}
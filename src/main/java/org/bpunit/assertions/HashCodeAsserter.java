@@ -0,0 +1,285 @@
+package org.bpunit.assertions;
+
+import org.bpunit.assertions.behaviors.Behavior;
+import org.bpunit.utils.GeneratorRegistry;
+import org.bpunit.utils.ObjectGraphGenerator;
+import org.bpunit.utils.SeedableRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An asserter for the quality of a class's {@code hashCode}, for classes used as keys of {@link java.util.HashMap}s
+ * and {@link java.util.concurrent.ConcurrentHashMap}s.
+ *
+ * The asserter generates random instances of the class through its setters (see {@link ObjectGraphGenerator}), and
+ * checks:
+ * <ul>
+ * <li>The {@code equals}/{@code hashCode} contract: {@code equals} is reflexive and symmetric, nothing equals
+ * {@code null}, hash codes are stable, and equal instances (generated twice from the same seed) have equal hash
+ * codes.</li>
+ * <li>The collision rate: the fraction of distinct instances whose hash code collides with another's.</li>
+ * <li>The spread over the buckets of a power-of-two table, after the same bit spreading {@link java.util.HashMap}
+ * does: a bucket holding {@link #DEFAULT_MAX_BUCKET_SIZE} entries or more is turned into a tree.</li>
+ * <li>The cost of {@code equals} and {@code hashCode} as the instances' collections grow.</li>
+ * </ul>
+ * Each check whose threshold is exceeded is reported to the failure {@link Behavior}.
+ */
+public class HashCodeAsserter {
+
+    /** The logger to use. */
+    private static final Logger log = LoggerFactory.getLogger(HashCodeAsserter.class);
+
+    /** The default number of random instances to generate. */
+    public static final int DEFAULT_INSTANCES = 10_000;
+
+    /** The default highest fraction of distinct instances whose hash codes may collide. */
+    public static final double DEFAULT_MAX_COLLISION_RATE = 0.01;
+
+    /** The default size of a bucket that fails the assertion, the size {@link java.util.HashMap} treeifies at. */
+    public static final int DEFAULT_MAX_BUCKET_SIZE = 8;
+
+    /** The default maximal collection sizes to measure the cost of {@code equals} and {@code hashCode} with. */
+    static final int[] DEFAULT_COLLECTION_SIZES = { 0, 8, 64 };
+
+    /** The number of instances to measure the cost of {@code equals} and {@code hashCode} with. */
+    private static final int COST_INSTANCES = 64;
+
+    /** The number of rounds over the instances to warm up with, and then to measure. */
+    private static final int COST_ROUNDS = 50;
+
+    /** {@link java.util.HashMap}'s default load factor. */
+    private static final double LOAD_FACTOR = 0.75;
+
+    private final Class<?> type;
+    private final SeedableRandom random;
+    private final GeneratorRegistry generators;
+    private final int instances;
+    private final double maxCollisionRate;
+    private final int maxBucketSize;
+    private final int[] collectionSizes;
+    private final double maxCostNanos;
+    private final Behavior failureBehavior;
+
+    /** Accumulates the results of the measured calls, so they are not optimized away. */
+    private int sink;
+
+    /**
+     * @param type
+     *            The class to assert.
+     * @param random
+     *            The random generator to derive each instance's generator from.
+     * @param generators
+     *            The generators of the instances' property values.
+     * @param instances
+     *            The number of random instances to generate.
+     * @param maxCollisionRate
+     *            The highest acceptable collision rate.
+     * @param maxBucketSize
+     *            The size of a bucket that fails the assertion.
+     * @param collectionSizes
+     *            The maximal collection sizes to measure the cost of {@code equals} and {@code hashCode} with.
+     * @param maxCostNanos
+     *            The highest acceptable mean time of an {@code equals} or {@code hashCode} call, in nanoseconds.
+     * @param failureBehavior
+     *            The {@link Behavior} to perform for each failed check.
+     */
+    HashCodeAsserter(Class<?> type,
+                     SeedableRandom random,
+                     GeneratorRegistry generators,
+                     int instances,
+                     double maxCollisionRate,
+                     int maxBucketSize,
+                     int[] collectionSizes,
+                     double maxCostNanos,
+                     Behavior failureBehavior) {
+        this.type = type;
+        this.random = random;
+        this.generators = generators;
+        this.instances = instances;
+        this.maxCollisionRate = maxCollisionRate;
+        this.maxBucketSize = maxBucketSize;
+        this.collectionSizes = collectionSizes;
+        this.maxCostNanos = maxCostNanos;
+        this.failureBehavior = failureBehavior;
+    }
+
+    /**
+     * Generates the random instances, runs all the checks, and reports the failed ones to the failure
+     * {@link Behavior}.
+     *
+     * @return The measurements.
+     * @throws IllegalArgumentException if the class cannot be instantiated.
+     */
+    public HashCodeReport assertHashCode() {
+        ObjectGraphGenerator generator = newGenerator(ObjectGraphGenerator.DEFAULT_MAX_COLLECTION_SIZE);
+        List<Object> objects = new ArrayList<>(instances);
+        Map<String, String> violations = new LinkedHashMap<>();
+        for (int i = 0; i < instances; ++i) {
+            Object object = generate(generator, i);
+            checkContract(object, generate(generator, i), violations);
+            if (i > 0) {
+                checkPair(objects.get(i - 1), object, violations);
+            }
+            objects.add(object);
+        }
+        for (Map.Entry<String, String> violation : violations.entrySet()) {
+            failureBehavior.behave(type.getName() + " violates the equals/hashCode contract: " + violation.getKey()
+                    + " (e.g., " + violation.getValue() + ")", null);
+        }
+
+        Set<Object> distinct = new HashSet<>(objects);
+        Set<Integer> hashCodes = new HashSet<>();
+        int tableSize = tableSizeFor((int) Math.ceil(distinct.size() / LOAD_FACTOR));
+        int[] buckets = new int[tableSize];
+        for (Object object : distinct) {
+            int h = object.hashCode();
+            hashCodes.add(h);
+            ++buckets[(h ^ (h >>> 16)) & (tableSize - 1)];
+        }
+        int occupied = 0;
+        int fullest = 0;
+        for (int bucket : buckets) {
+            occupied += bucket > 0 ? 1 : 0;
+            fullest = Math.max(fullest, bucket);
+        }
+        double expectedOccupied = tableSize * (1.0 - Math.pow(1.0 - 1.0 / tableSize, distinct.size()));
+
+        List<HashCodeReport.Cost> costs = new ArrayList<>();
+        for (int size : collectionSizes) {
+            costs.add(measureCost(size));
+        }
+
+        HashCodeReport report = new HashCodeReport(type,
+                                                   instances,
+                                                   distinct.size(),
+                                                   hashCodes.size(),
+                                                   tableSize,
+                                                   occupied,
+                                                   expectedOccupied,
+                                                   fullest,
+                                                   costs);
+        log.info(report.toString());
+
+        if (report.getCollisionRate() > maxCollisionRate) {
+            failureBehavior.behave(String.format("%s's hash codes collide too often: %.4f > %.4f",
+                    type.getName(), report.getCollisionRate(), maxCollisionRate), null);
+        }
+        if (fullest >= maxBucketSize) {
+            failureBehavior.behave(type.getName() + "'s hash codes are skewed: a bucket of a table of " + tableSize
+                    + " holds " + fullest + " of " + distinct.size() + " distinct instances", null);
+        }
+        for (HashCodeReport.Cost cost : costs) {
+            if (Math.max(cost.getHashCodeNanos(), cost.getEqualsNanos()) > maxCostNanos) {
+                failureBehavior.behave(type.getName() + "'s equals or hashCode is too slow with "
+                        + cost + ", more than " + maxCostNanos + "ns", null);
+            }
+        }
+        return report;
+    }
+
+    /* Private helper methods */
+
+    private ObjectGraphGenerator newGenerator(int maxCollectionSize) {
+        return new ObjectGraphGenerator().withGenerators(generators).withMaxCollectionSize(maxCollectionSize);
+    }
+
+    /**
+     * Generates the instance of the given index. Since the instance only depends on the index, generating the same
+     * index twice creates two equal instances.
+     */
+    private Object generate(ObjectGraphGenerator generator, long index) {
+        Object object = generator.generate(type, random.split(index));
+        if (object == null) {
+            throw new IllegalArgumentException("Can't generate instances of " + type.getName());
+        }
+        return object;
+    }
+
+    private static void checkContract(Object object, Object copy, Map<String, String> violations) {
+        if (!object.equals(object)) {
+            violations.putIfAbsent("equals is not reflexive", String.valueOf(object));
+        }
+        if (object.equals(null)) {
+            violations.putIfAbsent("an instance equals null", String.valueOf(object));
+        }
+        if (object.hashCode() != object.hashCode()) {
+            violations.putIfAbsent("hashCode is not stable", String.valueOf(object));
+        }
+        if (!object.equals(copy) || !copy.equals(object)) {
+            violations.putIfAbsent("instances with the same property values are not equal",
+                    object + " and " + copy);
+        } else if (object.hashCode() != copy.hashCode()) {
+            violations.putIfAbsent("equal instances have different hash codes",
+                    object.hashCode() + " and " + copy.hashCode());
+        }
+    }
+
+    private static void checkPair(Object first, Object second, Map<String, String> violations) {
+        boolean equal = first.equals(second);
+        if (equal != second.equals(first)) {
+            violations.putIfAbsent("equals is not symmetric", first + " and " + second);
+        } else if (equal && first.hashCode() != second.hashCode()) {
+            violations.putIfAbsent("equal instances have different hash codes",
+                    first.hashCode() + " and " + second.hashCode());
+        }
+    }
+
+    /**
+     * Measures the mean cost of {@code hashCode}, and of {@code equals} between equal instances, of instances whose
+     * collections have up to the given size.
+     */
+    private HashCodeReport.Cost measureCost(int maxCollectionSize) {
+        ObjectGraphGenerator generator = newGenerator(maxCollectionSize);
+        Object[] objects = new Object[COST_INSTANCES];
+        Object[] copies = new Object[COST_INSTANCES];
+        long firstIndex = (long) (maxCollectionSize + 1) << Integer.SIZE;
+        for (int i = 0; i < COST_INSTANCES; ++i) {
+            objects[i] = generate(generator, firstIndex + i);
+            copies[i] = generate(generator, firstIndex + i);
+        }
+
+        // Warm up, and then measure
+        hashCodes(objects);
+        equals(objects, copies);
+        long start = System.nanoTime();
+        hashCodes(objects);
+        long hashCodeNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        equals(objects, copies);
+        long equalsNanos = System.nanoTime() - start;
+
+        double calls = (double) COST_ROUNDS * COST_INSTANCES;
+        return new HashCodeReport.Cost(maxCollectionSize, hashCodeNanos / calls, equalsNanos / calls);
+    }
+
+    private void hashCodes(Object[] objects) {
+        for (int round = 0; round < COST_ROUNDS; ++round) {
+            for (Object object : objects) {
+                sink += object.hashCode();
+            }
+        }
+    }
+
+    private void equals(Object[] objects, Object[] copies) {
+        for (int round = 0; round < COST_ROUNDS; ++round) {
+            for (int i = 0; i < objects.length; ++i) {
+                sink += objects[i].equals(copies[i]) ? 1 : 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the size of a {@link java.util.HashMap}'s table for the given capacity, the smallest power of two that
+     * is at least the capacity.
+     */
+    private static int tableSizeFor(int capacity) {
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
@@ -0,0 +1,186 @@
+package org.bpunit.assertions;
+
+import org.bpunit.assertions.behaviors.Behavior;
+import org.bpunit.assertions.behaviors.FailingBehavior;
+import org.bpunit.utils.Generator;
+import org.bpunit.utils.GeneratorRegistry;
+import org.bpunit.utils.SeedableRandom;
+
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * A builder class for the {@link HashCodeAsserter} which allows creating it by a fluent API.
+ */
+public class HashCodeAsserterBuilder {
+    private Class<?> type;
+    private Random random;
+    private GeneratorRegistry generators = new GeneratorRegistry();
+    private int instances = HashCodeAsserter.DEFAULT_INSTANCES;
+    private double maxCollisionRate = HashCodeAsserter.DEFAULT_MAX_COLLISION_RATE;
+    private int maxBucketSize = HashCodeAsserter.DEFAULT_MAX_BUCKET_SIZE;
+    private int[] collectionSizes = HashCodeAsserter.DEFAULT_COLLECTION_SIZES;
+    private double maxCostNanos = Double.POSITIVE_INFINITY;
+    private Behavior failureBehavior;
+
+    public HashCodeAsserter build() {
+        Objects.requireNonNull(type, "Cannot construct a HashCodeAsserter without a class to assert");
+
+        if (random == null) {
+            random = new SeedableRandom();
+        }
+
+        if (failureBehavior == null) {
+            failureBehavior = new FailingBehavior();
+        }
+
+        // Each instance is generated by a generator derived from the seed and the instance's index
+        SeedableRandom seedableRandom =
+                random instanceof SeedableRandom ? (SeedableRandom) random : new SeedableRandom(random.nextLong());
+
+        return new HashCodeAsserter(type,
+                                    seedableRandom,
+                                    generators,
+                                    instances,
+                                    maxCollisionRate,
+                                    maxBucketSize,
+                                    collectionSizes,
+                                    maxCostNanos,
+                                    failureBehavior);
+    }
+
+    /**
+     * Specify the class to assert. The class must have a public argument-less constructor, and its instances are
+     * populated through their public setters.
+     *
+     * @param type
+     *          The class to be asserted.
+     */
+    public HashCodeAsserterBuilder forClass(Class<?> type) {
+        this.type = type;
+        return this;
+    }
+
+    /**
+     * Specify the {@link Random} generator the instances are generated from.
+     * If this method is not called, a default {@link SeedableRandom} with its default seed is used.
+     *
+     * @param random
+     *          The random generator to use.
+     */
+    public HashCodeAsserterBuilder withRandom(Random random) {
+        this.random = random;
+        return this;
+    }
+
+    /**
+     * Register a {@link Generator} to use for properties of the given type.
+     *
+     * @param type
+     *          The type to generate.
+     * @param generator
+     *          The generator to use.
+     */
+    public <V> HashCodeAsserterBuilder withGenerator(Class<V> type, Generator<? extends V> generator) {
+        generators.register(type, generator);
+        return this;
+    }
+
+    /**
+     * Specify a {@link GeneratorRegistry} to generate the properties with. Generators registered with
+     * {@code withGenerator} afterwards are registered in a child registry, so the given one is not modified.
+     *
+     * @param generators
+     *          The generators to use.
+     */
+    public HashCodeAsserterBuilder withGenerators(GeneratorRegistry generators) {
+        this.generators = new GeneratorRegistry(generators);
+        return this;
+    }
+
+    /**
+     * Specify the number of random instances to generate.
+     * If this method is not called, {@link HashCodeAsserter#DEFAULT_INSTANCES} are generated.
+     *
+     * @param instances
+     *          The number of instances.
+     */
+    public HashCodeAsserterBuilder withInstances(int instances) {
+        if (instances < 1) {
+            throw new IllegalArgumentException("instances must be positive");
+        }
+        this.instances = instances;
+        return this;
+    }
+
+    /**
+     * Specify the highest acceptable fraction of distinct instances whose hash codes collide.
+     * If this method is not called, {@link HashCodeAsserter#DEFAULT_MAX_COLLISION_RATE} is used.
+     *
+     * @param maxCollisionRate
+     *          The collision rate, between 0 and 1.
+     */
+    public HashCodeAsserterBuilder withMaxCollisionRate(double maxCollisionRate) {
+        if (!(maxCollisionRate >= 0.0 && maxCollisionRate <= 1.0)) {
+            throw new IllegalArgumentException("maxCollisionRate must be between 0 and 1");
+        }
+        this.maxCollisionRate = maxCollisionRate;
+        return this;
+    }
+
+    /**
+     * Specify the number of instances in a single bucket of a power-of-two table that fails the assertion.
+     * If this method is not called, {@link HashCodeAsserter#DEFAULT_MAX_BUCKET_SIZE} is used.
+     *
+     * @param maxBucketSize
+     *          The size of a failing bucket.
+     */
+    public HashCodeAsserterBuilder withMaxBucketSize(int maxBucketSize) {
+        if (maxBucketSize < 2) {
+            throw new IllegalArgumentException("maxBucketSize must be at least 2");
+        }
+        this.maxBucketSize = maxBucketSize;
+        return this;
+    }
+
+    /**
+     * Specify the maximal collection sizes to measure the cost of {@code equals} and {@code hashCode} with.
+     * If this method is not called, collections of up to 0, 8 and 64 elements are measured.
+     *
+     * @param collectionSizes
+     *          The maximal collection sizes.
+     */
+    public HashCodeAsserterBuilder withCollectionSizes(int... collectionSizes) {
+        for (int size : collectionSizes) {
+            if (size < 0) {
+                throw new IllegalArgumentException("Collection sizes must be non-negative");
+            }
+        }
+        this.collectionSizes = collectionSizes.clone();
+        return this;
+    }
+
+    /**
+     * Specify the highest acceptable mean time of an {@code equals} or {@code hashCode} call, in nanoseconds.
+     * If this method is not called, the cost is only reported.
+     *
+     * @param maxCostNanos
+     *          The highest mean time of a call.
+     */
+    public HashCodeAsserterBuilder withMaxCostNanos(double maxCostNanos) {
+        this.maxCostNanos = maxCostNanos;
+        return this;
+    }
+
+    /**
+     * Specify the {@link Behavior} to use for each failed check.
+     * If this method is not called, a default {@link FailingBehavior} is used.
+     *
+     * @param failureBehavior
+     *          The Behavior to use
+     */
+    public HashCodeAsserterBuilder withFailureBehavior(Behavior failureBehavior) {
+        this.failureBehavior = failureBehavior;
+        return this;
+    }
+}
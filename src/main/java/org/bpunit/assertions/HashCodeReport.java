@@ -0,0 +1,168 @@
+package org.bpunit.assertions;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The measurements of a {@link HashCodeAsserter}: how well a class's {@code hashCode} spreads random instances over
+ * the buckets of a hash table, and how much {@code equals} and {@code hashCode} cost as its collections grow.
+ */
+public final class HashCodeReport {
+    private final Class<?> type;
+    private final int instances;
+    private final int distinctInstances;
+    private final int distinctHashCodes;
+    private final int tableSize;
+    private final int occupiedBuckets;
+    private final double expectedOccupiedBuckets;
+    private final int maxBucketSize;
+    private final List<Cost> costs;
+
+    HashCodeReport(Class<?> type,
+                   int instances,
+                   int distinctInstances,
+                   int distinctHashCodes,
+                   int tableSize,
+                   int occupiedBuckets,
+                   double expectedOccupiedBuckets,
+                   int maxBucketSize,
+                   List<Cost> costs) {
+        this.type = type;
+        this.instances = instances;
+        this.distinctInstances = distinctInstances;
+        this.distinctHashCodes = distinctHashCodes;
+        this.tableSize = tableSize;
+        this.occupiedBuckets = occupiedBuckets;
+        this.expectedOccupiedBuckets = expectedOccupiedBuckets;
+        this.maxBucketSize = maxBucketSize;
+        this.costs = Collections.unmodifiableList(costs);
+    }
+
+    /**
+     * Returns the class whose instances were measured.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of random instances generated.
+     */
+    public int getInstances() {
+        return instances;
+    }
+
+    /**
+     * Returns the number of distinct instances, according to {@code equals}.
+     */
+    public int getDistinctInstances() {
+        return distinctInstances;
+    }
+
+    /**
+     * Returns the number of distinct hash codes of the distinct instances.
+     */
+    public int getDistinctHashCodes() {
+        return distinctHashCodes;
+    }
+
+    /**
+     * Returns the fraction of the distinct instances whose hash code collides with another distinct instance's.
+     */
+    public double getCollisionRate() {
+        return 1.0 - (double) distinctHashCodes / distinctInstances;
+    }
+
+    /**
+     * Returns the number of buckets of a {@link java.util.HashMap} holding the distinct instances, with the default
+     * load factor.
+     */
+    public int getTableSize() {
+        return tableSize;
+    }
+
+    /**
+     * Returns the number of non-empty buckets.
+     */
+    public int getOccupiedBuckets() {
+        return occupiedBuckets;
+    }
+
+    /**
+     * Returns the expected number of non-empty buckets for perfectly random hash codes.
+     */
+    public double getExpectedOccupiedBuckets() {
+        return expectedOccupiedBuckets;
+    }
+
+    /**
+     * Returns the number of instances in the fullest bucket.
+     */
+    public int getMaxBucketSize() {
+        return maxBucketSize;
+    }
+
+    /**
+     * Returns the cost of {@code equals} and {@code hashCode} for each maximal collection size measured.
+     */
+    public List<Cost> getCosts() {
+        return costs;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder()
+                .append(type.getName()).append(": ")
+                .append(distinctInstances).append(" distinct instances out of ").append(instances)
+                .append(", collision rate ").append(String.format("%.4f", getCollisionRate()))
+                .append(", ").append(occupiedBuckets).append(" occupied buckets out of ").append(tableSize)
+                .append(" (expected ").append(String.format("%.1f", expectedOccupiedBuckets)).append(")")
+                .append(", max bucket size ").append(maxBucketSize);
+        for (Cost cost : costs) {
+            builder.append(", ").append(cost);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The cost of {@code equals} and {@code hashCode} of instances whose collections have up to a given size.
+     */
+    public static final class Cost {
+        private final int maxCollectionSize;
+        private final double hashCodeNanos;
+        private final double equalsNanos;
+
+        Cost(int maxCollectionSize, double hashCodeNanos, double equalsNanos) {
+            this.maxCollectionSize = maxCollectionSize;
+            this.hashCodeNanos = hashCodeNanos;
+            this.equalsNanos = equalsNanos;
+        }
+
+        /**
+         * Returns the maximal size of the instances' collections.
+         */
+        public int getMaxCollectionSize() {
+            return maxCollectionSize;
+        }
+
+        /**
+         * Returns the mean time of a {@code hashCode} call, in nanoseconds.
+         */
+        public double getHashCodeNanos() {
+            return hashCodeNanos;
+        }
+
+        /**
+         * Returns the mean time of an {@code equals} call between equal instances, in nanoseconds.
+         */
+        public double getEqualsNanos() {
+            return equalsNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("collections up to %d: hashCode %.1fns, equals %.1fns",
+                    maxCollectionSize, hashCodeNanos, equalsNanos);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.bpunit.assertions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+/**
+ * A {@link SerializationCodec} using Java serialization, for {@link java.io.Serializable} and
+ * {@link java.io.Externalizable} classes.
+ *
+ * The object streams are created once per underlying stream, so only the first encoding carries the stream header.
+ * Every following encoding starts with a one-byte reset, so it doesn't refer back to the objects written before it,
+ * and its size is otherwise that of the object alone.
+ *
+ * An instance is not thread safe.
+ */
+public class JavaSerializationCodec implements SerializationCodec<Object> {
+    private OutputStream out;
+    private ObjectOutputStream objectOut;
+    private InputStream in;
+    private ObjectInputStream objectIn;
+
+    @Override
+    public void encode(Object value, OutputStream out) throws IOException {
+        if (out != this.out) {
+            this.out = out;
+            objectOut = new ObjectOutputStream(out);
+        } else {
+            objectOut.reset();
+        }
+        objectOut.writeObject(value);
+        objectOut.flush();
+    }
+
+    @Override
+    public Object decode(InputStream in) throws IOException {
+        if (in != this.in) {
+            this.in = in;
+            objectIn = new ObjectInputStream(in);
+        }
+        try {
+            return objectIn.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Can't decode an instance of a missing class", e);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package org.bpunit.assertions;
+
+import org.bpunit.assertions.behaviors.Behavior;
+import org.bpunit.assertions.behaviors.LoggingBehavior;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An asserter for the latency of a POJO's getters and setters, for "simple" accessors that hide lazy loading, locks
+ * or logging.
+ *
+ * The POJO is measured as it is, without populating it, so lazily initialized state is still uninitialized on the
+ * first calls. The asserter times the first call of the getter, and then of the setter, of each property; it then
+ * warms each accessor up, and times batches of calls, from which it computes the mean, the median and the 99th
+ * percentile of a call. The setter is called with the value its getter returns. An accessor whose median exceeds the
+ * absolute ceiling, or the median of all the accessors' medians times the outlier factor, is reported to the failure
+ * {@link Behavior}. Medians are compared rather than means, so a garbage collection or a compilation during a few
+ * samples doesn't flag an accessor.
+ */
+public class LatencyAsserter {
+
+    /** The logger to use. */
+    private static final Logger log = LoggerFactory.getLogger(LatencyAsserter.class);
+
+    /** The default number of calls of each accessor to warm up with, enough for the JIT to compile the calls. */
+    public static final int DEFAULT_WARMUP_CALLS = 20_000;
+
+    /** The default number of timed batches of each accessor. */
+    public static final int DEFAULT_SAMPLES = 1_000;
+
+    /** The default number of calls in a timed batch, amortizing the cost of reading the clock. */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    /** The default number of times slower than the class median an accessor may be. */
+    public static final double DEFAULT_OUTLIER_FACTOR = 100.0;
+
+    /** The lowest median to compare with, so a median below the clock's resolution doesn't flag every accessor. */
+    private static final double MIN_MEDIAN_NANOS = 1.0;
+
+    private final Object pojo;
+    private final int warmupCalls;
+    private final int samples;
+    private final int batchSize;
+    private final double outlierFactor;
+    private final double maxNanos;
+    private final Behavior failureBehavior;
+
+    /**
+     * @param pojo
+     *            The POJO to measure.
+     * @param warmupCalls
+     *            The number of calls of each accessor to warm up with.
+     * @param samples
+     *            The number of timed batches of each accessor.
+     * @param batchSize
+     *            The number of calls in a timed batch.
+     * @param outlierFactor
+     *            The number of times slower than the class median an accessor may be.
+     * @param maxNanos
+     *            The highest acceptable median time of a call, in nanoseconds.
+     * @param failureBehavior
+     *            The {@link Behavior} to perform for each failed check.
+     */
+    LatencyAsserter(Object pojo,
+                    int warmupCalls,
+                    int samples,
+                    int batchSize,
+                    double outlierFactor,
+                    double maxNanos,
+                    Behavior failureBehavior) {
+        this.pojo = pojo;
+        this.warmupCalls = warmupCalls;
+        this.samples = samples;
+        this.batchSize = batchSize;
+        this.outlierFactor = outlierFactor;
+        this.maxNanos = maxNanos;
+        this.failureBehavior = failureBehavior;
+    }
+
+    /**
+     * Measures the latencies of all the POJO's accessors, and reports the slow ones to the failure {@link Behavior}.
+     *
+     * @return The measurements.
+     */
+    public LatencyReport assertLatencies() {
+        Class<?> type = pojo.getClass();
+        primeAccessors();
+
+        // Time all the first calls before anything is warmed up
+        List<PropertyAccessor> accessors = new ArrayList<>();
+        List<long[]> firstCalls = new ArrayList<>();
+        for (BeanProperty property : BeanProperty.find(type, new LoggingBehavior(false))) {
+            try {
+                PropertyAccessor accessor = PropertyAccessor.of(property);
+                long start = System.nanoTime();
+                accessor.get(pojo, 1);
+                long got = System.nanoTime();
+                accessor.set(pojo, 1);
+                long end = System.nanoTime();
+                accessors.add(accessor);
+                firstCalls.add(new long[] { got - start, end - got });
+            } catch (Throwable t) {
+                PropertyAccessor.rethrowIfError(t);
+                failureBehavior.behave("Can't measure property " + property.getName(), t);
+            }
+        }
+
+        List<LatencyReport.PropertyLatency> measured = new ArrayList<>();
+        for (int i = 0; i < accessors.size(); ++i) {
+            PropertyAccessor accessor = accessors.get(i);
+            double[] getNanos = new double[samples];
+            double[] setNanos = new double[samples];
+            try {
+                // Warm up in batches, so the JIT compiles the very calls that are timed
+                for (int calls = 0; calls < warmupCalls; calls += batchSize) {
+                    accessor.get(pojo, batchSize);
+                    accessor.set(pojo, batchSize);
+                }
+                for (int sample = 0; sample < samples; ++sample) {
+                    long start = System.nanoTime();
+                    accessor.get(pojo, batchSize);
+                    long got = System.nanoTime();
+                    accessor.set(pojo, batchSize);
+                    long end = System.nanoTime();
+                    getNanos[sample] = (double) (got - start) / batchSize;
+                    setNanos[sample] = (double) (end - got) / batchSize;
+                }
+            } catch (Throwable t) {
+                PropertyAccessor.rethrowIfError(t);
+                failureBehavior.behave("Can't measure property " + accessor.getProperty().getName(), t);
+                continue;
+            }
+            measured.add(new LatencyReport.PropertyLatency(accessor.getProperty().getName(),
+                                                           firstCalls.get(i)[0],
+                                                           firstCalls.get(i)[1],
+                                                           new LatencyReport.Latency(getNanos),
+                                                           new LatencyReport.Latency(setNanos)));
+        }
+
+        double[] medians = new double[measured.size() * 2];
+        for (int i = 0; i < measured.size(); ++i) {
+            medians[2 * i] = measured.get(i).getGetter().getMedianNanos();
+            medians[2 * i + 1] = measured.get(i).getSetter().getMedianNanos();
+        }
+        double classMedian = medians.length == 0 ? 0.0 : new LatencyReport.Latency(medians).getMedianNanos();
+        LatencyReport report = new LatencyReport(type, classMedian, measured);
+        log.info(report.toString());
+
+        double median = Math.max(report.getMedianNanos(), MIN_MEDIAN_NANOS);
+        for (LatencyReport.PropertyLatency property : measured) {
+            check("Getter", property.getName(), property.getGetter().getMedianNanos(), median);
+            check("Setter", property.getName(), property.getSetter().getMedianNanos(), median);
+        }
+        return report;
+    }
+
+    /* Private helper methods */
+
+    private void check(String accessor, String property, double medianNanos, double median) {
+        String name = pojo.getClass().getName();
+        if (medianNanos > maxNanos) {
+            failureBehavior.behave(String.format("%s of property %s of %s takes %.1fns per call, over the ceiling "
+                    + "of %.1fns", accessor, property, name, medianNanos, maxNanos), null);
+        } else if (medianNanos > median * outlierFactor) {
+            failureBehavior.behave(String.format("%s of property %s of %s takes %.1fns per call, %.0f times the "
+                    + "median of %.1fns", accessor, property, name, medianNanos, medianNanos / median, median), null);
+        }
+    }
+
+    /**
+     * Calls an accessor of each primitive kind, so the first calls of the POJO's accessors don't include linking the
+     * {@link java.lang.invoke.MethodHandle} calls of {@link PropertyAccessor}.
+     */
+    private static void primeAccessors() {
+        Primer primer = new Primer();
+        for (BeanProperty property : BeanProperty.find(Primer.class, new LoggingBehavior(false))) {
+            try {
+                PropertyAccessor accessor = PropertyAccessor.of(property);
+                accessor.get(primer, 1);
+                accessor.set(primer, 1);
+            } catch (Throwable t) {
+                PropertyAccessor.rethrowIfError(t);
+                throw new IllegalStateException("Can't prime property " + property.getName(), t);
+            }
+        }
+    }
+
+    /** A POJO with a property of each primitive kind, and an object property. */
+    private static final class Primer {
+        private boolean booleanValue;
+        private byte byteValue;
+        private char charValue;
+        private short shortValue;
+        private int intValue;
+        private long longValue;
+        private float floatValue;
+        private double doubleValue;
+        private Object objectValue;
+
+        public boolean getBooleanValue() {
+            return booleanValue;
+        }
+
+        public void setBooleanValue(boolean booleanValue) {
+            this.booleanValue = booleanValue;
+        }
+
+        public byte getByteValue() {
+            return byteValue;
+        }
+
+        public void setByteValue(byte byteValue) {
+            this.byteValue = byteValue;
+        }
+
+        public char getCharValue() {
+            return charValue;
+        }
+
+        public void setCharValue(char charValue) {
+            this.charValue = charValue;
+        }
+
+        public short getShortValue() {
+            return shortValue;
+        }
+
+        public void setShortValue(short shortValue) {
+            this.shortValue = shortValue;
+        }
+
+        public int getIntValue() {
+            return intValue;
+        }
+
+        public void setIntValue(int intValue) {
+            this.intValue = intValue;
+        }
+
+        public long getLongValue() {
+            return longValue;
+        }
+
+        public void setLongValue(long longValue) {
+            this.longValue = longValue;
+        }
+
+        public float getFloatValue() {
+            return floatValue;
+        }
+
+        public void setFloatValue(float floatValue) {
+            this.floatValue = floatValue;
+        }
+
+        public double getDoubleValue() {
+            return doubleValue;
+        }
+
+        public void setDoubleValue(double doubleValue) {
+            this.doubleValue = doubleValue;
+        }
+
+        public Object getObjectValue() {
+            return objectValue;
+        }
+
+        public void setObjectValue(Object objectValue) {
+            this.objectValue = objectValue;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.bpunit.assertions;
+
+import org.bpunit.assertions.behaviors.Behavior;
+import org.bpunit.assertions.behaviors.FailingBehavior;
+
+import java.util.Objects;
+
+/**
+ * A builder class for the {@link LatencyAsserter} which allows creating it by a fluent API.
+ */
+public class LatencyAsserterBuilder {
+    private Object pojo;
+    private int warmupCalls = LatencyAsserter.DEFAULT_WARMUP_CALLS;
+    private int samples = LatencyAsserter.DEFAULT_SAMPLES;
+    private int batchSize = LatencyAsserter.DEFAULT_BATCH_SIZE;
+    private double outlierFactor = LatencyAsserter.DEFAULT_OUTLIER_FACTOR;
+    private double maxNanos = Double.POSITIVE_INFINITY;
+    private Behavior failureBehavior;
+
+    public LatencyAsserter build() {
+        Objects.requireNonNull(pojo, "Cannot construct a LatencyAsserter without a POJO to assert");
+
+        if (failureBehavior == null) {
+            failureBehavior = new FailingBehavior();
+        }
+
+        return new LatencyAsserter(pojo, warmupCalls, samples, batchSize, outlierFactor, maxNanos, failureBehavior);
+    }
+
+    /**
+     * Specify the POJO to measure. Unlike the other asserters, its properties are not populated, so its accessors are
+     * measured on the state it's in.
+     *
+     * @param pojo
+     *          The POJO to be asserted.
+     */
+    public LatencyAsserterBuilder forPOJO(Object pojo) {
+        this.pojo = pojo;
+        return this;
+    }
+
+    /**
+     * Specify the number of calls of each accessor to warm up with before sampling.
+     * If this method is not called, {@link LatencyAsserter#DEFAULT_WARMUP_CALLS} are used.
+     *
+     * @param warmupCalls
+     *          The number of calls.
+     */
+    public LatencyAsserterBuilder withWarmupCalls(int warmupCalls) {
+        if (warmupCalls < 0) {
+            throw new IllegalArgumentException("warmupCalls must be non-negative");
+        }
+        this.warmupCalls = warmupCalls;
+        return this;
+    }
+
+    /**
+     * Specify the number of timed batches of calls of each accessor.
+     * If this method is not called, {@link LatencyAsserter#DEFAULT_SAMPLES} are timed.
+     *
+     * @param samples
+     *          The number of batches.
+     */
+    public LatencyAsserterBuilder withSamples(int samples) {
+        if (samples < 1) {
+            throw new IllegalArgumentException("samples must be positive");
+        }
+        this.samples = samples;
+        return this;
+    }
+
+    /**
+     * Specify the number of calls in each timed batch.
+     * If this method is not called, batches of {@link LatencyAsserter#DEFAULT_BATCH_SIZE} calls are timed.
+     *
+     * @param batchSize
+     *          The number of calls.
+     */
+    public LatencyAsserterBuilder withBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Specify the number of times slower than the median of the class's accessors an accessor may be.
+     * If this method is not called, {@link LatencyAsserter#DEFAULT_OUTLIER_FACTOR} is used.
+     *
+     * @param outlierFactor
+     *          The factor, at least 1.
+     */
+    public LatencyAsserterBuilder withOutlierFactor(double outlierFactor) {
+        if (!(outlierFactor >= 1.0)) {
+            throw new IllegalArgumentException("outlierFactor must be at least 1");
+        }
+        this.outlierFactor = outlierFactor;
+        return this;
+    }
+
+    /**
+     * Specify the highest acceptable median time of a warmed up accessor call, in nanoseconds.
+     * If this method is not called, accessors are only compared with the median.
+     *
+     * @param maxNanos
+     *          The ceiling of a call.
+     */
+    public LatencyAsserterBuilder withMaxNanos(double maxNanos) {
+        this.maxNanos = maxNanos;
+        return this;
+    }
+
+    /**
+     * Specify the {@link Behavior} to use for each slow accessor.
+     * If this method is not called, a default {@link FailingBehavior} is used.
+     *
+     * @param failureBehavior
+     *          The Behavior to use
+     */
+    public LatencyAsserterBuilder withFailureBehavior(Behavior failureBehavior) {
+        this.failureBehavior = failureBehavior;
+        return this;
+    }
+}
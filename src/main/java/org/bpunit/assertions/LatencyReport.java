@@ -0,0 +1,176 @@
+package org.bpunit.assertions;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The measurements of a {@link LatencyAsserter}: how long the first call, and then a warmed up call, of each getter
+ * and setter of a POJO takes.
+ */
+public final class LatencyReport {
+    private final Class<?> type;
+    private final double medianNanos;
+    private final List<PropertyLatency> properties;
+
+    LatencyReport(Class<?> type, double medianNanos, List<PropertyLatency> properties) {
+        this.type = type;
+        this.medianNanos = medianNanos;
+        this.properties = Collections.unmodifiableList(properties);
+    }
+
+    /**
+     * Returns the class of the measured POJO.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the median of the median call times of all the getters and setters, in nanoseconds.
+     */
+    public double getMedianNanos() {
+        return medianNanos;
+    }
+
+    /**
+     * Returns the latencies of each measured property.
+     */
+    public List<PropertyLatency> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Returns the measurements of the property of the given name, or {@code null} if it wasn't measured.
+     */
+    public PropertyLatency getProperty(String name) {
+        for (PropertyLatency property : properties) {
+            if (property.getName().equals(name)) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder()
+                .append(type.getName()).append(": median ").append(String.format("%.1fns", medianNanos));
+        for (PropertyLatency property : properties) {
+            builder.append(", ").append(property);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The latencies of the getter and the setter of a property.
+     */
+    public static final class PropertyLatency {
+        private final String name;
+        private final long firstGetNanos;
+        private final long firstSetNanos;
+        private final Latency getter;
+        private final Latency setter;
+
+        PropertyLatency(String name, long firstGetNanos, long firstSetNanos, Latency getter, Latency setter) {
+            this.name = name;
+            this.firstGetNanos = firstGetNanos;
+            this.firstSetNanos = firstSetNanos;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        /**
+         * Returns the name of the property.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the time of the first getter call, in nanoseconds.
+         */
+        public long getFirstGetNanos() {
+            return firstGetNanos;
+        }
+
+        /**
+         * Returns the time of the first setter call, in nanoseconds.
+         */
+        public long getFirstSetNanos() {
+            return firstSetNanos;
+        }
+
+        /**
+         * Returns the latency of a warmed up getter call.
+         */
+        public Latency getGetter() {
+            return getter;
+        }
+
+        /**
+         * Returns the latency of a warmed up setter call.
+         */
+        public Latency getSetter() {
+            return setter;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: get first %dns, %s; set first %dns, %s",
+                    name, firstGetNanos, getter, firstSetNanos, setter);
+        }
+    }
+
+    /**
+     * The statistics of the sampled times of a call, in nanoseconds.
+     */
+    public static final class Latency {
+        private final double meanNanos;
+        private final double medianNanos;
+        private final double p99Nanos;
+
+        /**
+         * @param samples
+         *            The sampled times of a call, at least one.
+         */
+        Latency(double[] samples) {
+            double[] sorted = samples.clone();
+            Arrays.sort(sorted);
+            double sum = 0.0;
+            for (double sample : sorted) {
+                sum += sample;
+            }
+            int middle = sorted.length / 2;
+            this.meanNanos = sum / sorted.length;
+            this.medianNanos = sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+            this.p99Nanos = sorted[(int) Math.ceil(0.99 * sorted.length) - 1];
+        }
+
+        /**
+         * Returns the mean time of a call.
+         */
+        public double getMeanNanos() {
+            return meanNanos;
+        }
+
+        /**
+         * Returns the median time of a call.
+         */
+        public double getMedianNanos() {
+            return medianNanos;
+        }
+
+        /**
+         * Returns the 99th percentile of the time of a call.
+         */
+        public double getP99Nanos() {
+            return p99Nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("mean %.1fns, median %.1fns, p99 %.1fns", meanNanos, medianNanos, p99Nanos);
+        }
+    }
+}
@@ -1,14 +1,16 @@
 package org.bpunit.assertions;
 
 import org.bpunit.assertions.behaviors.Behavior;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.bpunit.utils.CursorSelectable;
+import org.bpunit.utils.Generator;
+import org.bpunit.utils.GeneratorRegistry;
+import org.bpunit.utils.ObjectGraphGenerator;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.reflect.Type;
+import java.util.List;
 import java.util.Random;
+import java.util.function.LongFunction;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -17,37 +19,6 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
  */
 public class POJOAsserter<T> {
 
-    /* Constants */
-
-    /** The logger to use. */
-    private static final Logger log = LoggerFactory.getLogger(POJOAsserter.class);
-
-    // Prefixes to make up method names
-    private static final String SET_PREFIX = "set";
-    private static final String GET_PREFIX = "get";
-    private static final String BOOLEAN_GET_PREFIX = "is";
-    private static final String RANDOM_PREFIX = "next";
-
-    /** Hack to map between primitive types and boxing classes */
-    private static final Map<Class<?>, Class<?>> primitiveToBoxing = new HashMap<>();
-    static {
-        primitiveToBoxing.put(Boolean.TYPE, Boolean.class);
-        primitiveToBoxing.put(Byte.TYPE, Byte.class);
-        primitiveToBoxing.put(Short.TYPE, Short.class);
-        primitiveToBoxing.put(Integer.TYPE, Integer.class);
-        primitiveToBoxing.put(Long.TYPE, Long.class);
-        primitiveToBoxing.put(Float.TYPE, Float.class);
-        primitiveToBoxing.put(Double.TYPE, Double.class);
-    }
-
-    private static final Map<Class<?>, Class<?>> boxingToPrimitive = new HashMap<>();
-    static {
-        for (Map.Entry<Class<?>, Class<?>> entry : primitiveToBoxing.entrySet()) {
-            boxingToPrimitive.put(entry.getValue(), entry.getKey());
-        }
-    }
-
-
     /* Data Members */
 
     /** The POJO instance under test */
@@ -56,6 +27,18 @@ public class POJOAsserter<T> {
     /* A randomizer for the POJO's properties */
     private Random random;
 
+    /** The generators to use before resorting to {@link #random}'s own */
+    private GeneratorRegistry generators;
+
+    /** The generator for properties no other generator can generate, or {@code null} */
+    private ObjectGraphGenerator objectGraphGenerator;
+
+    /** The seeds that made properties fail before, to replay first and update, or {@code null} */
+    private FailingSeedDatabase failingSeeds;
+
+    /** Creates the generator of each seed replayed or recorded in {@link #failingSeeds} */
+    private LongFunction<? extends Random> seededRandoms;
+
 
     /* Behaviors */
 
@@ -84,8 +67,54 @@ public class POJOAsserter<T> {
      *            The {@link Behavior} to perform when a property can't be tested
      */
     POJOAsserter(T pojo, Random random, Behavior noGetterBehavior, Behavior randomFailureBehavior, Behavior propertyTestFailureBehavior) {
+        this(pojo,
+             random,
+             new GeneratorRegistry(),
+             null,
+             null,
+             null,
+             noGetterBehavior,
+             randomFailureBehavior,
+             propertyTestFailureBehavior);
+    }
+
+    /**
+     * @param pojo
+     *            The POJO to be tested
+     * @param random
+     *            A random data source
+     * @param generators
+     *            The {@link Generator}s to use before resorting to the ones {@code random} provides
+     * @param objectGraphGenerator
+     *            The {@link ObjectGraphGenerator} to use for properties without any other {@link Generator}, or
+     *            {@code null}
+     * @param failingSeeds
+     *            The {@link FailingSeedDatabase} to replay and record the failing seeds with, or {@code null}
+     * @param seededRandoms
+     *            Creates the generator to test a property with for a seed of {@code failingSeeds}, or {@code null}
+     *            if there are no {@code failingSeeds}
+     * @param noGetterBehavior
+     *            The {@link Behavior} to perform when a property doesn't have a setter
+     * @param randomFailureBehavior
+     *            The {@link Behavior} to perform when a random value can't be generated
+     * @param propertyTestFailureBehavior
+     *            The {@link Behavior} to perform when a property can't be tested
+     */
+    POJOAsserter(T pojo,
+                 Random random,
+                 GeneratorRegistry generators,
+                 ObjectGraphGenerator objectGraphGenerator,
+                 FailingSeedDatabase failingSeeds,
+                 LongFunction<? extends Random> seededRandoms,
+                 Behavior noGetterBehavior,
+                 Behavior randomFailureBehavior,
+                 Behavior propertyTestFailureBehavior) {
         this.pojo = pojo;
         this.random = random;
+        this.generators = generators;
+        this.objectGraphGenerator = objectGraphGenerator;
+        this.failingSeeds = failingSeeds;
+        this.seededRandoms = seededRandoms;
         this.noGetterBehavior = noGetterBehavior;
         this.randomFailureBehavior = randomFailureBehavior;
         this.propertyTestFailureBehavior = propertyTestFailureBehavior;
@@ -104,134 +133,113 @@ public class POJOAsserter<T> {
      */
     public void assertProperties() {
         Class<?> pojoClass = pojo.getClass();
-        for (Method setMethod : pojoClass.getMethods()) {
-            String setMethodName = setMethod.getName();
-
-            // Skip non setters
-            if (!setMethodName.startsWith(SET_PREFIX)) {
-                continue;
-            }
+        List<BeanProperty> properties = BeanProperty.find(pojoClass, noGetterBehavior);
 
-            Class<?>[] paramTypes = setMethod.getParameterTypes();
-            if (paramTypes.length != 1) {
-                continue;
-            }
-
-            String propertyName = setMethodName.substring(SET_PREFIX.length());
-            Class<T> type = (Class<T>)paramTypes[0];
-            Method getMethod = getGetMethod(pojoClass, propertyName, type);
-            if (getMethod == null) {
-                noGetterBehavior.behave("Cannot find getter and setter pair for property " + propertyName, null);
-                continue;
-            }
-
-            Object randomValue = getRandomValue(random, type);
-            if (randomValue == null) {
-                continue;
+        if (failingSeeds == null) {
+            for (BeanProperty property : properties) {
+                assertProperty(property, random);
             }
+            return;
+        }
 
-            try {
-                setMethod.invoke(pojo, randomValue);
-                Object returnedValue = getMethod.invoke(pojo);
-                assertEquals(randomValue, returnedValue, () -> "Wrong value for property " + propertyName);
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                propertyTestFailureBehavior.behave("Can't test property " + propertyName, e);
+        // Draw the new seeds first, so they don't depend on the replayed ones
+        long[] seeds = new long[properties.size()];
+        for (int i = 0; i < seeds.length; ++i) {
+            seeds[i] = random.nextLong();
+        }
+        for (BeanProperty property : properties) {
+            for (long seed : failingSeeds.getSeeds(pojoClass, property.getName())) {
+                assertProperty(property, seed);
             }
         }
+        for (int i = 0; i < seeds.length; ++i) {
+            assertProperty(properties.get(i), seeds[i]);
+        }
     }
 
 
     /* Private helper methods */
 
     /**
-     * @param pojoClass
-     *            The class of POJO to get the method for.
-     * @param propertyName
-     *            The name of the property.
-     * @param expectedType
-     *            The expected return type.
-     * @return A {@link Method} object representing the "get method" of the given property name.
+     * Asserts a property with a private generator of the given seed, and records the result in {@link #failingSeeds}.
+     * The generator is created by {@link #seededRandoms}, so the caller's generator is left untouched.
      */
-    private static Method getGetMethod(Class<?> pojoClass, String propertyName, Class<?> expectedType) {
-        Method m = getGetMethod(pojoClass, propertyName, GET_PREFIX, expectedType);
-        if (m == null && (expectedType.equals(Boolean.TYPE) || expectedType.equals(Boolean.class))) {
-            log.info("Property " + propertyName + " is a boolean, trying a different prefix");
-            m = getGetMethod(pojoClass, propertyName, BOOLEAN_GET_PREFIX, expectedType);
+    private void assertProperty(BeanProperty property, long seed) {
+        Random seeded = seededRandoms.apply(seed);
+        try {
+            assertProperty(property, seeded);
+        } catch (Throwable t) {
+            failingSeeds.recordFailure(pojo.getClass(), property.getName(), seed);
+            throw t;
         }
-        return m;
+        failingSeeds.recordPass(pojo.getClass(), property.getName(), seed);
     }
 
     /**
-     * @param pojoClass
-     *            The class of POJO to get the method for.
-     * @param propertyName
-     *            The name of the property.
-     * @param methodPrefix
-     *            The prefix of the method to which the property name is appended to (e.g., "get", "is").
-     * @param expectedType
-     *            The expected return type.
-     * @return A {@link Method} object representing the "get method" of the given property name.
+     * Sets a property to a value of the given random generator, and asserts that its getter returns it.
      */
-    private static Method getGetMethod(Class<?> pojoClass,
-                                       String propertyName,
-                                       String methodPrefix,
-                                       Class<?> expectedType) {
-        String getMethodName = methodPrefix + propertyName;
-        Method getMethod;
+    private void assertProperty(BeanProperty property, Random random) {
+        // Each property enumerates the edge values of its type on its own
+        CursorSelectable cursors = random instanceof CursorSelectable ? (CursorSelectable) random : null;
+        if (cursors != null) {
+            cursors.selectCursor(pojo.getClass().getName() + '.' + property.getName());
+        }
+        Object randomValue;
         try {
-            getMethod = pojoClass.getMethod(getMethodName);
-            Class<?> retrunType = getMethod.getReturnType();
-            if (!retrunType.equals(expectedType)) {
-                throw new NoSuchMethodException();
+            @SuppressWarnings("unchecked")
+            Class<T> type = (Class<T>) property.getType();
+            randomValue = getRandomValue(random, type, property.getSetMethod().getGenericParameterTypes()[0]);
+        } finally {
+            if (cursors != null) {
+                cursors.selectCursor(null);
             }
-        } catch (NoSuchMethodException e) {
-            log.info("No appropriate getter " + getMethodName + " for " + propertyName);
-            return null;
         }
-        return getMethod;
+        if (randomValue == null) {
+            return;
+        }
+
+        try {
+            property.getSetMethod().invoke(pojo, randomValue);
+            Object returnedValue = property.getGetMethod().invoke(pojo);
+            assertEquals(randomValue, returnedValue, () -> "Wrong value for property " + property.getName());
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            propertyTestFailureBehavior.behave("Can't test property " + property.getName(), e);
+        }
     }
 
     /**
+     * Generates a random value with the {@link Generator} registered for the type, or if there is none, with the one
+     * the random generator provides (see {@link GeneratorRegistry#resolve(Random, Class)}). If there is none, the
+     * {@link #objectGraphGenerator} is used, if there is one.
+     *
      * @param random
      *            The random generator to use.
      * @param type
      *            The type to randomize.
+     * @param genericType
+     *            The generic type to randomize, e.g., {@code List<String>}.
      * @return A randomly generated value of type {@code type}.
      */
-    private T getRandomValue(Random random, Class<T> type) {
-        Class typeToGenerate;
-        typeToGenerate = boxingToPrimitive.getOrDefault(type, type);
-        String typeName = typeToGenerate.getSimpleName();
-        if (typeToGenerate.isPrimitive()) {
-            typeName = capitalizeFirst(typeName);
+    private T getRandomValue(Random random, Class<T> type, Type genericType) {
+        Generator<T> generator = generators.lookup(type);
+        if (generator == null) {
+            generator = GeneratorRegistry.resolve(random, type);
         }
-        String randomMethodName = RANDOM_PREFIX + typeName;
-        Class<? extends Random> randomClass = random.getClass();
-        try {
-            Method randomMethod = randomClass.getMethod(randomMethodName);
-            Class<?> returnType = randomMethod.getReturnType();
-            if (randomMethod.getParameterTypes().length != 0 ||
-                    (!returnType.equals(typeToGenerate) && !typeToGenerate.equals(primitiveToBoxing.get(returnType)))) {
-                throw new NoSuchMethodException();
-            }
-
+        if (generator == null && objectGraphGenerator != null) {
             // noinspection unchecked
-            return (T) randomMethod.invoke(random);
-        } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
+            generator = r -> (T) objectGraphGenerator.generate(genericType, r);
+        }
+        if (generator == null) {
             randomFailureBehavior.behave
-                    ("Can't execute random method: " + randomClass.getSimpleName() + "." + randomMethodName, e);
+                    ("Can't find a generator for " + type.getName() + " in " + random.getClass().getSimpleName(), null);
             return null;
         }
-    }
 
-    /**
-     * Transforms a string to title case.
-     *
-     * @param s
-     *            The string to transform.
-     * @return The transformed string.
-     */
-    private static String capitalizeFirst(String s) {
-        return String.valueOf(Character.toTitleCase(s.charAt(0))) + s.substring(1);
+        try {
+            return generator.generate(random);
+        } catch (RuntimeException e) {
+            randomFailureBehavior.behave("Can't generate a random " + type.getName(), e);
+            return null;
+        }
     }
 }
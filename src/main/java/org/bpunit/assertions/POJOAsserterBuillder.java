@@ -3,10 +3,18 @@ package org.bpunit.assertions;
 import org.bpunit.assertions.behaviors.Behavior;
 import org.bpunit.assertions.behaviors.FailingBehavior;
 import org.bpunit.assertions.behaviors.LoggingBehavior;
+import org.bpunit.utils.Generator;
+import org.bpunit.utils.GeneratorRegistry;
+import org.bpunit.utils.ObjectGraphGenerator;
 import org.bpunit.utils.SeedableRandom;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.util.Objects;
 import java.util.Random;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
 
 /**
  * A builder class for the {@link POJOAsserter} which allows creating it by a fluent API.
@@ -14,6 +22,10 @@ import java.util.Random;
 public class POJOAsserterBuillder<T> {
     private T pojo;
     private Random random;
+    private GeneratorRegistry generators = new GeneratorRegistry();
+    private ObjectGraphGenerator objectGraphGenerator;
+    private FailingSeedDatabase failingSeeds;
+    private LongFunction<? extends Random> seededRandoms;
     private Behavior noGetterBehavior;
     private Behavior randomFailureBehavior;
     private Behavior propertyTestFailureBehavior;
@@ -25,6 +37,10 @@ public class POJOAsserterBuillder<T> {
             random = new SeedableRandom();
         }
 
+        if (failingSeeds != null && seededRandoms == null) {
+            seededRandoms = seededRandoms(random);
+        }
+
         if (noGetterBehavior == null) {
             noGetterBehavior = new LoggingBehavior(false);
         }
@@ -37,7 +53,15 @@ public class POJOAsserterBuillder<T> {
             propertyTestFailureBehavior = new FailingBehavior();
         }
 
-        return new POJOAsserter<>(pojo, random, noGetterBehavior, randomFailureBehavior, propertyTestFailureBehavior);
+        return new POJOAsserter<>(pojo,
+                                  random,
+                                  generators,
+                                  objectGraphGenerator,
+                                  failingSeeds,
+                                  seededRandoms,
+                                  noGetterBehavior,
+                                  randomFailureBehavior,
+                                  propertyTestFailureBehavior);
     }
 
     /**
@@ -46,7 +70,7 @@ public class POJOAsserterBuillder<T> {
      * @param pojo
      *          The POJO to be asserted.
      */
-    public POJOAsserterBuillder forPOJO(T pojo) {
+    public POJOAsserterBuillder<T> forPOJO(T pojo) {
         this.pojo = pojo;
         return this;
     }
@@ -58,11 +82,100 @@ public class POJOAsserterBuillder<T> {
      * @param random
      *          The random generator to use.
      */
-    public POJOAsserterBuillder withRandom(Random random) {
+    public POJOAsserterBuillder<T> withRandom(Random random) {
         this.random = random;
         return this;
     }
 
+    /**
+     * Register a {@link Generator} to use for properties of the given type, instead of the one the {@link Random}
+     * generator provides.
+     *
+     * @param type
+     *          The type to generate.
+     * @param generator
+     *          The generator to use.
+     */
+    public <V> POJOAsserterBuillder<T> withGenerator(Class<V> type, Generator<? extends V> generator) {
+        generators.register(type, generator);
+        return this;
+    }
+
+    /**
+     * Register a {@link Generator} factory to use for properties of all the types matching the given predicate,
+     * instead of the ones the {@link Random} generator provides.
+     *
+     * @param matcher
+     *          The predicate deciding which types the factory can generate.
+     * @param factory
+     *          A function creating a generator for a type that matches the predicate.
+     */
+    public POJOAsserterBuillder<T> withGenerator(Predicate<? super Class<?>> matcher,
+                                              Function<? super Class<?>, ? extends Generator<?>> factory) {
+        generators.register(matcher, factory);
+        return this;
+    }
+
+    /**
+     * Specify a {@link GeneratorRegistry} to use before resorting to the {@link Random} generator, e.g., to share the
+     * same generators between several tests. Generators registered with {@code withGenerator} afterwards are
+     * registered in a child registry, so the given one is not modified.
+     *
+     * @param generators
+     *          The generators to use.
+     */
+    public POJOAsserterBuillder<T> withGenerators(GeneratorRegistry generators) {
+        this.generators = new GeneratorRegistry(generators);
+        return this;
+    }
+
+    /**
+     * Specify an {@link ObjectGraphGenerator} to generate the properties no {@link Generator} can, such as properties
+     * of your own classes, {@code List<Foo>} or {@code Map<String, Bar>}.
+     * If this method is not called, such properties are not tested.
+     *
+     * @param objectGraphGenerator
+     *          The object graph generator to use.
+     */
+    public POJOAsserterBuillder<T> withObjectGraphGenerator(ObjectGraphGenerator objectGraphGenerator) {
+        this.objectGraphGenerator = objectGraphGenerator;
+        return this;
+    }
+
+    /**
+     * Specify a {@link FailingSeedDatabase} to record the seeds that make properties fail in. The seeds recorded in
+     * previous runs are replayed first, before new random seeds, until they pass enough times to be dropped.
+     * Each property is tested with a private generator of a seed of its own, drawn from the {@link Random} generator,
+     * so the recorded seeds reproduce a failure as long as the same kind of generator is used. The private generators
+     * are created as described by {@link #withSeededRandom(LongFunction)}.
+     * If this method is not called, failing seeds are not recorded.
+     *
+     * @param failingSeeds
+     *          The database to use, e.g., {@link FailingSeedDatabase#getDefault()}.
+     */
+    public POJOAsserterBuillder<T> withFailingSeedDatabase(FailingSeedDatabase failingSeeds) {
+        this.failingSeeds = failingSeeds;
+        return this;
+    }
+
+    /**
+     * Specify how to create the private generator of a seed, to test a property with when a
+     * {@link FailingSeedDatabase} is used.
+     * If this method is not called, a plain {@link SeedableRandom} is derived from it (see
+     * {@link SeedableRandom#derive(long)}), and any other {@link Random} generator is created with its class's public
+     * {@code (long)} constructor or, if it has none, with its argument-less public constructor and reseeded, so the
+     * {@code nextXYZ()} methods its class adds are used for the seeded properties too. Call this method for classes
+     * that have neither constructor, or whose instances are not fully determined by their seed (e.g., a
+     * {@link SeedableRandom} subclass with a {@link org.bpunit.utils.cores.RandomCore} or registered generators).
+     *
+     * @param seededRandoms
+     *          A function creating a generator for a seed.
+     */
+    public POJOAsserterBuillder<T> withSeededRandom(LongFunction<? extends Random> seededRandoms) {
+        this.seededRandoms = seededRandoms;
+        return this;
+    }
+
     /**
      * Specify the {@link Behavior} to use when a property doesn't have a pair of getter and setter.
      * If this method is not called, a default {@link LoggingBehavior} is used.
@@ -70,7 +183,7 @@ public class POJOAsserterBuillder<T> {
      * @param noGetterBehavior
      *          The Behavior to use
      */
-    public POJOAsserterBuillder withNoGetterBehavior(Behavior noGetterBehavior) {
+    public POJOAsserterBuillder<T> withNoGetterBehavior(Behavior noGetterBehavior) {
         this.noGetterBehavior = noGetterBehavior;
         return this;
     }
@@ -82,7 +195,7 @@ public class POJOAsserterBuillder<T> {
      * @param randomFailureBehavior
      *          The Behavior to use
      */
-    public POJOAsserterBuillder withRandomFailureBehavior(Behavior randomFailureBehavior) {
+    public POJOAsserterBuillder<T> withRandomFailureBehavior(Behavior randomFailureBehavior) {
         this.randomFailureBehavior = randomFailureBehavior;
         return this;
     }
@@ -95,8 +208,48 @@ public class POJOAsserterBuillder<T> {
      * @param propertyTestFailureBehavior
      *          The Behavior to use
      */
-    public POJOAsserterBuillder withPropertyTestFailureBehavior(Behavior propertyTestFailureBehavior) {
+    public POJOAsserterBuillder<T> withPropertyTestFailureBehavior(Behavior propertyTestFailureBehavior) {
         this.propertyTestFailureBehavior = propertyTestFailureBehavior;
         return this;
     }
+
+    /**
+     * Finds how to create generators of the same class as the given one for a seed.
+     *
+     * @throws IllegalArgumentException if the generator's class has neither a public {@code (long)} constructor nor
+     *             an argument-less one.
+     */
+    private static LongFunction<? extends Random> seededRandoms(Random random) {
+        if (random.getClass() == SeedableRandom.class) {
+            return ((SeedableRandom) random)::derive;
+        }
+        Class<? extends Random> type = random.getClass();
+        try {
+            Constructor<? extends Random> seeded = type.getConstructor(long.class);
+            return seed -> newRandom(seeded, seed);
+        } catch (NoSuchMethodException e) {
+            // Fall back to the argument-less constructor
+        }
+        try {
+            Constructor<? extends Random> unseeded = type.getConstructor();
+            return seed -> {
+                Random seededRandom = newRandom(unseeded);
+                seededRandom.setSeed(seed);
+                return seededRandom;
+            };
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Can't create seeded instances of " + type
+                    + ", specify how to create them with withSeededRandom", e);
+        }
+    }
+
+    private static Random newRandom(Constructor<? extends Random> constructor, Object... args) {
+        try {
+            return constructor.newInstance(args);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Can't instantiate " + constructor.getDeclaringClass(), e.getCause());
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalStateException("Can't instantiate " + constructor.getDeclaringClass(), e);
+        }
+    }
 }
@@ -0,0 +1,291 @@
+package org.bpunit.assertions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * Calls the getter or the setter of a {@link BeanProperty} in a loop, for the asserters that measure accessors.
+ *
+ * Unlike {@link Method#invoke(Object, Object...)}, the calls neither box primitive values nor allocate argument
+ * arrays: each primitive kind has its own subclass calling {@link MethodHandle#invokeExact} with the exact type. The
+ * getter's results are stored in a field, so the calls are not optimized away, and the setter is called with the
+ * value the getter last returned. Creating an accessor calls neither of them.
+ */
+abstract class PropertyAccessor {
+    private final BeanProperty property;
+    final MethodHandle getter;
+    final MethodHandle setter;
+
+    private PropertyAccessor(BeanProperty property, MethodHandle getter, MethodHandle setter) {
+        this.property = property;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Creates an accessor of the given property.
+     *
+     * @throws IllegalAccessException if the getter or the setter is not accessible.
+     */
+    static PropertyAccessor of(BeanProperty property) throws IllegalAccessException {
+        Method getMethod = property.getGetMethod();
+        Method setMethod = property.getSetMethod();
+        getMethod.setAccessible(true);
+        setMethod.setAccessible(true);
+
+        Class<?> type = property.getType();
+        Class<?> erased = type.isPrimitive() ? type : Object.class;
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle getter = lookup.unreflect(getMethod).asType(MethodType.methodType(erased, Object.class));
+        MethodHandle setter = lookup.unreflect(setMethod)
+                                    .asType(MethodType.methodType(void.class, Object.class, erased));
+
+        if (type == boolean.class) {
+            return new BooleanAccessor(property, getter, setter);
+        } else if (type == byte.class) {
+            return new ByteAccessor(property, getter, setter);
+        } else if (type == char.class) {
+            return new CharAccessor(property, getter, setter);
+        } else if (type == short.class) {
+            return new ShortAccessor(property, getter, setter);
+        } else if (type == int.class) {
+            return new IntAccessor(property, getter, setter);
+        } else if (type == long.class) {
+            return new LongAccessor(property, getter, setter);
+        } else if (type == float.class) {
+            return new FloatAccessor(property, getter, setter);
+        } else if (type == double.class) {
+            return new DoubleAccessor(property, getter, setter);
+        }
+        return new ObjectAccessor(property, getter, setter);
+    }
+
+    /**
+     * Returns the accessed property.
+     */
+    BeanProperty getProperty() {
+        return property;
+    }
+
+    /**
+     * Calls the getter of the given POJO the given number of times.
+     */
+    abstract void get(Object pojo, int calls) throws Throwable;
+
+    /**
+     * Calls the setter of the given POJO the given number of times, with the value the getter last returned.
+     */
+    abstract void set(Object pojo, int calls) throws Throwable;
+
+    /**
+     * Rethrows a {@link Throwable} thrown by an accessor call if it's an {@link Error}, such as a failed assertion or
+     * an {@link OutOfMemoryError}, rather than an exception of the accessor itself.
+     */
+    static void rethrowIfError(Throwable t) {
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+    }
+
+    /* --- Primitive Kinds --- */
+
+    private static final class BooleanAccessor extends PropertyAccessor {
+        private boolean value;
+
+        BooleanAccessor(BeanProperty property, MethodHandle getter, MethodHandle setter) {
+            super(property, getter, setter);
+        }
+
+        @Override
+        void get(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                value = (boolean) getter.invokeExact(pojo);
+            }
+        }
+
+        @Override
+        void set(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                setter.invokeExact(pojo, value);
+            }
+        }
+    }
+
+    private static final class ByteAccessor extends PropertyAccessor {
+        private byte value;
+
+        ByteAccessor(BeanProperty property, MethodHandle getter, MethodHandle setter) {
+            super(property, getter, setter);
+        }
+
+        @Override
+        void get(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                value = (byte) getter.invokeExact(pojo);
+            }
+        }
+
+        @Override
+        void set(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                setter.invokeExact(pojo, value);
+            }
+        }
+    }
+
+    private static final class CharAccessor extends PropertyAccessor {
+        private char value;
+
+        CharAccessor(BeanProperty property, MethodHandle getter, MethodHandle setter) {
+            super(property, getter, setter);
+        }
+
+        @Override
+        void get(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                value = (char) getter.invokeExact(pojo);
+            }
+        }
+
+        @Override
+        void set(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                setter.invokeExact(pojo, value);
+            }
+        }
+    }
+
+    private static final class ShortAccessor extends PropertyAccessor {
+        private short value;
+
+        ShortAccessor(BeanProperty property, MethodHandle getter, MethodHandle setter) {
+            super(property, getter, setter);
+        }
+
+        @Override
+        void get(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                value = (short) getter.invokeExact(pojo);
+            }
+        }
+
+        @Override
+        void set(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                setter.invokeExact(pojo, value);
+            }
+        }
+    }
+
+    private static final class IntAccessor extends PropertyAccessor {
+        private int value;
+
+        IntAccessor(BeanProperty property, MethodHandle getter, MethodHandle setter) {
+            super(property, getter, setter);
+        }
+
+        @Override
+        void get(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                value = (int) getter.invokeExact(pojo);
+            }
+        }
+
+        @Override
+        void set(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                setter.invokeExact(pojo, value);
+            }
+        }
+    }
+
+    private static final class LongAccessor extends PropertyAccessor {
+        private long value;
+
+        LongAccessor(BeanProperty property, MethodHandle getter, MethodHandle setter) {
+            super(property, getter, setter);
+        }
+
+        @Override
+        void get(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                value = (long) getter.invokeExact(pojo);
+            }
+        }
+
+        @Override
+        void set(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                setter.invokeExact(pojo, value);
+            }
+        }
+    }
+
+    private static final class FloatAccessor extends PropertyAccessor {
+        private float value;
+
+        FloatAccessor(BeanProperty property, MethodHandle getter, MethodHandle setter) {
+            super(property, getter, setter);
+        }
+
+        @Override
+        void get(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                value = (float) getter.invokeExact(pojo);
+            }
+        }
+
+        @Override
+        void set(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                setter.invokeExact(pojo, value);
+            }
+        }
+    }
+
+    private static final class DoubleAccessor extends PropertyAccessor {
+        private double value;
+
+        DoubleAccessor(BeanProperty property, MethodHandle getter, MethodHandle setter) {
+            super(property, getter, setter);
+        }
+
+        @Override
+        void get(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                value = (double) getter.invokeExact(pojo);
+            }
+        }
+
+        @Override
+        void set(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                setter.invokeExact(pojo, value);
+            }
+        }
+    }
+
+    private static final class ObjectAccessor extends PropertyAccessor {
+        private Object value;
+
+        ObjectAccessor(BeanProperty property, MethodHandle getter, MethodHandle setter) {
+            super(property, getter, setter);
+        }
+
+        @Override
+        void get(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                value = (Object) getter.invokeExact(pojo);
+            }
+        }
+
+        @Override
+        void set(Object pojo, int calls) throws Throwable {
+            for (int i = 0; i < calls; ++i) {
+                setter.invokeExact(pojo, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package org.bpunit.assertions;
+
+import org.bpunit.assertions.behaviors.Behavior;
+import org.bpunit.assertions.behaviors.LoggingBehavior;
+import org.bpunit.utils.ObjectGraphGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * An asserter that round-trips a POJO through a {@link SerializationCodec}, Java serialization by default.
+ *
+ * The asserter populates the POJO's public setters with random values (see {@link ObjectGraphGenerator}), encodes
+ * and decodes it, and checks that every property with a pair of getter and setter has an equal value (according to
+ * {@link Objects#deepEquals(Object, Object)}) in the decoded copy. It then measures the round trip, and checks the
+ * serialized size and the mean encoding and decoding times against their limits. Each failed check is reported to
+ * the failure {@link Behavior}.
+ *
+ * All round trips go through the same pair of byte array streams, which are rewound rather than reallocated, so the
+ * measurements include only the codec's own work and allocations.
+ */
+public class SerializationAsserter {
+
+    /** The logger to use. */
+    private static final Logger log = LoggerFactory.getLogger(SerializationAsserter.class);
+
+    /** The default number of round trips to warm up with. */
+    public static final int DEFAULT_WARMUP_ITERATIONS = 1_000;
+
+    /** The default number of round trips to measure. */
+    public static final int DEFAULT_ITERATIONS = 10_000;
+
+    private final Object pojo;
+    private final Random random;
+    private final ObjectGraphGenerator objectGraphGenerator;
+    private final SerializationCodec<Object> codec;
+    private final int warmupIterations;
+    private final int iterations;
+    private final int maxSerializedSize;
+    private final double maxEncodeNanos;
+    private final double maxDecodeNanos;
+    private final Behavior failureBehavior;
+
+    private final RewindableOutputStream out = new RewindableOutputStream();
+    private final RewindableInputStream in = new RewindableInputStream();
+
+    /** Accumulates the decoded copies' identities, so the round trips are not optimized away. */
+    private int sink;
+
+    /**
+     * @param pojo
+     *            The POJO to round-trip.
+     * @param random
+     *            The random generator to populate the POJO with.
+     * @param objectGraphGenerator
+     *            The generator to populate the POJO with.
+     * @param codec
+     *            The codec to round-trip the POJO through.
+     * @param warmupIterations
+     *            The number of round trips to warm up with.
+     * @param iterations
+     *            The number of round trips to measure.
+     * @param maxSerializedSize
+     *            The highest acceptable serialized size, in bytes.
+     * @param maxEncodeNanos
+     *            The highest acceptable mean encoding time, in nanoseconds.
+     * @param maxDecodeNanos
+     *            The highest acceptable mean decoding time, in nanoseconds.
+     * @param failureBehavior
+     *            The {@link Behavior} to perform for each failed check.
+     */
+    SerializationAsserter(Object pojo,
+                          Random random,
+                          ObjectGraphGenerator objectGraphGenerator,
+                          SerializationCodec<Object> codec,
+                          int warmupIterations,
+                          int iterations,
+                          int maxSerializedSize,
+                          double maxEncodeNanos,
+                          double maxDecodeNanos,
+                          Behavior failureBehavior) {
+        this.pojo = pojo;
+        this.random = random;
+        this.objectGraphGenerator = objectGraphGenerator;
+        this.codec = codec;
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+        this.maxSerializedSize = maxSerializedSize;
+        this.maxEncodeNanos = maxEncodeNanos;
+        this.maxDecodeNanos = maxDecodeNanos;
+        this.failureBehavior = failureBehavior;
+    }
+
+    /**
+     * Populates the POJO, round-trips it, runs all the checks, and reports the failed ones to the failure
+     * {@link Behavior}.
+     *
+     * @return The measurements, or {@code null} if the codec failed to encode or decode the POJO.
+     */
+    public SerializationReport assertSerialization() {
+        Class<?> type = pojo.getClass();
+        objectGraphGenerator.populate(pojo, random);
+        List<BeanProperty> properties = BeanProperty.find(type, new LoggingBehavior(false));
+        Object[] expected = new Object[properties.size()];
+        for (int i = 0; i < expected.length; ++i) {
+            expected[i] = get(properties.get(i), pojo);
+        }
+
+        long encodeNanos = 0;
+        long decodeNanos = 0;
+        int serializedSize;
+        try {
+            assertRoundTripped(properties, expected, roundTrip());
+
+            for (int i = 0; i < warmupIterations; ++i) {
+                sink += System.identityHashCode(roundTrip());
+            }
+
+            Object decoded = null;
+            for (int i = 0; i < iterations; ++i) {
+                out.reset();
+                long start = System.nanoTime();
+                codec.encode(pojo, out);
+                long encoded = System.nanoTime();
+                in.rewind(out);
+                decoded = codec.decode(in);
+                long end = System.nanoTime();
+                encodeNanos += encoded - start;
+                decodeNanos += end - encoded;
+                sink += System.identityHashCode(decoded);
+            }
+
+            // The codec may keep state between round trips, so check the last one as well, and take its size, e.g.,
+            // without the stream header of the first one
+            assertRoundTripped(properties, expected, decoded);
+            serializedSize = out.size();
+        } catch (IOException e) {
+            failureBehavior.behave("Can't round-trip " + type.getName(), e);
+            return null;
+        }
+
+        SerializationReport report = new SerializationReport(type,
+                                                             serializedSize,
+                                                             iterations,
+                                                             (double) encodeNanos / iterations,
+                                                             (double) decodeNanos / iterations);
+        log.info(report.toString());
+
+        if (serializedSize > maxSerializedSize) {
+            failureBehavior.behave(type.getName() + " is too large when serialized: " + serializedSize + " > "
+                    + maxSerializedSize + " bytes", null);
+        }
+        if (report.getEncodeNanos() > maxEncodeNanos) {
+            failureBehavior.behave(String.format("%s encodes too slowly: %.1fns > %.1fns",
+                    type.getName(), report.getEncodeNanos(), maxEncodeNanos), null);
+        }
+        if (report.getDecodeNanos() > maxDecodeNanos) {
+            failureBehavior.behave(String.format("%s decodes too slowly: %.1fns > %.1fns",
+                    type.getName(), report.getDecodeNanos(), maxDecodeNanos), null);
+        }
+        return report;
+    }
+
+    /* Private helper methods */
+
+    private Object roundTrip() throws IOException {
+        out.reset();
+        codec.encode(pojo, out);
+        in.rewind(out);
+        return codec.decode(in);
+    }
+
+    private void assertRoundTripped(List<BeanProperty> properties, Object[] expected, Object decoded) {
+        if (decoded == null || decoded.getClass() != pojo.getClass()) {
+            failureBehavior.behave("Decoded " + (decoded == null ? "null" : decoded.getClass().getName())
+                    + " instead of " + pojo.getClass().getName(), null);
+            return;
+        }
+        for (int i = 0; i < expected.length; ++i) {
+            BeanProperty property = properties.get(i);
+            Object actual = get(property, decoded);
+            if (!Objects.deepEquals(expected[i], actual)) {
+                failureBehavior.behave("Property " + property.getName() + " of " + pojo.getClass().getName()
+                        + " was not round-tripped: expected <" + expected[i] + "> but was <" + actual + ">", null);
+            }
+        }
+    }
+
+    private Object get(BeanProperty property, Object object) {
+        try {
+            return property.getGetMethod().invoke(object);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            failureBehavior.behave("Can't get property " + property.getName(), e);
+            return null;
+        }
+    }
+
+    /** A byte array output stream whose array can be read in place. */
+    private static final class RewindableOutputStream extends ByteArrayOutputStream {
+        byte[] array() {
+            return buf;
+        }
+    }
+
+    /** A byte array input stream that can be rewound to read a different array. */
+    private static final class RewindableInputStream extends ByteArrayInputStream {
+        RewindableInputStream() {
+            super(new byte[0]);
+        }
+
+        /** Rewinds the stream to read what was written to the given output stream. */
+        void rewind(RewindableOutputStream out) {
+            buf = out.array();
+            pos = 0;
+            count = out.size();
+            mark = 0;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package org.bpunit.assertions;
+
+import org.bpunit.assertions.behaviors.Behavior;
+import org.bpunit.assertions.behaviors.FailingBehavior;
+import org.bpunit.utils.Generator;
+import org.bpunit.utils.GeneratorRegistry;
+import org.bpunit.utils.ObjectGraphGenerator;
+import org.bpunit.utils.SeedableRandom;
+
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * A builder class for the {@link SerializationAsserter} which allows creating it by a fluent API.
+ */
+public class SerializationAsserterBuilder {
+    private Object pojo;
+    private Random random;
+    private GeneratorRegistry generators = new GeneratorRegistry();
+    private SerializationCodec<?> codec;
+    private int warmupIterations = SerializationAsserter.DEFAULT_WARMUP_ITERATIONS;
+    private int iterations = SerializationAsserter.DEFAULT_ITERATIONS;
+    private int maxSerializedSize = Integer.MAX_VALUE;
+    private double maxEncodeNanos = Double.POSITIVE_INFINITY;
+    private double maxDecodeNanos = Double.POSITIVE_INFINITY;
+    private Behavior failureBehavior;
+
+    public SerializationAsserter build() {
+        Objects.requireNonNull(pojo, "Cannot construct a SerializationAsserter without a POJO to assert");
+
+        if (random == null) {
+            random = new SeedableRandom();
+        }
+
+        if (codec == null) {
+            codec = new JavaSerializationCodec();
+        }
+
+        if (failureBehavior == null) {
+            failureBehavior = new FailingBehavior();
+        }
+
+        // noinspection unchecked
+        return new SerializationAsserter(pojo,
+                                         random,
+                                         new ObjectGraphGenerator().withGenerators(generators),
+                                         (SerializationCodec<Object>) codec,
+                                         warmupIterations,
+                                         iterations,
+                                         maxSerializedSize,
+                                         maxEncodeNanos,
+                                         maxDecodeNanos,
+                                         failureBehavior);
+    }
+
+    /**
+     * Specify the POJO to round-trip. Its public setters are populated with random values before the round trips.
+     *
+     * @param pojo
+     *          The POJO to be asserted.
+     */
+    public SerializationAsserterBuilder forPOJO(Object pojo) {
+        this.pojo = pojo;
+        return this;
+    }
+
+    /**
+     * Specify the {@link Random} generator the POJO is populated from.
+     * If this method is not called, a default {@link SeedableRandom} with its default seed is used.
+     *
+     * @param random
+     *          The random generator to use.
+     */
+    public SerializationAsserterBuilder withRandom(Random random) {
+        this.random = random;
+        return this;
+    }
+
+    /**
+     * Register a {@link Generator} to use for properties of the given type.
+     *
+     * @param type
+     *          The type to generate.
+     * @param generator
+     *          The generator to use.
+     */
+    public <V> SerializationAsserterBuilder withGenerator(Class<V> type, Generator<? extends V> generator) {
+        generators.register(type, generator);
+        return this;
+    }
+
+    /**
+     * Specify a {@link GeneratorRegistry} to generate the properties with. Generators registered with
+     * {@code withGenerator} afterwards are registered in a child registry, so the given one is not modified.
+     *
+     * @param generators
+     *          The generators to use.
+     */
+    public SerializationAsserterBuilder withGenerators(GeneratorRegistry generators) {
+        this.generators = new GeneratorRegistry(generators);
+        return this;
+    }
+
+    /**
+     * Specify the {@link SerializationCodec} to round-trip the POJO through. The codec must be able to encode the
+     * POJO's class.
+     * If this method is not called, a {@link JavaSerializationCodec} is used.
+     *
+     * @param codec
+     *          The codec to use.
+     */
+    public SerializationAsserterBuilder withCodec(SerializationCodec<?> codec) {
+        this.codec = codec;
+        return this;
+    }
+
+    /**
+     * Specify the number of round trips to warm up with before measuring.
+     * If this method is not called, {@link SerializationAsserter#DEFAULT_WARMUP_ITERATIONS} are used.
+     *
+     * @param warmupIterations
+     *          The number of round trips.
+     */
+    public SerializationAsserterBuilder withWarmupIterations(int warmupIterations) {
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("warmupIterations must be non-negative");
+        }
+        this.warmupIterations = warmupIterations;
+        return this;
+    }
+
+    /**
+     * Specify the number of round trips to measure.
+     * If this method is not called, {@link SerializationAsserter#DEFAULT_ITERATIONS} are measured.
+     *
+     * @param iterations
+     *          The number of round trips.
+     */
+    public SerializationAsserterBuilder withIterations(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("iterations must be positive");
+        }
+        this.iterations = iterations;
+        return this;
+    }
+
+    /**
+     * Specify the highest acceptable serialized size, in bytes.
+     * If this method is not called, the size is only reported.
+     *
+     * @param maxSerializedSize
+     *          The highest serialized size.
+     */
+    public SerializationAsserterBuilder withMaxSerializedSize(int maxSerializedSize) {
+        if (maxSerializedSize < 0) {
+            throw new IllegalArgumentException("maxSerializedSize must be non-negative");
+        }
+        this.maxSerializedSize = maxSerializedSize;
+        return this;
+    }
+
+    /**
+     * Specify the highest acceptable mean time of encoding the POJO, in nanoseconds.
+     * If this method is not called, the time is only reported.
+     *
+     * @param maxEncodeNanos
+     *          The highest mean encoding time.
+     */
+    public SerializationAsserterBuilder withMaxEncodeNanos(double maxEncodeNanos) {
+        this.maxEncodeNanos = maxEncodeNanos;
+        return this;
+    }
+
+    /**
+     * Specify the highest acceptable mean time of decoding the POJO, in nanoseconds.
+     * If this method is not called, the time is only reported.
+     *
+     * @param maxDecodeNanos
+     *          The highest mean decoding time.
+     */
+    public SerializationAsserterBuilder withMaxDecodeNanos(double maxDecodeNanos) {
+        this.maxDecodeNanos = maxDecodeNanos;
+        return this;
+    }
+
+    /**
+     * Specify the {@link Behavior} to use for each failed check.
+     * If this method is not called, a default {@link FailingBehavior} is used.
+     *
+     * @param failureBehavior
+     *          The Behavior to use
+     */
+    public SerializationAsserterBuilder withFailureBehavior(Behavior failureBehavior) {
+        this.failureBehavior = failureBehavior;
+        return this;
+    }
+}
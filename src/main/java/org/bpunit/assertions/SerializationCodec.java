@@ -0,0 +1,28 @@
+package org.bpunit.assertions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Encodes objects to bytes and decodes them back, for a {@link SerializationAsserter} to round-trip POJOs through.
+ *
+ * The asserter passes the same stream instances to every call, rewound to the beginning, so a codec may wrap them
+ * once (e.g., in an {@link java.io.ObjectOutputStream}) and reuse the wrappers. Each {@link #decode(InputStream)}
+ * call reads what the matching {@link #encode(Object, OutputStream)} call wrote.
+ *
+ * @param <T>
+ *            The type of the encoded objects.
+ */
+public interface SerializationCodec<T> {
+
+    /**
+     * Writes the given value to the stream.
+     */
+    void encode(T value, OutputStream out) throws IOException;
+
+    /**
+     * Reads a value from the stream.
+     */
+    T decode(InputStream in) throws IOException;
+}
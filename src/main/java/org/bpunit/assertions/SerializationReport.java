@@ -0,0 +1,78 @@
+package org.bpunit.assertions;
+
+/**
+ * The measurements of a {@link SerializationAsserter}: the serialized size of a POJO, and how long encoding and
+ * decoding it takes.
+ */
+public final class SerializationReport {
+    private final Class<?> type;
+    private final int serializedSize;
+    private final int iterations;
+    private final double encodeNanos;
+    private final double decodeNanos;
+
+    SerializationReport(Class<?> type, int serializedSize, int iterations, double encodeNanos, double decodeNanos) {
+        this.type = type;
+        this.serializedSize = serializedSize;
+        this.iterations = iterations;
+        this.encodeNanos = encodeNanos;
+        this.decodeNanos = decodeNanos;
+    }
+
+    /**
+     * Returns the class of the round-tripped POJO.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the size of an encoding of the POJO once the codec is warmed up (e.g., without a stream header), in
+     * bytes.
+     */
+    public int getSerializedSize() {
+        return serializedSize;
+    }
+
+    /**
+     * Returns the number of measured round trips.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Returns the mean time of encoding the POJO, in nanoseconds.
+     */
+    public double getEncodeNanos() {
+        return encodeNanos;
+    }
+
+    /**
+     * Returns the mean time of decoding the POJO, in nanoseconds.
+     */
+    public double getDecodeNanos() {
+        return decodeNanos;
+    }
+
+    /**
+     * Returns the number of bytes encoded per second, in megabytes (10<sup>6</sup> bytes).
+     */
+    public double getEncodeThroughput() {
+        return serializedSize * 1_000.0 / encodeNanos;
+    }
+
+    /**
+     * Returns the number of bytes decoded per second, in megabytes (10<sup>6</sup> bytes).
+     */
+    public double getDecodeThroughput() {
+        return serializedSize * 1_000.0 / decodeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d bytes, encode %.1fns (%.1fMB/s), decode %.1fns (%.1fMB/s) over %d round trips",
+                type.getName(), serializedSize, encodeNanos, getEncodeThroughput(), decodeNanos,
+                getDecodeThroughput(), iterations);
+    }
+}
@@ -0,0 +1,22 @@
+package org.bpunit.junit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Pins the seed of the {@link org.bpunit.utils.SeedableRandom} {@link SeedableRandomExtension} injects into a test
+ * method, or into all the tests of a class, instead of deriving it from the root seed. This allows rerunning a single
+ * test with the seed it reported on failure.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface Seed {
+    /**
+     * The seed of the injected generator.
+     */
+    long value();
+}
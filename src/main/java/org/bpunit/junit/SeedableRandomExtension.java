@@ -0,0 +1,136 @@
+package org.bpunit.junit;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.bpunit.utils.SeedableRandom;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A JUnit 5 extension that injects a {@link SeedableRandom} into test methods, lifecycle methods and constructors.
+ *
+ * Each test gets its own generator, whose seed is derived only from the root seed (see
+ * {@link SeedableRandom#SeedableRandom()}) and the test's unique id. A test's random values therefore do not depend on
+ * the order the tests run in, or on which tests run concurrently, so tests can run in parallel and still be
+ * reproducible. All the parameters of a test, and of its lifecycle methods, get the same generator.
+ *
+ * The root seed is logged once per run. When a test that used an injected generator fails, its seed is logged and
+ * published as a report entry, so the test can be rerun on its own by annotating it with {@link Seed}.
+ *
+ * E.g.:
+ * <pre>
+ * &#64;ExtendWith(SeedableRandomExtension.class)
+ * class SomeTest {
+ *     &#64;Test
+ *     void someProperty(SeedableRandom random) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ */
+public class SeedableRandomExtension implements ParameterResolver, AfterTestExecutionCallback {
+
+    /** The logger to use. */
+    private static final Logger log = LoggerFactory.getLogger(SeedableRandomExtension.class);
+
+    /** The report entry key of a failed test's seed. */
+    public static final String SEED_REPORT_KEY = "bpunit.seed";
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(SeedableRandomExtension.class);
+
+    /** The 64-bit FNV-1a offset basis and prime, for hashing unique ids. */
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    /** The store key of the root generator, which differs from the keys of the tests' generators. */
+    private static final String ROOT_KEY = "root";
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == SeedableRandom.class;
+    }
+
+    @Override
+    public SeedableRandom resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE)
+                .getOrComputeIfAbsent(key(SeedableRandom.class, extensionContext),
+                        key -> createRandom(extensionContext), SeedableRandom.class);
+    }
+
+    /**
+     * Reports the seed of a failed test that used an injected generator.
+     */
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Optional<Throwable> failure = context.getExecutionException();
+        Long seed = context.getStore(NAMESPACE).get(key(Seed.class, context), Long.class);
+        if (failure.isPresent() && seed != null) {
+            log.error(context.getDisplayName() + " [" + context.getUniqueId() + "] failed with seed: " + seed
+                    + " (rerun it with @Seed(" + seed + "L))");
+            context.publishReportEntry(SEED_REPORT_KEY, String.valueOf(seed));
+        }
+    }
+
+    /**
+     * Returns the store key of a value of the given context. Since stores inherit their parents' values, the key
+     * includes the context's unique id, so a test never gets the generator of its class's lifecycle methods.
+     */
+    private static Object key(Class<?> kind, ExtensionContext context) {
+        return Arrays.asList(kind, context.getUniqueId());
+    }
+
+    private SeedableRandom createRandom(ExtensionContext context) {
+        // Only the root seed is logged, once, since the tests' seeds are derived from it or pinned in the code
+        SeedableRandom random = SeedableRandom.forDerivedSeed(seedOf(context));
+        // Since the generator can be reseeded by the test, keep the seed it started with for the report
+        context.getStore(NAMESPACE).put(key(Seed.class, context), random.getSeed());
+        return random;
+    }
+
+    /**
+     * Returns the seed of the generator to inject in the given context: the seed of the closest {@link Seed}
+     * annotation if there is one, or a seed derived from the root seed and the context's unique id otherwise.
+     */
+    private static long seedOf(ExtensionContext context) {
+        Optional<Seed> pinned = context.getElement().flatMap(SeedableRandomExtension::findSeed);
+        for (Optional<Class<?>> type = context.getTestClass(); !pinned.isPresent() && type.isPresent();
+                type = Optional.ofNullable(type.get().getEnclosingClass())) {
+            pinned = findSeed(type.get());
+        }
+        if (pinned.isPresent()) {
+            return pinned.get().value();
+        }
+        return deriveSeed(getRoot(context), context.getUniqueId());
+    }
+
+    private static Optional<Seed> findSeed(AnnotatedElement element) {
+        return AnnotationSupport.findAnnotation(element, Seed.class);
+    }
+
+    /**
+     * Returns the generator of the root seed, which is created, and logged, once per run.
+     */
+    private static SeedableRandom getRoot(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(ROOT_KEY, key -> new SeedableRandom(), SeedableRandom.class);
+    }
+
+    /**
+     * Derives the seed of a test from the root generator and the test's unique id, which is stable across runs.
+     */
+    static long deriveSeed(SeedableRandom root, String uniqueId) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < uniqueId.length(); ++i) {
+            hash = (hash ^ uniqueId.charAt(i)) * FNV_PRIME;
+        }
+        return root.valueAt(hash & Long.MAX_VALUE);
+    }
+}
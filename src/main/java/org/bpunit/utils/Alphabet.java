@@ -0,0 +1,115 @@
+package org.bpunit.utils;
+
+/**
+ * A set of characters to generate random strings from.
+ *
+ * An alphabet precomputes everything {@link SeedableRandom} needs in order to generate its characters by a table
+ * lookup: each character is picked by the lowest {@link #getBits()} bits of a random word, and since many characters
+ * can be picked from every 64 random bits, random strings are generated a word at a time.
+ *
+ * @see SeedableRandom#nextString(Alphabet, int)
+ */
+public final class Alphabet {
+
+    /** All the printable ASCII characters. */
+    public static final Alphabet PRINTABLE = range(' ', '~');
+
+    /** All the ISO-8859-1 (Latin-1) characters. */
+    public static final Alphabet LATIN1 = range('\u0000', '\u00FF');
+
+    /** All the {@code char} values. */
+    public static final Alphabet ALL = range(Character.MIN_VALUE, Character.MAX_VALUE);
+
+    /** The first character of a contiguous range alphabet. */
+    private final char first;
+
+    /** The characters of the alphabet, or {@code null} for a contiguous range alphabet. */
+    private final char[] chars;
+
+    /** The number of characters in the alphabet. */
+    private final int size;
+
+    /** The number of random bits needed to pick a character. */
+    private final int bits;
+
+    /** Whether all the characters are Latin-1 characters. */
+    private final boolean latin1;
+
+    private Alphabet(char first, char[] chars, int size, boolean latin1) {
+        this.first = first;
+        this.chars = chars;
+        this.size = size;
+        this.bits = Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+        this.latin1 = latin1;
+    }
+
+    /**
+     * Creates an alphabet of all the characters in the range [first, last].
+     */
+    public static Alphabet range(char first, char last) {
+        if (first > last) {
+            throw new IllegalArgumentException("first must be less than or equal to last");
+        }
+        return new Alphabet(first, null, last - first + 1, last <= '\u00FF');
+    }
+
+    /**
+     * Creates an alphabet of the given characters. Characters that appear more than once are picked proportionally
+     * more often.
+     */
+    public static Alphabet of(char[] chars) {
+        return wrap(chars.clone());
+    }
+
+    /**
+     * Creates an alphabet of the characters of the given string. Characters that appear more than once are picked
+     * proportionally more often.
+     */
+    public static Alphabet of(String chars) {
+        return wrap(chars.toCharArray());
+    }
+
+    /**
+     * Creates an alphabet backed by the given array, without copying it.
+     */
+    static Alphabet wrap(char[] chars) {
+        if (chars.length == 0) {
+            throw new IllegalArgumentException("The chars array must not be empty");
+        }
+
+        boolean latin1 = true;
+        for (char c : chars) {
+            latin1 &= c <= '\u00FF';
+        }
+        return new Alphabet(chars[0], chars, chars.length, latin1);
+    }
+
+    /**
+     * Returns the number of characters in the alphabet.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether all of the alphabet's characters are ISO-8859-1 (Latin-1) characters, allowing strings to be
+     * generated as bytes.
+     */
+    public boolean isLatin1() {
+        return latin1;
+    }
+
+    /**
+     * Returns the number of random bits needed to pick a character.
+     */
+    int getBits() {
+        return bits;
+    }
+
+    /**
+     * Returns the character at the given index of the alphabet.
+     */
+    char charAt(int index) {
+        return chars == null ? (char) (first + index) : chars[index];
+    }
+}
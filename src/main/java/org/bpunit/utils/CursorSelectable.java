@@ -0,0 +1,17 @@
+package org.bpunit.utils;
+
+/**
+ * A random generator whose values depend on what they are generated for, e.g., {@link EdgeCaseRandom}, which
+ * enumerates its edge values once per property rather than once for all of them.
+ * {@link org.bpunit.assertions.POJOAsserter} selects a cursor of its own for each property it asserts with such a
+ * generator, and selects the default cursor back once the value is generated.
+ */
+public interface CursorSelectable {
+    /**
+     * Selects the cursor the next values are generated with, creating it if it's new.
+     *
+     * @param key
+     *            The key of the cursor, or {@code null} for the default one.
+     */
+    void selectCursor(Object key);
+}
@@ -0,0 +1,457 @@
+package org.bpunit.utils;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.bpunit.utils.cores.JournalCore;
+import org.bpunit.utils.cores.RandomCore;
+import org.bpunit.utils.cores.SplitMix64Core;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes large datasets of random rows shaped like a POJO class to a file, e.g., for load tests.
+ *
+ * Each row has a column for every property of the class (i.e., every public setter with a single argument) that has
+ * a {@link Generator}, sorted by the properties' names. Rather than instantiating the POJO and then reading it back,
+ * the values are generated and encoded straight to the output buffers.
+ *
+ * Rows are generated in batches by a pool of threads, each into its own reusable direct buffer, while the calling
+ * thread writes the finished batches, in order, to a {@link FileChannel}. Each row is generated from a seed derived
+ * from the dataset's seed and the row's index, so the same seed always writes the same file, regardless of the number
+ * of threads.
+ *
+ * @param <T>
+ *            The POJO class the rows are shaped like.
+ */
+public class DatasetWriter<T> {
+
+    /** The output formats. */
+    public enum Format {
+        /**
+         * Comma separated values, with a header line of the property names. Values are written by their
+         * {@link Object#toString()}, except for {@link Date}s which are written as milliseconds since the epoch.
+         * {@code null}s are written as empty values.
+         */
+        CSV,
+
+        /**
+         * Big-endian binary rows, readable by a {@link java.io.DataInputStream}. Primitives and their boxes are
+         * written with their natural size (e.g., 4 bytes for an {@code int}), {@link Date}s as a {@code long} of
+         * milliseconds since the epoch, and anything else as an {@code int} length followed by the UTF-8 bytes of its
+         * {@link Object#toString()} ({@code -1} for {@code null}). {@code null} primitive boxes are written as zeros.
+         */
+        BINARY
+    }
+
+    /* --- Constants --- */
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetWriter.class);
+
+    private static final String SET_PREFIX = "set";
+
+    /** The default number of rows generated by each task. */
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+
+    /** The initial capacity of each batch buffer, which grows if a batch does not fit. */
+    private static final int INITIAL_BUFFER_CAPACITY = 1 << 20;
+
+    /* --- Class Fields --- */
+
+    private final Class<T> type;
+    private Format format = Format.CSV;
+    private RandomCore core = new SplitMix64Core();
+    private GeneratorRegistry generators = new GeneratorRegistry();
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * @param type
+     *            The POJO class the rows are shaped like.
+     */
+    public DatasetWriter(Class<T> type) {
+        this.type = type;
+    }
+
+    /* --- Settings --- */
+
+    /**
+     * Sets the output format. If this method is not called, {@link Format#CSV} is used.
+     *
+     * @return This writer.
+     */
+    public DatasetWriter<T> withFormat(Format format) {
+        this.format = format;
+        return this;
+    }
+
+    /**
+     * Sets the {@link RandomCore} to generate the rows with. If this method is not called, {@link SplitMix64Core} is
+     * used, since it is the fastest to reseed for each row.
+     *
+     * The core itself is left untouched: each batch of rows is generated by its own {@link RandomCore#newInstance()}.
+     * A {@link JournalCore}'s instances share its journal, so with one the rows are generated by a single thread,
+     * regardless of {@link #withThreads(int)}.
+     *
+     * @return This writer.
+     */
+    public DatasetWriter<T> withCore(RandomCore core) {
+        this.core = core;
+        return this;
+    }
+
+    /**
+     * Sets the {@link Generator}s to use before resorting to the ones {@link SeedableRandom} provides.
+     *
+     * @return This writer.
+     */
+    public DatasetWriter<T> withGenerators(GeneratorRegistry generators) {
+        this.generators = generators;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads generating rows. If this method is not called, a thread per available processor is
+     * used.
+     *
+     * @return This writer.
+     */
+    public DatasetWriter<T> withThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Sets the number of rows each generation task generates.
+     *
+     * @return This writer.
+     */
+    public DatasetWriter<T> withBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /* --- Writing --- */
+
+    /**
+     * Writes a dataset to a file. An existing file is overwritten.
+     *
+     * @param path
+     *            The file to write.
+     * @param rows
+     *            The number of rows to write.
+     * @param seed
+     *            The seed of the dataset.
+     * @return The number of bytes written.
+     * @throws IOException if the file cannot be written.
+     */
+    public long write(Path path, long rows, long seed) throws IOException {
+        if (rows < 0) {
+            throw new IllegalArgumentException("rows must not be negative");
+        }
+
+        // The configured core is only a template, so it is never seeded or drawn from itself
+        SeedableRandom root = new SeedableRandom(seed, core != null ? core.newInstance() : null);
+        Column[] columns = getColumns(root);
+        long batches = (rows + batchSize - 1) / batchSize;
+        // Cores derived from a journal share it, so a journal is only written, or read, by a single thread
+        int workers = core instanceof JournalCore ? 1 : threads;
+        Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "bpunit-dataset-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long written = 0L;
+            if (format == Format.CSV) {
+                written += writeFully(channel, csvHeader(columns));
+            }
+
+            // Keep a couple of batches per thread in flight, so the threads never wait for the writes
+            Deque<Future<ByteBuffer>> inFlight = new ArrayDeque<>();
+            long submitted = 0L;
+            while (submitted < batches || !inFlight.isEmpty()) {
+                while (submitted < batches && inFlight.size() < 2 * workers) {
+                    long first = submitted * batchSize;
+                    long last = Math.min(rows, first + batchSize);
+                    // Every row is reseeded from its index, so the batch's own seed doesn't matter
+                    SeedableRandom random = root.derive(seed);
+                    inFlight.add(executor.submit(() -> generateBatch(columns, random, seed, first, last, buffers)));
+                    ++submitted;
+                }
+
+                ByteBuffer batch = await(inFlight.poll());
+                written += writeFully(channel, batch);
+                buffers.add(batch);
+            }
+            return written;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates the rows in the range [first, last) into a pooled buffer, ready to be written.
+     */
+    private ByteBuffer generateBatch(Column[] columns,
+                                     SeedableRandom random,
+                                     long seed,
+                                     long first,
+                                     long last,
+                                     Queue<ByteBuffer> buffers) {
+        ByteBuffer pooled = buffers.poll();
+        RowEncoder encoder = new RowEncoder(pooled != null ? pooled : ByteBuffer.allocateDirect(INITIAL_BUFFER_CAPACITY));
+        for (long row = first; row < last; ++row) {
+            random.reseed(SeedableRandom.deriveSeed(seed, row));
+            for (int i = 0; i < columns.length; ++i) {
+                Object value = columns[i].generator.generate(random);
+                if (format == Format.CSV) {
+                    if (i > 0) {
+                        encoder.putByte((byte) ',');
+                    }
+                    encoder.putCsv(value);
+                } else {
+                    encoder.putBinary(columns[i].type, value);
+                }
+            }
+            if (format == Format.CSV) {
+                encoder.putByte((byte) '\n');
+            }
+        }
+        ((Buffer) encoder.buffer).flip();
+        return encoder.buffer;
+    }
+
+    private static ByteBuffer await(Future<ByteBuffer> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating the dataset", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("Can't generate the dataset", cause);
+        }
+    }
+
+    private static long writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        long written = 0L;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        ((Buffer) buffer).clear();
+        return written;
+    }
+
+    private static ByteBuffer csvHeader(Column[] columns) {
+        RowEncoder encoder = new RowEncoder(ByteBuffer.allocate(64 * (columns.length + 1)));
+        for (int i = 0; i < columns.length; ++i) {
+            if (i > 0) {
+                encoder.putByte((byte) ',');
+            }
+            encoder.putCsv(columns[i].name);
+        }
+        encoder.putByte((byte) '\n');
+        ((Buffer) encoder.buffer).flip();
+        return encoder.buffer;
+    }
+
+    /* --- Columns --- */
+
+    /** A property of the POJO class and the generator of its values. */
+    private static class Column {
+        private final String name;
+        private final Class<?> type;
+        private final Generator<?> generator;
+
+        private Column(String name, Class<?> type, Generator<?> generator) {
+            this.name = name;
+            this.type = type;
+            this.generator = generator;
+        }
+    }
+
+    /**
+     * Finds the properties of the POJO class that can be generated, sorted by name.
+     */
+    private Column[] getColumns(SeedableRandom random) {
+        List<Column> columns = new ArrayList<>();
+        for (Method method : type.getMethods()) {
+            String name = method.getName();
+            if (!name.startsWith(SET_PREFIX) || name.length() == SET_PREFIX.length() ||
+                    method.getParameterCount() != 1 || Modifier.isStatic(method.getModifiers()) || method.isBridge()) {
+                continue;
+            }
+
+            String propertyName = Character.toLowerCase(name.charAt(SET_PREFIX.length())) +
+                    name.substring(SET_PREFIX.length() + 1);
+            Class<?> propertyType = method.getParameterTypes()[0];
+            Generator<?> generator = generators.lookup(propertyType);
+            if (generator == null) {
+                generator = random.getGenerator(propertyType);
+            }
+            if (generator == null) {
+                log.info("Skipping property " + propertyName + ", since there is no generator for " + propertyType);
+                continue;
+            }
+            columns.add(new Column(propertyName, propertyType, generator));
+        }
+
+        columns.sort(Comparator.comparing(column -> column.name));
+        return columns.toArray(new Column[0]);
+    }
+
+    /* --- Encoding --- */
+
+    /** Encodes values into a buffer, growing it as needed. */
+    private static class RowEncoder {
+        private ByteBuffer buffer;
+
+        private RowEncoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private void ensureRemaining(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer grown = buffer.isDirect()
+                        ? ByteBuffer.allocateDirect(Math.max(2 * buffer.capacity(), buffer.position() + bytes))
+                        : ByteBuffer.allocate(Math.max(2 * buffer.capacity(), buffer.position() + bytes));
+                ((Buffer) buffer).flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+        }
+
+        private void putByte(byte b) {
+            ensureRemaining(1);
+            buffer.put(b);
+        }
+
+        private void putBinary(Class<?> type, Object value) {
+            ensureRemaining(Long.BYTES);
+            if (type == boolean.class || type == Boolean.class) {
+                buffer.put((byte) (Boolean.TRUE.equals(value) ? 1 : 0));
+            } else if (type == byte.class || type == Byte.class) {
+                buffer.put(value != null ? (Byte) value : 0);
+            } else if (type == short.class || type == Short.class) {
+                buffer.putShort(value != null ? (Short) value : 0);
+            } else if (type == char.class || type == Character.class) {
+                buffer.putChar(value != null ? (Character) value : 0);
+            } else if (type == int.class || type == Integer.class) {
+                buffer.putInt(value != null ? (Integer) value : 0);
+            } else if (type == long.class || type == Long.class) {
+                buffer.putLong(value != null ? (Long) value : 0L);
+            } else if (type == float.class || type == Float.class) {
+                buffer.putFloat(value != null ? (Float) value : 0.0F);
+            } else if (type == double.class || type == Double.class) {
+                buffer.putDouble(value != null ? (Double) value : 0.0D);
+            } else if (Date.class.isAssignableFrom(type)) {
+                buffer.putLong(value != null ? ((Date) value).getTime() : 0L);
+            } else if (value == null) {
+                buffer.putInt(-1);
+            } else {
+                byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+                ensureRemaining(Integer.BYTES + bytes.length);
+                buffer.putInt(bytes.length);
+                buffer.put(bytes);
+            }
+        }
+
+        private void putCsv(Object value) {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                putDecimal(((Number) value).longValue());
+                return;
+            }
+            if (value instanceof Date) {
+                putDecimal(((Date) value).getTime());
+                return;
+            }
+
+            String s = value.toString();
+            boolean quote = false;
+            boolean ascii = true;
+            for (int i = 0; i < s.length(); ++i) {
+                char c = s.charAt(i);
+                quote |= c == ',' || c == '"' || c == '\n' || c == '\r';
+                ascii &= c < 0x80;
+            }
+
+            if (quote) {
+                s = '"' + s.replace("\"", "\"\"") + '"';
+            }
+            if (ascii) {
+                ensureRemaining(s.length());
+                for (int i = 0; i < s.length(); ++i) {
+                    buffer.put((byte) s.charAt(i));
+                }
+            } else {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                ensureRemaining(bytes.length);
+                buffer.put(bytes);
+            }
+        }
+
+        /**
+         * Writes the decimal digits of a {@code long} without creating a {@link String}.
+         */
+        private void putDecimal(long value) {
+            if (value == Long.MIN_VALUE) {
+                putCsv(Long.toString(value));
+                return;
+            }
+            ensureRemaining(20);
+            if (value < 0) {
+                buffer.put((byte) '-');
+                value = -value;
+            }
+            int start = buffer.position();
+            do {
+                buffer.put((byte) ('0' + value % 10));
+                value /= 10;
+            } while (value != 0);
+
+            // The digits were written least significant first
+            for (int i = start, j = buffer.position() - 1; i < j; ++i, --j) {
+                byte b = buffer.get(i);
+                buffer.put(i, buffer.get(j));
+                buffer.put(j, b);
+            }
+        }
+    }
+}
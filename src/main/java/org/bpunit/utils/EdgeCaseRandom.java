@@ -0,0 +1,190 @@
+package org.bpunit.utils;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code EdgeCaseRandom} is a {@link SeedableRandom} that favors the values where accessor bugs usually hide.
+ *
+ * Each of the argument-less {@code nextXYZ()} methods first enumerates a fixed table of edge values for its type
+ * (e.g., 0, -1, {@link Integer#MIN_VALUE}, {@link Double#NaN}, {@code -0.0}, the empty string, a surrogate pair or the
+ * epoch), and only falls back to {@link SeedableRandom}'s random values once that table is exhausted.
+ * The position in each table is kept by a cursor. By default all the calls share one cursor, so properties of the
+ * same type would split the edge values between them; a {@link org.bpunit.assertions.POJOAsserter} therefore selects
+ * a cursor of its own for each property (see {@link #selectCursor(Object)}), and asserting the same POJO
+ * {@link #getMaxEdgeCases()} times covers every edge value of every property.
+ *
+ * Note that methods inherited from {@link java.util.Random} that are implemented on top of these methods (e.g.,
+ * {@link #nextGaussian()}, which calls {@link #nextDouble()}) will see the edge values too.
+ *
+ * An {@code EdgeCaseRandom} is meant to be used by a single thread at a time: the selected cursor is shared by all
+ * the threads, so concurrent callers would advance each other's cursors. Creating and looking up the cursors is
+ * thread safe though, so a thread never loses the cursors another one created.
+ */
+@SuppressWarnings("serial")
+public class EdgeCaseRandom extends SeedableRandom implements CursorSelectable {
+
+    /* --- Edge value tables --- */
+
+    private static final boolean[] BOOLEAN_EDGES = {false, true};
+
+    private static final byte[] BYTE_EDGES = {0, 1, -1, Byte.MIN_VALUE, Byte.MAX_VALUE};
+
+    private static final char[] CHAR_EDGES =
+            {'\u0000', ' ', '~', '\u00FF', '\uD800', '\uDFFF', '\uFFFE', Character.MAX_VALUE};
+
+    private static final short[] SHORT_EDGES = {0, 1, -1, Short.MIN_VALUE, Short.MAX_VALUE};
+
+    private static final int[] INT_EDGES =
+            {0, 1, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE + 1, Integer.MAX_VALUE - 1};
+
+    private static final long[] LONG_EDGES = {0L, 1L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE + 1,
+            Long.MAX_VALUE - 1, Integer.MIN_VALUE, Integer.MAX_VALUE};
+
+    private static final float[] FLOAT_EDGES = {0.0F, -0.0F, 1.0F, -1.0F, Float.NaN, Float.POSITIVE_INFINITY,
+            Float.NEGATIVE_INFINITY, Float.MIN_VALUE, Float.MIN_NORMAL, Float.MAX_VALUE, -Float.MAX_VALUE};
+
+    private static final double[] DOUBLE_EDGES = {0.0D, -0.0D, 1.0D, -1.0D, Double.NaN, Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY, Double.MIN_VALUE, Double.MIN_NORMAL, Double.MAX_VALUE, -Double.MAX_VALUE};
+
+    private static final String[] STRING_EDGES = {"", " ", "\u0000", "\t\n\r", "null", "\uD83D\uDE00", "\uD800",
+            "\u05D0\u05D1", "e\u0301", "\uFEFF"};
+
+    /** {@link Date} is mutable, so only the times are tabulated, and a new instance is created for each value. */
+    private static final long[] DATE_EDGES =
+            {0L, -1L, 1L, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE * 1000L + 1000L};
+
+    /* --- Class Fields --- */
+
+    // The indexes of each type in a cursor
+    private static final int BOOLEAN = 0;
+    private static final int BYTE = 1;
+    private static final int CHAR = 2;
+    private static final int SHORT = 3;
+    private static final int INT = 4;
+    private static final int LONG = 5;
+    private static final int FLOAT = 6;
+    private static final int DOUBLE = 7;
+    private static final int STRING = 8;
+    private static final int DATE = 9;
+    private static final int TYPES = 10;
+
+    /** The key of the default cursor, since a {@link ConcurrentHashMap} doesn't support {@code null} keys */
+    private static final Object DEFAULT_CURSOR = new Object();
+
+    /** The cursors, i.e., the number of edge values already served for each type, by key */
+    private final Map<Object, int[]> cursors = new ConcurrentHashMap<>();
+
+    /** The selected cursor */
+    private int[] cursor;
+
+    /* --- Constructors --- */
+
+    /**
+     * Default constructor. See {@link SeedableRandom#SeedableRandom()}.
+     */
+    public EdgeCaseRandom() {
+        selectCursor(null);
+    }
+
+    /**
+     * Constructor from the seed.
+     */
+    public EdgeCaseRandom(long seed) {
+        super(seed);
+        selectCursor(null);
+    }
+
+    /* --- Edge-related Methods --- */
+
+    /**
+     * Start enumerating all the edge values from the beginning again, for all the cursors.
+     * Note that {@link #setSeed(long)} does not do this implicitly.
+     */
+    public void resetEdgeCases() {
+        for (int[] c : cursors.values()) {
+            Arrays.fill(c, 0);
+        }
+    }
+
+    /**
+     * Selects the cursor the edge values are enumerated with, creating it if it's new. Each cursor enumerates all the
+     * edge values on its own, e.g., one per property of a POJO, so properties of the same type don't split the edge
+     * values between them.
+     *
+     * @param key
+     *            The key of the cursor, or {@code null} for the default one.
+     */
+    @Override
+    public void selectCursor(Object key) {
+        cursor = cursors.computeIfAbsent(key == null ? DEFAULT_CURSOR : key, k -> new int[TYPES]);
+    }
+
+    /**
+     * Returns the number of values the argument-less {@code nextXYZ()} methods will have to be called before all of
+     * the edge values are enumerated.
+     */
+    public static int getMaxEdgeCases() {
+        int max = 0;
+        for (int length : new int[] {BOOLEAN_EDGES.length, BYTE_EDGES.length, CHAR_EDGES.length, SHORT_EDGES.length,
+                INT_EDGES.length, LONG_EDGES.length, FLOAT_EDGES.length, DOUBLE_EDGES.length, STRING_EDGES.length,
+                DATE_EDGES.length}) {
+            max = Math.max(max, length);
+        }
+        return max;
+    }
+
+    /* --- Overridden generation methods --- */
+
+    @Override
+    public boolean nextBoolean() {
+        return cursor[BOOLEAN] < BOOLEAN_EDGES.length ? BOOLEAN_EDGES[cursor[BOOLEAN]++] : super.nextBoolean();
+    }
+
+    @Override
+    public byte nextByte() {
+        return cursor[BYTE] < BYTE_EDGES.length ? BYTE_EDGES[cursor[BYTE]++] : super.nextByte();
+    }
+
+    @Override
+    public char nextChar() {
+        return cursor[CHAR] < CHAR_EDGES.length ? CHAR_EDGES[cursor[CHAR]++] : super.nextChar();
+    }
+
+    @Override
+    public short nextShort() {
+        return cursor[SHORT] < SHORT_EDGES.length ? SHORT_EDGES[cursor[SHORT]++] : super.nextShort();
+    }
+
+    @Override
+    public int nextInt() {
+        return cursor[INT] < INT_EDGES.length ? INT_EDGES[cursor[INT]++] : super.nextInt();
+    }
+
+    @Override
+    public long nextLong() {
+        return cursor[LONG] < LONG_EDGES.length ? LONG_EDGES[cursor[LONG]++] : super.nextLong();
+    }
+
+    @Override
+    public float nextFloat() {
+        return cursor[FLOAT] < FLOAT_EDGES.length ? FLOAT_EDGES[cursor[FLOAT]++] : super.nextFloat();
+    }
+
+    @Override
+    public double nextDouble() {
+        return cursor[DOUBLE] < DOUBLE_EDGES.length ? DOUBLE_EDGES[cursor[DOUBLE]++] : super.nextDouble();
+    }
+
+    @Override
+    public String nextString() {
+        return cursor[STRING] < STRING_EDGES.length ? STRING_EDGES[cursor[STRING]++] : super.nextString();
+    }
+
+    @Override
+    public Date nextDate() {
+        return cursor[DATE] < DATE_EDGES.length ? new Date(DATE_EDGES[cursor[DATE]++]) : new Date(super.nextLong());
+    }
+}
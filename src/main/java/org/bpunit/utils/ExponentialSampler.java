@@ -0,0 +1,29 @@
+package org.bpunit.utils;
+
+import java.util.Random;
+
+/**
+ * A reusable sampler of an exponential distribution, using the ziggurat method.
+ */
+public class ExponentialSampler {
+
+    private final double mean;
+
+    /**
+     * @param rate
+     *            The positive rate (the reciprocal of the mean) of the distribution.
+     */
+    public ExponentialSampler(double rate) {
+        if (!(rate > 0.0) || Double.isInfinite(rate)) {
+            throw new IllegalArgumentException("rate must be finite and positive, got " + rate);
+        }
+        this.mean = 1.0 / rate;
+    }
+
+    /**
+     * Samples a value from the distribution.
+     */
+    public double sample(Random random) {
+        return mean * Ziggurat.exponential(random);
+    }
+}
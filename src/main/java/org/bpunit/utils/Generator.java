@@ -0,0 +1,21 @@
+package org.bpunit.utils;
+
+import java.util.Random;
+
+/**
+ * A function generating random values of a specific type.
+ *
+ * @param <T>
+ *            The type of the generated values.
+ * @see GeneratorRegistry
+ */
+@FunctionalInterface
+public interface Generator<T> {
+    /**
+     * Generates a random value.
+     *
+     * @param random
+     *            The source of randomness to generate the value with.
+     */
+    T generate(Random random);
+}
@@ -0,0 +1,341 @@
+package org.bpunit.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A registry mapping types to the {@link Generator}s that generate random values of them.
+ *
+ * Generators can be registered either for a specific class, or for all the classes matching a predicate (e.g., all
+ * enums). Lookups are resolved once per class and then cached in a {@link ClassValue}, so after the first lookup of a
+ * type, finding its generator is a constant-time table hit.
+ * Primitive types and their boxing classes are treated as the same type.
+ *
+ * A registry may have a parent registry, which is consulted for types the registry itself has no generator for.
+ */
+public class GeneratorRegistry {
+
+    /* --- Constants --- */
+
+    /** The prefix of the name of a {@link Random} method that generates a value of a type. */
+    private static final String RANDOM_PREFIX = "next";
+
+    /** Hack to map between primitive types and boxing classes */
+    private static final Map<Class<?>, Class<?>> primitiveToBoxing = new HashMap<>();
+    static {
+        primitiveToBoxing.put(Boolean.TYPE, Boolean.class);
+        primitiveToBoxing.put(Byte.TYPE, Byte.class);
+        primitiveToBoxing.put(Character.TYPE, Character.class);
+        primitiveToBoxing.put(Short.TYPE, Short.class);
+        primitiveToBoxing.put(Integer.TYPE, Integer.class);
+        primitiveToBoxing.put(Long.TYPE, Long.class);
+        primitiveToBoxing.put(Float.TYPE, Float.class);
+        primitiveToBoxing.put(Double.TYPE, Double.class);
+    }
+
+    private static final Map<Class<?>, Class<?>> boxingToPrimitive = new HashMap<>();
+    static {
+        for (Map.Entry<Class<?>, Class<?>> entry : primitiveToBoxing.entrySet()) {
+            boxingToPrimitive.put(entry.getValue(), entry.getKey());
+        }
+    }
+
+    /** The number of bits of the random {@link BigInteger}s and {@link BigDecimal}s the default generators create. */
+    private static final int BIG_NUMBER_BITS = 128;
+
+    /** The largest scale of the random {@link BigDecimal}s the default generators create. */
+    private static final int MAX_BIG_DECIMAL_SCALE = 20;
+
+    /** The range of the random dates the default generators create, years 1 to 9999. */
+    private static final long MIN_EPOCH_DAY = LocalDate.of(1, 1, 1).toEpochDay();
+    private static final long MAX_EPOCH_DAY = LocalDate.of(9999, 12, 31).toEpochDay();
+
+    /** The number of nanoseconds in a day. */
+    private static final long NANOS_PER_DAY = Duration.ofDays(1).toNanos();
+
+    /**
+     * A cache of the generators found by their name on each {@link Random} class.
+     * See {@link #reflective(Class, Class)}.
+     */
+    private static final ClassValue<ConcurrentMap<Class<?>, Generator<?>>> REFLECTIVE_GENERATORS =
+            new ClassValue<ConcurrentMap<Class<?>, Generator<?>>>() {
+                @Override
+                protected ConcurrentMap<Class<?>, Generator<?>> computeValue(Class<?> randomClass) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /** A placeholder for "no generator", since {@link ConcurrentMap}s cannot hold {@code null}s. */
+    private static final Generator<?> NO_GENERATOR = random -> null;
+
+    /* --- Class Fields --- */
+
+    /** The registry to consult for types this registry has no generator for, or {@code null}. */
+    private final GeneratorRegistry parent;
+
+    /** The generators registered for specific classes. */
+    private final Map<Class<?>, Generator<?>> generators = new ConcurrentHashMap<>();
+
+    /** The generator factories registered for the classes matching a predicate, by the order of registration. */
+    private final List<Map.Entry<Predicate<? super Class<?>>, Function<? super Class<?>, ? extends Generator<?>>>>
+            factories = new CopyOnWriteArrayList<>();
+
+    /** The resolved generator of each class, replaced whenever a generator is registered. */
+    private volatile ClassValue<Generator<?>> cache = newCache();
+
+    /* --- Constructors --- */
+
+    /**
+     * Creates an empty registry.
+     */
+    public GeneratorRegistry() {
+        this(null);
+    }
+
+    /**
+     * Creates an empty registry that falls back to the given parent registry.
+     */
+    public GeneratorRegistry(GeneratorRegistry parent) {
+        this.parent = parent;
+    }
+
+    /* --- Registration Methods --- */
+
+    /**
+     * Registers a generator for the given type. A generator registered for a specific type takes precedence over
+     * any generator registered with a predicate.
+     *
+     * @return This registry.
+     */
+    public <T> GeneratorRegistry register(Class<T> type, Generator<? extends T> generator) {
+        generators.put(box(type), generator);
+        cache = newCache();
+        return this;
+    }
+
+    /**
+     * Registers a generator factory for all the types matching the given predicate. If several predicates match a
+     * type, the first one to be registered is used.
+     *
+     * @param matcher
+     *            The predicate deciding whether the factory can generate values of a type.
+     * @param factory
+     *            A function creating a generator for a type that matches the predicate. It is called once per type.
+     * @return This registry.
+     */
+    public GeneratorRegistry register(Predicate<? super Class<?>> matcher,
+                                      Function<? super Class<?>, ? extends Generator<?>> factory) {
+        factories.add(new AbstractMap.SimpleImmutableEntry<>(matcher, factory));
+        cache = newCache();
+        return this;
+    }
+
+    /* --- Lookup Methods --- */
+
+    /**
+     * Finds the generator for the given type.
+     *
+     * @return The generator, or {@code null} if neither this registry nor its parent has one.
+     */
+    public <T> Generator<T> lookup(Class<T> type) {
+        Generator<?> generator = cache.get(type);
+        if (generator == null && parent != null) {
+            return parent.lookup(type);
+        }
+        // noinspection unchecked
+        return (Generator<T>) generator;
+    }
+
+    /**
+     * Resolves the generator for a type from this registry's own generators, without consulting the parent.
+     */
+    private Generator<?> resolve(Class<?> type) {
+        Generator<?> generator = generators.get(box(type));
+        if (generator != null) {
+            return generator;
+        }
+
+        for (Map.Entry<Predicate<? super Class<?>>, Function<? super Class<?>, ? extends Generator<?>>> factory
+                : factories) {
+            if (factory.getKey().test(type)) {
+                return factory.getValue().apply(type);
+            }
+        }
+        return null;
+    }
+
+    private ClassValue<Generator<?>> newCache() {
+        return new ClassValue<Generator<?>>() {
+            @Override
+            protected Generator<?> computeValue(Class<?> type) {
+                return resolve(type);
+            }
+        };
+    }
+
+    /* --- Static Lookup Methods --- */
+
+    /**
+     * Finds the generator for the given type to be used with the given {@link Random}. For a {@link SeedableRandom},
+     * see {@link SeedableRandom#getGenerator(Class)}. For any other {@link Random}, a {@code nextXYZ()} method (see
+     * {@link #reflective(Class, Class)}) is used, and if there is none, the {@link #defaults()}.
+     *
+     * @return The generator, or {@code null} if there is none.
+     */
+    public static <T> Generator<T> resolve(Random random, Class<T> type) {
+        if (random instanceof SeedableRandom) {
+            return ((SeedableRandom) random).getGenerator(type);
+        }
+
+        Generator<T> generator = reflective(random.getClass(), type);
+        return generator != null ? generator : defaults().lookup(type);
+    }
+
+    /**
+     * Finds a generator for the given type which calls a public method of the given {@link Random} class that takes
+     * no arguments, returns the type and is named {@code nextXYZ} after the type (e.g., {@code nextString} for
+     * {@link String}, or {@code nextInt} for both {@code int} and {@link Integer}).
+     * The methods are looked up once per {@link Random} class and type, and then cached.
+     *
+     * @return The generator, or {@code null} if there is no such method. The generator throws an
+     *         {@link IllegalStateException} if the method cannot be invoked or throws an exception.
+     */
+    public static <T> Generator<T> reflective(Class<? extends Random> randomClass, Class<T> type) {
+        Generator<?> generator = REFLECTIVE_GENERATORS.get(randomClass)
+                .computeIfAbsent(type, t -> findRandomMethod(randomClass, t));
+        // noinspection unchecked
+        return generator == NO_GENERATOR ? null : (Generator<T>) generator;
+    }
+
+    private static Generator<?> findRandomMethod(Class<? extends Random> randomClass, Class<?> type) {
+        Class<?> typeToGenerate = boxingToPrimitive.getOrDefault(type, type);
+        String typeName = typeToGenerate.getSimpleName();
+        if (typeToGenerate.isPrimitive()) {
+            typeName = capitalizeFirst(typeName);
+        }
+        String randomMethodName = RANDOM_PREFIX + typeName;
+        Method randomMethod;
+        try {
+            randomMethod = randomClass.getMethod(randomMethodName);
+        } catch (NoSuchMethodException e) {
+            return NO_GENERATOR;
+        }
+
+        Class<?> returnType = randomMethod.getReturnType();
+        if (!returnType.equals(typeToGenerate) && !typeToGenerate.equals(primitiveToBoxing.get(returnType))) {
+            return NO_GENERATOR;
+        }
+
+        String description = randomClass.getSimpleName() + "." + randomMethodName;
+        return random -> {
+            try {
+                return randomMethod.invoke(random);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Can't execute random method: " + description, e);
+            }
+        };
+    }
+
+    /**
+     * Transforms a string to title case.
+     *
+     * @param s
+     *            The string to transform.
+     * @return The transformed string.
+     */
+    private static String capitalizeFirst(String s) {
+        return String.valueOf(Character.toTitleCase(s.charAt(0))) + s.substring(1);
+    }
+
+    private static Class<?> box(Class<?> type) {
+        return primitiveToBoxing.getOrDefault(type, type);
+    }
+
+    /* --- Default Generators --- */
+
+    /**
+     * Returns the registry of the generators BPUnit provides out of the box, for enums, {@link BigInteger},
+     * {@link BigDecimal} and the common {@code java.time} types.
+     * These are used as a last resort, so they can be overridden by registering a generator or by a
+     * {@code nextXYZ()} method of the {@link Random} in use.
+     */
+    public static GeneratorRegistry defaults() {
+        return Defaults.REGISTRY;
+    }
+
+    /** Holder for the default generators, initialized on first use. */
+    private static class Defaults {
+        private static final GeneratorRegistry REGISTRY = new GeneratorRegistry()
+                .register(Class::isEnum, Defaults::enumGenerator)
+                .register(BigInteger.class, Defaults::nextBigInteger)
+                .register(BigDecimal.class,
+                        random -> new BigDecimal(nextBigInteger(random), random.nextInt(MAX_BIG_DECIMAL_SCALE + 1)))
+                .register(LocalDate.class, Defaults::nextLocalDate)
+                .register(LocalTime.class, Defaults::nextLocalTime)
+                .register(LocalDateTime.class, random -> LocalDateTime.of(nextLocalDate(random), nextLocalTime(random)))
+                .register(ZoneOffset.class, Defaults::nextZoneOffset)
+                .register(OffsetDateTime.class, random -> OffsetDateTime.of(
+                        nextLocalDate(random), nextLocalTime(random), nextZoneOffset(random)))
+                .register(ZonedDateTime.class, random -> ZonedDateTime.of(
+                        nextLocalDate(random), nextLocalTime(random), nextZoneOffset(random)))
+                .register(Instant.class, random -> Instant.ofEpochSecond(
+                        nextLong(random, MIN_EPOCH_DAY, MAX_EPOCH_DAY) * Duration.ofDays(1).getSeconds(),
+                        nextLong(random, 0, NANOS_PER_DAY - 1)))
+                .register(Duration.class, random -> Duration.ofNanos(random.nextLong()))
+                .register(Period.class, random -> Period.of(random.nextInt(), random.nextInt(), random.nextInt()))
+                .register(Year.class, random -> Year.of(nextLocalDate(random).getYear()))
+                .register(YearMonth.class, random -> YearMonth.from(nextLocalDate(random)));
+
+        private static Generator<?> enumGenerator(Class<?> enumClass) {
+            Object[] constants = enumClass.getEnumConstants();
+            return random -> constants[random.nextInt(constants.length)];
+        }
+
+        private static BigInteger nextBigInteger(Random random) {
+            BigInteger value = new BigInteger(BIG_NUMBER_BITS, random);
+            return random.nextBoolean() ? value : value.negate();
+        }
+
+        private static LocalDate nextLocalDate(Random random) {
+            return LocalDate.ofEpochDay(nextLong(random, MIN_EPOCH_DAY, MAX_EPOCH_DAY));
+        }
+
+        private static LocalTime nextLocalTime(Random random) {
+            return LocalTime.ofNanoOfDay(nextLong(random, 0, NANOS_PER_DAY - 1));
+        }
+
+        private static ZoneOffset nextZoneOffset(Random random) {
+            return ZoneOffset.ofTotalSeconds(random.nextInt(2 * 18 * 60 * 60 + 1) - 18 * 60 * 60);
+        }
+
+        /**
+         * Randomize a {@code long} value in the given range [min, max], with any {@link Random}.
+         */
+        private static long nextLong(Random random, long min, long max) {
+            return min + Math.floorMod(random.nextLong(), max - min + 1);
+        }
+    }
+}
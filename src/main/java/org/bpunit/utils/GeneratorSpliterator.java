@@ -0,0 +1,112 @@
+package org.bpunit.utils;
+
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} generating the elements of {@link SeedableRandom#stream(Class, long)} and
+ * {@link SeedableRandom#reusingStream(Class, long)} on demand.
+ *
+ * Each element is generated after reseeding the spliterator's own generator from the stream's seed and the element's
+ * index, so the elements do not depend on how the stream was split, and parallel streams are reproducible.
+ *
+ * @param <T>
+ *            The type of the generated elements.
+ */
+class GeneratorSpliterator<T> implements Spliterator<T> {
+
+    /** The generator the stream was created from, used to create a generator for each spliterator. */
+    private final SeedableRandom parent;
+
+    /** The seed the elements are derived from. */
+    private final long streamSeed;
+
+    /**
+     * Generates an element with the given generator, given the previous element this spliterator generated (or
+     * {@code null}), so it can be reused.
+     */
+    private final BiFunction<SeedableRandom, T, T> factory;
+
+    /** Whether the factory reuses the previous element, which is only kept if it does. */
+    private final boolean reusing;
+
+    /** The index of the next element. */
+    private long index;
+
+    /** The index after the last element. */
+    private final long fence;
+
+    /** This spliterator's generator, created on first use. */
+    private SeedableRandom random;
+
+    /** The last element generated if the factory reuses it, or {@code null}. */
+    private T previous;
+
+    GeneratorSpliterator(SeedableRandom parent,
+                         long streamSeed,
+                         BiFunction<SeedableRandom, T, T> factory,
+                         boolean reusing,
+                         long index,
+                         long fence) {
+        this.parent = parent;
+        this.streamSeed = streamSeed;
+        this.factory = factory;
+        this.reusing = reusing;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(generate(index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        long i = index;
+        long f = fence;
+        index = f;
+        for (; i < f; ++i) {
+            action.accept(generate(i));
+        }
+    }
+
+    private T generate(long elementIndex) {
+        if (random == null) {
+            random = parent.split(elementIndex);
+        }
+        random.reseed(SeedableRandom.deriveSeed(streamSeed, elementIndex));
+        T element = factory.apply(random, previous);
+        if (reusing) {
+            previous = element;
+        }
+        return element;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        long mid = index + (fence - index) / 2;
+        if (mid <= index) {
+            return null;
+        }
+        Spliterator<T> prefix = new GeneratorSpliterator<>(parent, streamSeed, factory, reusing, index, mid);
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        // Not IMMUTABLE, since a reusing stream's elements are modified as it advances
+        return ORDERED | SIZED | SUBSIZED;
+    }
+}
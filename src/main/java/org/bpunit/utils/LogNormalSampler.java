@@ -0,0 +1,28 @@
+package org.bpunit.utils;
+
+import java.util.Random;
+
+/**
+ * A reusable sampler of a log-normal distribution, i.e., of values whose logarithm is normally distributed.
+ */
+public class LogNormalSampler {
+
+    private final NormalSampler normal;
+
+    /**
+     * @param mu
+     *            The mean of the values' logarithm.
+     * @param sigma
+     *            The non-negative standard deviation of the values' logarithm.
+     */
+    public LogNormalSampler(double mu, double sigma) {
+        normal = new NormalSampler(mu, sigma);
+    }
+
+    /**
+     * Samples a value from the distribution.
+     */
+    public double sample(Random random) {
+        return Math.exp(normal.sample(random));
+    }
+}
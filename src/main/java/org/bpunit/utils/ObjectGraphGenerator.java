@@ -0,0 +1,527 @@
+package org.bpunit.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.function.IntFunction;
+
+/**
+ * A generator of random object graphs.
+ *
+ * Values of types that have a {@link Generator} (see {@link #withGenerators(GeneratorRegistry)} and
+ * {@link GeneratorRegistry#resolve(Random, Class)}) are generated by it. Otherwise:
+ * <ul>
+ *     <li>Arrays, {@link Collection}s and {@link Map}s are created with a random size up to
+ *     {@link #withMaxCollectionSize(int)}, and filled with elements of the types their generic declaration specifies
+ *     (e.g., {@code List<Foo>} is filled with {@code Foo}s). Elements, keys and values that cannot be generated are
+ *     left out, and sorted containers of elements (or keys) that are not {@link Comparable} are left empty.</li>
+ *     <li>Any other class with a public argument-less constructor is instantiated, and all of its public setters are
+ *     called with recursively generated values. The JDK's own classes ({@code java.*} and {@code javax.*}) are not
+ *     POJOs, and can only be generated by a {@link Generator}.</li>
+ * </ul>
+ *
+ * The graph is limited to {@link #withMaxDepth(int)} levels of nested objects, and a class can only appear
+ * {@link #withMaxRecursion(int)} times on the path from the root to any object, so cyclic types (e.g., a node with a
+ * reference to the next node) end with {@code null}s. Values that cannot be generated are {@code null} as well.
+ *
+ * The reflective work of finding how to construct and populate a class is done once per class, and cached.
+ */
+public class ObjectGraphGenerator {
+
+    /* --- Constants --- */
+
+    /** The default for {@link #withMaxDepth(int)}. */
+    public static final int DEFAULT_MAX_DEPTH = 4;
+
+    /** The default for {@link #withMaxCollectionSize(int)}. */
+    public static final int DEFAULT_MAX_COLLECTION_SIZE = 8;
+
+    /** The default for {@link #withMaxRecursion(int)}. */
+    public static final int DEFAULT_MAX_RECURSION = 1;
+
+    private static final String SET_PREFIX = "set";
+
+    /** The plan for populating each class, or {@code null} if it cannot be instantiated. */
+    private static final ClassValue<BeanPlan> BEAN_PLANS = new ClassValue<BeanPlan>() {
+        @Override
+        protected BeanPlan computeValue(Class<?> type) {
+            return BeanPlan.of(type);
+        }
+    };
+
+    /** How to create a pre-sized instance of each collection or map class, or {@code null} if it cannot be. */
+    private static final ClassValue<IntFunction<Object>> CONTAINER_FACTORIES = new ClassValue<IntFunction<Object>>() {
+        @Override
+        protected IntFunction<Object> computeValue(Class<?> type) {
+            return containerFactory(type);
+        }
+    };
+
+    /* --- Class Fields --- */
+
+    private int maxDepth = DEFAULT_MAX_DEPTH;
+    private int maxCollectionSize = DEFAULT_MAX_COLLECTION_SIZE;
+    private int maxRecursion = DEFAULT_MAX_RECURSION;
+    private GeneratorRegistry generators = new GeneratorRegistry();
+
+    /* --- Settings --- */
+
+    /**
+     * Sets the maximal number of nested objects, collections, maps and arrays between the root and a generated
+     * value. Deeper objects are {@code null}, and deeper collections, maps and arrays are empty.
+     *
+     * @return This generator.
+     */
+    public ObjectGraphGenerator withMaxDepth(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must not be negative");
+        }
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    /**
+     * Sets the maximal number of elements in generated collections, maps and arrays.
+     *
+     * @return This generator.
+     */
+    public ObjectGraphGenerator withMaxCollectionSize(int maxCollectionSize) {
+        if (maxCollectionSize < 0) {
+            throw new IllegalArgumentException("maxCollectionSize must not be negative");
+        }
+        this.maxCollectionSize = maxCollectionSize;
+        return this;
+    }
+
+    /**
+     * Sets the maximal number of times a class can appear on the path from the root to a generated object.
+     *
+     * @return This generator.
+     */
+    public ObjectGraphGenerator withMaxRecursion(int maxRecursion) {
+        if (maxRecursion < 1) {
+            throw new IllegalArgumentException("maxRecursion must be positive");
+        }
+        this.maxRecursion = maxRecursion;
+        return this;
+    }
+
+    /**
+     * Sets the {@link Generator}s to use before resorting to the ones the {@link Random} provides.
+     *
+     * @return This generator.
+     */
+    public ObjectGraphGenerator withGenerators(GeneratorRegistry generators) {
+        this.generators = generators;
+        return this;
+    }
+
+    /* --- Generation Methods --- */
+
+    /**
+     * Generates a random object graph of the given class.
+     *
+     * @return The root of the graph, or {@code null} if it cannot be generated.
+     */
+    public <T> T generate(Class<T> type, Random random) {
+        // noinspection unchecked
+        return (T) generate((Type) type, random);
+    }
+
+    /**
+     * Generates a random object graph of the given type, which may be a parameterized type such as
+     * {@code List<Foo>} (e.g., obtained from {@link Method#getGenericParameterTypes()}).
+     *
+     * @return The root of the graph, or {@code null} if it cannot be generated.
+     */
+    public Object generate(Type type, Random random) {
+        return new Context(random).generate(type, 0);
+    }
+
+    /**
+     * Populates all the public setters of an existing object with random values.
+     *
+     * @return The given object.
+     */
+    public <T> T populate(T object, Random random) {
+        BeanPlan plan = BEAN_PLANS.get(object.getClass());
+        if (plan != null) {
+            Context context = new Context(random);
+            context.enter(object.getClass());
+            context.populate(plan, object, 0);
+        }
+        return object;
+    }
+
+    /**
+     * Returns whether the given class is a POJO this generator can instantiate and populate.
+     */
+    boolean canPopulate(Class<?> type) {
+        return BEAN_PLANS.get(type) != null;
+    }
+
+    /**
+     * Returns a {@link Generator} generating object graphs of the given class, e.g., to register with a
+     * {@link GeneratorRegistry}.
+     */
+    public <T> Generator<T> generatorFor(Class<T> type) {
+        // Skip the generators, since the returned one may well be registered as the generator of the type
+        // noinspection unchecked
+        return random -> (T) new Context(random).generateStructure(type, null, 0);
+    }
+
+    /* --- Generation State --- */
+
+    /** The state of generating a single graph. */
+    private class Context {
+        private final Random random;
+
+        /** The number of times each class appears on the path from the root to the current object. */
+        private final Map<Class<?>, Integer> path = new IdentityHashMap<>();
+
+        private Context(Random random) {
+            this.random = random;
+        }
+
+        private Object generate(Type type, int depth) {
+            if (type instanceof Class) {
+                return generateClass((Class<?>) type, null, depth);
+            }
+            if (type instanceof ParameterizedType) {
+                ParameterizedType parameterized = (ParameterizedType) type;
+                return generateClass((Class<?>) parameterized.getRawType(), parameterized.getActualTypeArguments(),
+                        depth);
+            }
+            if (type instanceof GenericArrayType) {
+                return generateArray(((GenericArrayType) type).getGenericComponentType(), depth);
+            }
+            if (type instanceof WildcardType) {
+                return generate(((WildcardType) type).getUpperBounds()[0], depth);
+            }
+            if (type instanceof TypeVariable) {
+                return generate(((TypeVariable<?>) type).getBounds()[0], depth);
+            }
+            return null;
+        }
+
+        private Object generateClass(Class<?> type, Type[] typeArguments, int depth) {
+            Generator<?> generator = generators.lookup(type);
+            if (generator == null) {
+                generator = GeneratorRegistry.resolve(random, type);
+            }
+            if (generator != null) {
+                return generator.generate(random);
+            }
+            return generateStructure(type, typeArguments, depth);
+        }
+
+        private Object generateStructure(Class<?> type, Type[] typeArguments, int depth) {
+            if (type == Object.class || type.isPrimitive()) {
+                return null;
+            }
+            if (type.isArray()) {
+                return generateArray(type.getComponentType(), depth);
+            }
+            if (Collection.class.isAssignableFrom(type)) {
+                return generateCollection(type, typeArgument(typeArguments, 0), depth);
+            }
+            if (Map.class.isAssignableFrom(type)) {
+                return generateMap(type, typeArgument(typeArguments, 0), typeArgument(typeArguments, 1), depth);
+            }
+            return generateBean(type, depth);
+        }
+
+        private Object generateArray(Type componentType, int depth) {
+            Class<?> componentClass = rawClass(componentType);
+            int size = nextSize(depth);
+            Object array = Array.newInstance(componentClass, size);
+            for (int i = 0; i < size; ++i) {
+                Object element = generate(componentType, depth + 1);
+                if (element != null) {
+                    Array.set(array, i, element);
+                }
+            }
+            return array;
+        }
+
+        private Object generateCollection(Class<?> type, Type elementType, int depth) {
+            IntFunction<Object> factory = CONTAINER_FACTORIES.get(type);
+            if (factory == null) {
+                return null;
+            }
+            int size = canHold(type, elementType) ? nextSize(depth) : 0;
+            // noinspection unchecked
+            Collection<Object> collection = (Collection<Object>) factory.apply(size);
+            for (int i = 0; i < size; ++i) {
+                Object element = generate(elementType, depth + 1);
+                if (element != null) {
+                    collection.add(element);
+                }
+            }
+            return collection;
+        }
+
+        private Object generateMap(Class<?> type, Type keyType, Type valueType, int depth) {
+            IntFunction<Object> factory = CONTAINER_FACTORIES.get(type);
+            if (factory == null) {
+                return null;
+            }
+            int size = canHold(type, keyType) ? nextSize(depth) : 0;
+            // noinspection unchecked
+            Map<Object, Object> map = (Map<Object, Object>) factory.apply(size);
+            for (int i = 0; i < size; ++i) {
+                Object key = generate(keyType, depth + 1);
+                Object value = generate(valueType, depth + 1);
+                if (key != null && value != null) {
+                    map.put(key, value);
+                }
+            }
+            return map;
+        }
+
+        private Object generateBean(Class<?> type, int depth) {
+            BeanPlan plan = BEAN_PLANS.get(type);
+            if (plan == null || depth >= maxDepth || path.getOrDefault(type, 0) >= maxRecursion) {
+                return null;
+            }
+
+            enter(type);
+            try {
+                return populate(plan, plan.newInstance(), depth);
+            } finally {
+                exit(type);
+            }
+        }
+
+        private Object populate(BeanPlan plan, Object bean, int depth) {
+            for (int i = 0; i < plan.setters.length; ++i) {
+                Object value = generate(plan.propertyTypes[i], depth + 1);
+                if (value != null) {
+                    plan.set(i, bean, value);
+                }
+            }
+            return bean;
+        }
+
+        private void enter(Class<?> type) {
+            path.merge(type, 1, Integer::sum);
+        }
+
+        private void exit(Class<?> type) {
+            path.merge(type, -1, Integer::sum);
+        }
+
+        /**
+         * Randomizes the size of a collection, map or array at the given depth.
+         */
+        private int nextSize(int depth) {
+            return depth >= maxDepth ? 0 : random.nextInt(maxCollectionSize + 1);
+        }
+    }
+
+    /* --- Reflective Plans --- */
+
+    /** How to instantiate a class and populate its properties, resolved once per class. */
+    private static class BeanPlan {
+        /** The (generic) types of the properties. */
+        private final Type[] propertyTypes;
+
+        /** The setters, adapted to the {@code (Object, Object)void} type. */
+        private final MethodHandle[] setters;
+
+        /** The constructor, adapted to the {@code ()Object} type. */
+        private final MethodHandle constructor;
+
+        private BeanPlan(MethodHandle constructor, Type[] propertyTypes, MethodHandle[] setters) {
+            this.constructor = constructor;
+            this.propertyTypes = propertyTypes;
+            this.setters = setters;
+        }
+
+        /**
+         * Creates the plan for a class, or returns {@code null} if it cannot be instantiated.
+         */
+        private static BeanPlan of(Class<?> type) {
+            if (type.isInterface() || Modifier.isAbstract(type.getModifiers()) ||
+                    !Modifier.isPublic(type.getModifiers()) || isJdkClass(type)) {
+                return null;
+            }
+
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            MethodHandle constructor;
+            try {
+                Constructor<?> noArgs = type.getConstructor();
+                constructor = lookup.unreflectConstructor(noArgs).asType(MethodType.methodType(Object.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                return null;
+            }
+
+            List<Type> propertyTypes = new ArrayList<>();
+            List<MethodHandle> setters = new ArrayList<>();
+            // Setters are adapted to a common type, dropping whatever fluent setters return
+            MethodType setterType = MethodType.methodType(void.class, Object.class, Object.class);
+            for (Method method : type.getMethods()) {
+                if (!method.getName().startsWith(SET_PREFIX) || method.getParameterCount() != 1 ||
+                        Modifier.isStatic(method.getModifiers()) || method.isBridge()) {
+                    continue;
+                }
+                try {
+                    setters.add(lookup.unreflect(method).asType(setterType));
+                } catch (IllegalAccessException e) {
+                    continue;
+                }
+                propertyTypes.add(method.getGenericParameterTypes()[0]);
+            }
+
+            return new BeanPlan(constructor, propertyTypes.toArray(new Type[0]), setters.toArray(new MethodHandle[0]));
+        }
+
+        private Object newInstance() {
+            try {
+                return (Object) constructor.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Can't instantiate " + constructor.type(), t);
+            }
+        }
+
+        private void set(int index, Object bean, Object value) {
+            try {
+                setters[index].invokeExact(bean, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Can't set a property of " + bean.getClass(), t);
+            }
+        }
+    }
+
+    private static boolean isJdkClass(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.");
+    }
+
+    /**
+     * Finds how to create a pre-sized instance of a collection or map class.
+     */
+    private static IntFunction<Object> containerFactory(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            if (type.isAssignableFrom(ArrayList.class)) {
+                return ArrayList::new;
+            }
+            if (type.isAssignableFrom(LinkedHashSet.class)) {
+                return size -> new LinkedHashSet<>(hashCapacity(size));
+            }
+            if (type.isAssignableFrom(ArrayDeque.class)) {
+                return ArrayDeque::new;
+            }
+            if (type.isAssignableFrom(TreeSet.class)) {
+                return size -> new TreeSet<>();
+            }
+            if (type.isAssignableFrom(LinkedHashMap.class)) {
+                return size -> new LinkedHashMap<>(hashCapacity(size));
+            }
+            if (type.isAssignableFrom(TreeMap.class)) {
+                return size -> new TreeMap<>();
+            }
+            return null;
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        boolean hashed = Set.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type);
+        try {
+            MethodHandle sized = lookup.findConstructor(type, MethodType.methodType(void.class, int.class))
+                    .asType(MethodType.methodType(Object.class, int.class));
+            // Some containers (e.g., PriorityQueue or ArrayBlockingQueue) reject a capacity of 0
+            return size -> invokeContainerFactory(sized, hashed ? hashCapacity(size) : Math.max(1, size));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // Fall back to the argument-less constructor
+        }
+        try {
+            MethodHandle unsized = MethodHandles.dropArguments(
+                    lookup.findConstructor(type, MethodType.methodType(void.class))
+                            .asType(MethodType.methodType(Object.class)),
+                    0, int.class);
+            return size -> invokeContainerFactory(unsized, size);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static Object invokeContainerFactory(MethodHandle factory, int size) {
+        try {
+            return (Object) factory.invokeExact(size);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Can't instantiate " + factory.type(), t);
+        }
+    }
+
+    /**
+     * Returns the initial capacity of a hash-based container that holds the given number of elements without
+     * rehashing.
+     */
+    private static int hashCapacity(int size) {
+        return size * 4 / 3 + 1;
+    }
+
+    /**
+     * Returns whether elements of a type can be added to a container class, which containers that sort their elements
+     * (or keys) only can if the type is {@link Comparable}.
+     */
+    private static boolean canHold(Class<?> type, Type elementType) {
+        boolean sorted = SortedSet.class.isAssignableFrom(type) || SortedMap.class.isAssignableFrom(type)
+                || PriorityQueue.class.isAssignableFrom(type) || PriorityBlockingQueue.class.isAssignableFrom(type);
+        return !sorted || Comparable.class.isAssignableFrom(rawClass(elementType));
+    }
+
+    private static Type typeArgument(Type[] typeArguments, int index) {
+        return typeArguments != null && index < typeArguments.length ? typeArguments[index] : Object.class;
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            return Array.newInstance(rawClass(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        if (type instanceof WildcardType) {
+            return rawClass(((WildcardType) type).getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable) {
+            return rawClass(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        return Object.class;
+    }
+}
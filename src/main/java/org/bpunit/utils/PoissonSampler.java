@@ -0,0 +1,105 @@
+package org.bpunit.utils;
+
+import java.util.Random;
+
+/**
+ * A reusable sampler of a Poisson distribution.
+ *
+ * Small means are sampled by multiplying uniform values (Knuth's method), which takes time linear in the mean. Larger
+ * means are sampled in constant expected time with H&ouml;rmann's transformed rejection with squeeze (PTRS).
+ *
+ * @see <a href="https://doi.org/10.1016/0167-6687(93)90997-4">H&ouml;rmann, The transformed rejection method for
+ *      generating Poisson random variables</a>
+ */
+public class PoissonSampler {
+
+    /** The mean from which PTRS is used, as it is faster and its approximations are accurate enough. */
+    private static final double PTRS_THRESHOLD = 10.0;
+
+    /** The number of precomputed log-factorials. */
+    private static final int LOG_FACTORIALS = 256;
+    private static final double[] LOG_FACTORIAL = new double[LOG_FACTORIALS];
+    static {
+        for (int k = 2; k < LOG_FACTORIALS; ++k) {
+            LOG_FACTORIAL[k] = LOG_FACTORIAL[k - 1] + Math.log(k);
+        }
+    }
+
+    private static final double HALF_LOG_2_PI = 0.5 * Math.log(2.0 * Math.PI);
+
+    private final double mean;
+
+    // Precomputed constants: e^-mean for Knuth's method, and the PTRS parameters
+    private final double expMinusMean;
+    private final double logMean;
+    private final double a;
+    private final double b;
+    private final double logInverseAlpha;
+    private final double vr;
+
+    /**
+     * @param mean
+     *            The positive mean of the distribution.
+     */
+    public PoissonSampler(double mean) {
+        if (!(mean > 0.0) || mean > Long.MAX_VALUE / 2.0) {
+            throw new IllegalArgumentException("mean must be positive and less than Long.MAX_VALUE / 2, got " + mean);
+        }
+        this.mean = mean;
+        this.expMinusMean = Math.exp(-mean);
+        this.logMean = Math.log(mean);
+        this.b = 0.931 + 2.53 * Math.sqrt(mean);
+        this.a = -0.059 + 0.02483 * b;
+        this.logInverseAlpha = Math.log(1.1239 + 1.1328 / (b - 3.4));
+        this.vr = 0.9277 - 3.6224 / (b - 2.0);
+    }
+
+    /**
+     * Samples a value from the distribution.
+     */
+    public long sample(Random random) {
+        return mean < PTRS_THRESHOLD ? sampleKnuth(random) : samplePtrs(random);
+    }
+
+    private long sampleKnuth(Random random) {
+        long k = 0L;
+        double product = Ziggurat.nextOpenDouble(random);
+        while (product > expMinusMean) {
+            ++k;
+            product *= Ziggurat.nextOpenDouble(random);
+        }
+        return k;
+    }
+
+    private long samplePtrs(Random random) {
+        while (true) {
+            double u = random.nextDouble() - 0.5;
+            double v = Ziggurat.nextOpenDouble(random);
+            double us = 0.5 - Math.abs(u);
+            long k = (long) Math.floor((2.0 * a / us + b) * u + mean + 0.43);
+            if (us >= 0.07 && v <= vr) {
+                return k;
+            }
+            if (k < 0L || (us < 0.013 && v > us)) {
+                continue;
+            }
+            if (Math.log(v) + logInverseAlpha - Math.log(a / (us * us) + b) <= -mean + k * logMean - logFactorial(k)) {
+                return k;
+            }
+        }
+    }
+
+    /**
+     * Computes log(k!), from a table for small values and by Stirling's series for large ones.
+     */
+    private static double logFactorial(long k) {
+        if (k < LOG_FACTORIALS) {
+            return LOG_FACTORIAL[(int) k];
+        }
+        double x = k + 1.0;
+        double inverse = 1.0 / x;
+        double inverseSquare = inverse * inverse;
+        return (x - 0.5) * Math.log(x) - x + HALF_LOG_2_PI
+                + inverse * (1.0 / 12.0 - inverseSquare * (1.0 / 360.0 - inverseSquare / 1260.0));
+    }
+}
@@ -0,0 +1,127 @@
+package org.bpunit.utils;
+
+import java.util.stream.LongStream;
+import org.bpunit.utils.cores.SplitMix64Core;
+
+/**
+ * A seeded random permutation of the range [0, size), which maps each index to a distinct value in constant time and
+ * memory.
+ *
+ * The permutation is a balanced Feistel network over the smallest power of 4 that is at least {@code size}, and
+ * values outside the range are "cycle walked" by permuting them again until they fall in the range. Since the
+ * network's domain is less than 4 times the size of the range, this takes less than 4 rounds of the network on
+ * average.
+ *
+ * This allows generating huge sequences of unique values without remembering the ones already generated, and
+ * accessing any element of the sequence directly, e.g., to shard it.
+ *
+ * @see SeedableRandom#permutation(long)
+ */
+public final class RandomPermutation {
+
+    /** The number of rounds of the Feistel network. */
+    private static final int ROUNDS = 6;
+
+    private final long size;
+
+    /** The number of bits in each half of the network's input. */
+    private final int halfBits;
+
+    private final long halfMask;
+
+    /** The key of each round. */
+    private final long[] keys = new long[ROUNDS];
+
+    /**
+     * @param size
+     *            The size of the permuted range.
+     * @param seed
+     *            The seed of the permutation.
+     */
+    public RandomPermutation(long size, long seed) {
+        if (size < 1L) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        this.size = size;
+        int bits = Long.SIZE - Long.numberOfLeadingZeros(size - 1L);
+        this.halfBits = Math.max(1, (bits + 1) / 2);
+        this.halfMask = (1L << halfBits) - 1L;
+        for (int i = 0; i < ROUNDS; ++i) {
+            keys[i] = SeedableRandom.deriveSeed(seed, i);
+        }
+    }
+
+    /**
+     * Returns the size of the permuted range.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the value the given index is mapped to. Distinct indexes are always mapped to distinct values.
+     *
+     * @throws IllegalArgumentException if the index is not in the range [0, size).
+     */
+    public long valueAt(long index) {
+        checkInRange(index);
+        long value = index;
+        do {
+            value = encrypt(value);
+        } while (value >= size || value < 0L);
+        return value;
+    }
+
+    /**
+     * Returns the index that is mapped to the given value, i.e., the inverse of {@link #valueAt(long)}.
+     *
+     * @throws IllegalArgumentException if the value is not in the range [0, size).
+     */
+    public long indexOf(long value) {
+        checkInRange(value);
+        long index = value;
+        do {
+            index = decrypt(index);
+        } while (index >= size || index < 0L);
+        return index;
+    }
+
+    /**
+     * Returns a stream of all the permuted values, by their index.
+     */
+    public LongStream stream() {
+        return LongStream.range(0L, size).map(this::valueAt);
+    }
+
+    private void checkInRange(long n) {
+        if (n < 0L || n >= size) {
+            throw new IllegalArgumentException(n + " is not in the range [0, " + size + ")");
+        }
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (int i = 0; i < ROUNDS; ++i) {
+            long next = left ^ round(right, i);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private long decrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (int i = ROUNDS - 1; i >= 0; --i) {
+            long previous = right ^ round(left, i);
+            right = left;
+            left = previous;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private long round(long half, int round) {
+        return SplitMix64Core.mix64(half ^ keys[round]) & halfMask;
+    }
+}
@@ -0,0 +1,610 @@
+package org.bpunit.utils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link Generator} of strings matching a regular expression.
+ *
+ * The expression is compiled once into a tree of literals, {@link Alphabet}s, sequences, alternatives and repetitions,
+ * so generating a string is a single walk of the tree, without generating candidates and rejecting the ones that do
+ * not match. Compiled expressions are cached, up to {@link #MAX_CACHED} of them, so {@link #of(Pattern)} is cheap to
+ * call for every string.
+ *
+ * The supported syntax is the subset of {@link Pattern}'s syntax that describes the strings to generate:
+ * <ul>
+ * <li>literal characters, and the escapes {@code \t \n \r \f \e \a \0nn \xhh \}{@code uhhhh} and
+ * {@code \Q...\E};</li>
+ * <li>character classes, with ranges and negation (e.g., {@code [a-z0-9_]} or {@code [^,]}), {@code .}, the
+ * predefined classes {@code \d \D \w \W \s \S} and the POSIX classes {@code \p{Lower}}, {@code \p{Alnum}}, etc.;</li>
+ * <li>capturing and non-capturing groups, and alternatives;</li>
+ * <li>the quantifiers {@code ? * + {n} {n,} {n,m}}, whether greedy, reluctant or possessive.</li>
+ * </ul>
+ * The anchors {@code ^} and {@code $} match the whole generated string, so they are ignored. Negated classes,
+ * {@code .}, and the negated predefined classes pick from the printable ASCII characters, and unbounded quantifiers
+ * repeat at most {@link #MAX_UNBOUNDED_REPEAT} times more than their minimum. Back references, lookarounds,
+ * boundaries and class intersections cannot be generated, and are rejected.
+ *
+ * The alternatives of an alternation, the characters of a class and the number of repetitions of a quantifier are
+ * each picked uniformly.
+ */
+public final class RegexGenerator implements Generator<String> {
+
+    /** The maximum number of repetitions of {@code *}, {@code +} and {@code {n,}} beyond their minimum. */
+    public static final int MAX_UNBOUNDED_REPEAT = 8;
+
+    /** The characters {@code .} and negated classes pick from. */
+    private static final Alphabet ANY = Alphabet.PRINTABLE;
+
+    private static final String DIGITS = "0123456789";
+    private static final String WORD_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789_";
+    private static final String SPACES = " \t\n\u000B\f\r";
+
+    /** The characters of the supported {@code \p{...}} classes. */
+    private static final Map<String, String> POSIX_CLASSES = new HashMap<>();
+
+    static {
+        String lower = "abcdefghijklmnopqrstuvwxyz";
+        String upper = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+        String punct = "!\"#$%&'()*+,-./:;<=>?@[\\]^_`{|}~";
+        POSIX_CLASSES.put("Lower", lower);
+        POSIX_CLASSES.put("Upper", upper);
+        POSIX_CLASSES.put("ASCII", printable());
+        POSIX_CLASSES.put("Alpha", lower + upper);
+        POSIX_CLASSES.put("Digit", DIGITS);
+        POSIX_CLASSES.put("Alnum", lower + upper + DIGITS);
+        POSIX_CLASSES.put("Punct", punct);
+        POSIX_CLASSES.put("Graph", lower + upper + DIGITS + punct);
+        POSIX_CLASSES.put("Print", printable());
+        POSIX_CLASSES.put("Blank", " \t");
+        POSIX_CLASSES.put("XDigit", DIGITS + "abcdefABCDEF");
+        POSIX_CLASSES.put("Space", SPACES);
+    }
+
+    /** The maximum number of compiled expressions to cache. */
+    static final int MAX_CACHED = 1024;
+
+    /**
+     * The compiled expressions, by expression and by whether it is {@link Pattern#LITERAL}. The other flags are not
+     * part of the key, since they only let more strings match, and do not change the strings generated.
+     */
+    private static final ConcurrentMap<String, RegexGenerator> CACHE = new ConcurrentHashMap<>();
+
+    private final String regex;
+    private final Node root;
+
+    private RegexGenerator(String regex, Node root) {
+        this.regex = regex;
+        this.root = root;
+    }
+
+    /**
+     * Returns the generator of strings matching the given pattern, compiling it on first use.
+     *
+     * @throws IllegalArgumentException if the pattern uses a construct that cannot be generated, or the
+     *             {@link Pattern#COMMENTS} flag.
+     */
+    public static RegexGenerator of(Pattern pattern) {
+        int flags = pattern.flags();
+        if ((flags & Pattern.COMMENTS) != 0) {
+            throw new IllegalArgumentException("Can't generate strings for patterns with the COMMENTS flag");
+        }
+        String regex = pattern.pattern();
+        boolean literal = (flags & Pattern.LITERAL) != 0;
+        String key = (literal ? "L:" : ":") + regex;
+        RegexGenerator generator = CACHE.get(key);
+        if (generator == null) {
+            // Expressions built at runtime could grow the cache without bound, so it starts over once it is full
+            if (CACHE.size() >= MAX_CACHED) {
+                CACHE.clear();
+            }
+            generator = CACHE.computeIfAbsent(key,
+                    k -> new RegexGenerator(regex, literal ? new Literal(regex) : new Parser(regex).parse()));
+        }
+        return generator;
+    }
+
+    /**
+     * Returns the number of cached compiled expressions.
+     */
+    static int cachedCount() {
+        return CACHE.size();
+    }
+
+    /**
+     * Returns the generator of strings matching the given regular expression, compiling it on first use.
+     *
+     * @throws IllegalArgumentException if the expression is invalid, or uses a construct that cannot be generated.
+     */
+    public static RegexGenerator of(String regex) {
+        return of(Pattern.compile(regex));
+    }
+
+    /**
+     * Generates a string matching the expression.
+     */
+    @Override
+    public String generate(Random random) {
+        return append(new StringBuilder(), random).toString();
+    }
+
+    /**
+     * Appends a string matching the expression to the given {@link StringBuilder}.
+     *
+     * @return The given builder.
+     */
+    public StringBuilder append(StringBuilder builder, Random random) {
+        root.append(builder, random);
+        return builder;
+    }
+
+    @Override
+    public String toString() {
+        return "RegexGenerator[" + regex + "]";
+    }
+
+    private static String printable() {
+        StringBuilder builder = new StringBuilder();
+        for (char c = ' '; c <= '~'; ++c) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    /** A node of a compiled expression. */
+    private interface Node {
+        void append(StringBuilder builder, Random random);
+    }
+
+    private static final class Literal implements Node {
+        private final String text;
+
+        private Literal(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void append(StringBuilder builder, Random random) {
+            builder.append(text);
+        }
+    }
+
+    private static final class CharClass implements Node {
+        private final Alphabet alphabet;
+
+        private CharClass(Alphabet alphabet) {
+            this.alphabet = alphabet;
+        }
+
+        @Override
+        public void append(StringBuilder builder, Random random) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.size())));
+        }
+
+        /**
+         * Appends the given number of characters, several characters per random word when possible.
+         */
+        private void append(StringBuilder builder, Random random, int count) {
+            if (random instanceof SeedableRandom) {
+                ((SeedableRandom) random).appendString(builder, alphabet, count);
+            } else {
+                for (int i = 0; i < count; ++i) {
+                    append(builder, random);
+                }
+            }
+        }
+    }
+
+    private static final class Sequence implements Node {
+        private final Node[] nodes;
+
+        private Sequence(Node[] nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public void append(StringBuilder builder, Random random) {
+            for (Node node : nodes) {
+                node.append(builder, random);
+            }
+        }
+    }
+
+    private static final class Alternation implements Node {
+        private final Node[] alternatives;
+
+        private Alternation(Node[] alternatives) {
+            this.alternatives = alternatives;
+        }
+
+        @Override
+        public void append(StringBuilder builder, Random random) {
+            alternatives[random.nextInt(alternatives.length)].append(builder, random);
+        }
+    }
+
+    private static final class Repeat implements Node {
+        private final Node node;
+        private final int min;
+        private final int max;
+
+        private Repeat(Node node, int min, int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public void append(StringBuilder builder, Random random) {
+            int count = min == max ? min : min + random.nextInt(max - min + 1);
+            if (node instanceof CharClass) {
+                ((CharClass) node).append(builder, random, count);
+            } else {
+                for (int i = 0; i < count; ++i) {
+                    node.append(builder, random);
+                }
+            }
+        }
+    }
+
+    /** A recursive-descent parser of regular expressions. */
+    private static final class Parser {
+        private final String regex;
+        private int position;
+
+        private Parser(String regex) {
+            this.regex = regex;
+        }
+
+        private Node parse() {
+            Node node = parseAlternation();
+            if (position < regex.length()) {
+                throw error("Unmatched ')'");
+            }
+            return node;
+        }
+
+        private Node parseAlternation() {
+            List<Node> alternatives = new ArrayList<>();
+            alternatives.add(parseSequence());
+            while (accept('|')) {
+                alternatives.add(parseSequence());
+            }
+            return alternatives.size() == 1
+                    ? alternatives.get(0)
+                    : new Alternation(alternatives.toArray(new Node[0]));
+        }
+
+        private Node parseSequence() {
+            List<Node> nodes = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            while (position < regex.length() && peek() != '|' && peek() != ')') {
+                Node atom = parseQuantifier(parseAtom());
+                // Merge consecutive literals, so "abc" is a single node
+                if (atom instanceof Literal) {
+                    literal.append(((Literal) atom).text);
+                } else {
+                    if (literal.length() > 0) {
+                        nodes.add(new Literal(literal.toString()));
+                        literal.setLength(0);
+                    }
+                    nodes.add(atom);
+                }
+            }
+            if (literal.length() > 0 || nodes.isEmpty()) {
+                nodes.add(new Literal(literal.toString()));
+            }
+            return nodes.size() == 1 ? nodes.get(0) : new Sequence(nodes.toArray(new Node[0]));
+        }
+
+        private Node parseAtom() {
+            char c = regex.charAt(position++);
+            switch (c) {
+            case '(':
+                if (accept('?')) {
+                    if (!accept(':')) {
+                        throw error("Lookarounds, named groups and inline flags are not supported");
+                    }
+                }
+                Node group = parseAlternation();
+                if (!accept(')')) {
+                    throw error("Unclosed group");
+                }
+                return group;
+            case '[':
+                return new CharClass(parseClass());
+            case '.':
+                return new CharClass(ANY);
+            case '^':
+            case '$':
+                return new Literal("");
+            case '\\':
+                return parseEscape();
+            case '*':
+            case '+':
+            case '?':
+            case '{':
+                throw error("Dangling quantifier '" + c + "'");
+            default:
+                return new Literal(String.valueOf(c));
+            }
+        }
+
+        private Node parseEscape() {
+            char c = next();
+            switch (c) {
+            case 'd':
+            case 'D':
+            case 'w':
+            case 'W':
+            case 's':
+            case 'S':
+            case 'p':
+            case 'P': {
+                BitSet chars = new BitSet();
+                addPredefinedClass(chars, c);
+                return new CharClass(toAlphabet(chars));
+            }
+            case 'Q': {
+                int end = regex.indexOf("\\E", position);
+                String quoted = regex.substring(position, end < 0 ? regex.length() : end);
+                position = end < 0 ? regex.length() : end + 2;
+                return new Literal(quoted);
+            }
+            case 'b':
+            case 'B':
+            case 'A':
+            case 'G':
+            case 'Z':
+            case 'z':
+                throw error("Boundary matchers are not supported");
+            default:
+                if (c >= '1' && c <= '9' || c == 'k') {
+                    throw error("Back references are not supported");
+                }
+                return new Literal(String.valueOf(escapedChar(c)));
+            }
+        }
+
+        private Node parseQuantifier(Node atom) {
+            if (position >= regex.length()) {
+                return atom;
+            }
+            int min;
+            int max;
+            char c = peek();
+            if (c == '?') {
+                min = 0;
+                max = 1;
+            } else if (c == '*') {
+                min = 0;
+                max = MAX_UNBOUNDED_REPEAT;
+            } else if (c == '+') {
+                min = 1;
+                max = 1 + MAX_UNBOUNDED_REPEAT;
+            } else if (c == '{') {
+                int close = regex.indexOf('}', position);
+                if (close < 0) {
+                    throw error("Unclosed repetition");
+                }
+                String[] bounds = regex.substring(position + 1, close).split(",", -1);
+                try {
+                    min = Integer.parseInt(bounds[0].trim());
+                    if (bounds.length == 1) {
+                        max = min;
+                    } else if (bounds.length == 2 && bounds[1].trim().isEmpty()) {
+                        max = min + MAX_UNBOUNDED_REPEAT;
+                    } else if (bounds.length == 2) {
+                        max = Integer.parseInt(bounds[1].trim());
+                    } else {
+                        throw error("Invalid repetition");
+                    }
+                } catch (NumberFormatException e) {
+                    throw error("Invalid repetition");
+                }
+                if (max < min) {
+                    throw error("Invalid repetition");
+                }
+                position = close;
+            } else {
+                return atom;
+            }
+            ++position;
+            // Reluctant and possessive quantifiers match the same strings
+            if (!accept('?')) {
+                accept('+');
+            }
+            return parseQuantifier(min == 1 && max == 1 ? atom : new Repeat(atom, min, max));
+        }
+
+        private Alphabet parseClass() {
+            boolean negated = accept('^');
+            BitSet chars = new BitSet();
+            boolean first = true;
+            while (first || peek() != ']') {
+                first = false;
+                char c = next();
+                if (c == '[' || c == '&' && peek() == '&') {
+                    throw error("Nested classes and class intersections are not supported");
+                }
+                if (c == '\\') {
+                    char escape = next();
+                    if ("dDwWsSpP".indexOf(escape) >= 0) {
+                        addPredefinedClass(chars, escape);
+                        continue;
+                    }
+                    if (escape == 'Q') {
+                        int end = regex.indexOf("\\E", position);
+                        String quoted = regex.substring(position, end < 0 ? regex.length() : end);
+                        position = end < 0 ? regex.length() : end + 2;
+                        quoted.chars().forEach(chars::set);
+                        continue;
+                    }
+                    c = escapedChar(escape);
+                }
+                if (peek() == '-' && position + 1 < regex.length() && regex.charAt(position + 1) != ']') {
+                    ++position;
+                    char last = next();
+                    if (last == '\\') {
+                        last = escapedChar(next());
+                    }
+                    if (last < c) {
+                        throw error("Invalid range");
+                    }
+                    chars.set(c, last + 1);
+                } else {
+                    chars.set(c);
+                }
+            }
+            ++position;
+            if (negated) {
+                BitSet complement = new BitSet();
+                complement.set(' ', '~' + 1);
+                complement.andNot(chars);
+                chars = complement;
+            }
+            return toAlphabet(chars);
+        }
+
+        private void addPredefinedClass(BitSet chars, char escape) {
+            String members;
+            boolean negated = Character.isUpperCase(escape);
+            switch (Character.toLowerCase(escape)) {
+            case 'd':
+                members = DIGITS;
+                break;
+            case 'w':
+                members = WORD_CHARS;
+                break;
+            case 's':
+                members = SPACES;
+                break;
+            default:
+                if (!accept('{')) {
+                    throw error("Expected '{' after \\" + escape);
+                }
+                int close = regex.indexOf('}', position);
+                if (close < 0) {
+                    throw error("Unclosed character property");
+                }
+                String name = regex.substring(position, close);
+                position = close + 1;
+                members = POSIX_CLASSES.get(name.startsWith("Is") ? name.substring(2) : name);
+                if (members == null) {
+                    throw error("Unsupported character property " + name);
+                }
+                negated = escape == 'P';
+            }
+            if (negated) {
+                BitSet complement = new BitSet();
+                complement.set(' ', '~' + 1);
+                members.chars().forEach(complement::clear);
+                chars.or(complement);
+            } else {
+                members.chars().forEach(chars::set);
+            }
+        }
+
+        /**
+         * Returns the character an escape sequence stands for, given the character after the backslash.
+         */
+        private char escapedChar(char c) {
+            switch (c) {
+            case 't':
+                return '\t';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            case 'a':
+                return '\u0007';
+            case 'e':
+                return '\u001B';
+            case '0': {
+                int start = position;
+                int value = 0;
+                while (position < regex.length() && position - start < 3 && peek() >= '0' && peek() <= '7'
+                        && value * 8 + peek() - '0' <= 0377) {
+                    value = value * 8 + next() - '0';
+                }
+                if (position == start) {
+                    throw error("Invalid octal escape");
+                }
+                return (char) value;
+            }
+            case 'x':
+                return hex(2);
+            case 'u':
+                return hex(4);
+            case 'c':
+                return (char) (next() ^ 64);
+            default:
+                if (Character.isLetterOrDigit(c)) {
+                    throw error("Unsupported escape \\" + c);
+                }
+                return c;
+            }
+        }
+
+        private char hex(int digits) {
+            if (position + digits > regex.length()) {
+                throw error("Invalid hexadecimal escape");
+            }
+            try {
+                char c = (char) Integer.parseInt(regex.substring(position, position + digits), 16);
+                position += digits;
+                return c;
+            } catch (NumberFormatException e) {
+                throw error("Invalid hexadecimal escape");
+            }
+        }
+
+        private Alphabet toAlphabet(BitSet chars) {
+            if (chars.isEmpty()) {
+                throw error("Empty character class");
+            }
+            char[] members = new char[chars.cardinality()];
+            int i = 0;
+            for (int c = chars.nextSetBit(0); c >= 0; c = chars.nextSetBit(c + 1)) {
+                members[i++] = (char) c;
+            }
+            return members.length == members[members.length - 1] - members[0] + 1
+                    ? Alphabet.range(members[0], members[members.length - 1])
+                    : Alphabet.wrap(members);
+        }
+
+        private char peek() {
+            if (position >= regex.length()) {
+                throw error("Unexpected end of pattern");
+            }
+            return regex.charAt(position);
+        }
+
+        private char next() {
+            char c = peek();
+            ++position;
+            return c;
+        }
+
+        private boolean accept(char c) {
+            if (position < regex.length() && regex.charAt(position) == c) {
+                ++position;
+                return true;
+            }
+            return false;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at index " + position + " of the pattern " + regex);
+        }
+    }
+}
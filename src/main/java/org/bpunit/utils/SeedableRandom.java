@@ -1,11 +1,30 @@
 package org.bpunit.utils;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Random;
+import java.util.RandomAccess;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.bpunit.utils.cores.JumpableCore;
+import org.bpunit.utils.cores.RandomCore;
+import org.bpunit.utils.cores.SplitMix64Core;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,6 +34,10 @@ import org.slf4j.LoggerFactory;
  * 
  * Several random string generation methods were inspired from {@code org.apache.commons.lang.RandomStringUtils},
  * although greatly simplified
+ *
+ * By default, the random bits are generated by {@link Random}'s own linear congruential generator. A faster and
+ * statistically stronger {@link RandomCore} (e.g., {@link org.bpunit.utils.cores.Xoshiro256StarStarCore}) can be
+ * specified on construction instead, at the price of thread safety.
  * 
  * @see java.util.Random
  */
@@ -29,12 +52,6 @@ public class SeedableRandom extends Random {
     /** Error message for a case when the min is larger than max, */
     private static final String MIN_MAX_ERROR = "min must be less than or equal to max";
 
-    /** The first printable character. */
-    private static final char FIRST_PRINTABLE_CHAR = ' ';
-
-    /** The last printable character. */
-    private static final char LAST_PRINTABLE_CHAR = '~';
-
     /** The legal characters for an entity name. */
     private static final char[] LEGAL_PROPERTY_CHARS =
             "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ1234567890_".toCharArray();
@@ -46,14 +63,55 @@ public class SeedableRandom extends Random {
     private static final char[] LEGAL_FIRST_NUMERIC_CHARS =
             Arrays.copyOfRange(LEGAL_NUMERIC_CHARS, 0, LEGAL_NUMERIC_CHARS.length - 2);
 
+    /** The {@link Alphabet} of {@link #LEGAL_PROPERTY_CHARS}. */
+    private static final Alphabet PROPERTY_ALPHABET = Alphabet.of(LEGAL_PROPERTY_CHARS);
+
+    /** The {@link Alphabet} of {@link #LEGAL_NUMERIC_CHARS}. */
+    private static final Alphabet NUMERIC_ALPHABET = Alphabet.of(LEGAL_NUMERIC_CHARS);
+
+    /** The {@link Alphabet} of {@link #LEGAL_FIRST_NUMERIC_CHARS}. */
+    private static final Alphabet FIRST_NUMERIC_ALPHABET = Alphabet.of(LEGAL_FIRST_NUMERIC_CHARS);
+
     /** The default seed to use with {@link #SeedableRandom()} */
     private static final long DEFAULT_SEED = 19811611;
 
+    /** The most elements {@link #sample(Iterator, int)} allocates room for in advance. */
+    private static final int INITIAL_RESERVOIR_CAPACITY = 1024;
+
+    /** The difference between two consecutive {@code double}s in [0, 1) with 53 bits of precision. */
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    /**
+     * A cache of the constants of enum classes, since {@link Class#getEnumConstants()} clones them on every call.
+     * Holds {@code null} for classes which are not enums.
+     */
+    private static final ClassValue<Object[]> ENUM_CONSTANTS = new ClassValue<Object[]>() {
+        @Override
+        protected Object[] computeValue(Class<?> type) {
+            return type.getEnumConstants();
+        }
+    };
+
     /* --- Class Fields --- */
 
     /** The seed that was last set. */
     private long seed;
 
+    /** The core generating the random bits, or {@code null} to use {@link Random}'s own generator. */
+    private final RandomCore core;
+
+    /** The number of streams {@link #jump()} and {@link #leap()} have created, to give each its own seed. */
+    private long streams;
+
+    /** Whether construction is done, to avoid logging the seed {@link Random}'s constructor sets. */
+    private transient boolean initialized;
+
+    /**
+     * The generators registered on this instance, shared with the generators derived from it. Created lazily, since
+     * it is not serialized, and volatile, since {@link #split(long)} may read it from several threads.
+     */
+    private transient volatile GeneratorRegistry generators;
+
     /* --- Constructors --- */
 
     /**
@@ -65,21 +123,71 @@ public class SeedableRandom extends Random {
      * @throws NumberFormatException if {@code BPUNIT.SEED} is set to a value that cannot be parsed to a {@code long}.
      */
     public SeedableRandom() {
-        long seed = DEFAULT_SEED;
-        String envSeed = System.getProperty("BPUNIT.SEED");
-        if (envSeed != null) {
-            seed = Long.parseLong(envSeed);
-        }
-        setSeed(seed);
+        this(getDefaultSeed(), null);
     }
 
     /**
      * Constructor from the seed.
      */
     public SeedableRandom(long seed) {
+        this(seed, null);
+    }
+
+    /**
+     * Constructor from the {@link RandomCore} to use, with the default seed (see {@link #SeedableRandom()}).
+     *
+     * @throws NumberFormatException if {@code BPUNIT.SEED} is set to a value that cannot be parsed to a {@code long}.
+     */
+    public SeedableRandom(RandomCore core) {
+        this(getDefaultSeed(), core);
+    }
+
+    /**
+     * Constructor from the seed and the {@link RandomCore} to use.
+     *
+     * @param seed
+     *            The initial seed.
+     * @param core
+     *            The algorithm to generate random bits with, or {@code null} to use {@link Random}'s own
+     *            (thread safe) linear congruential generator.
+     */
+    public SeedableRandom(long seed, RandomCore core) {
+        super(seed);
+        this.core = core;
+        initialized = true;
         setSeed(seed);
     }
 
+    /**
+     * Constructor for generators derived from another one, with a core that is already positioned.
+     * Since their seed can be deduced from their parent's, it is only logged in debug level.
+     *
+     * @param parent
+     *            The generator to share the registered generators with, or {@code null} for a generator whose seed was
+     *            derived by other means.
+     */
+    private SeedableRandom(long seed, RandomCore core, SeedableRandom parent) {
+        super(seed);
+        this.core = core;
+        initialized = true;
+        if (parent != null) {
+            generators = parent.getGenerators();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(getClass() + " using seed: " + seed
+                    + (parent != null ? " derived from seed: " + parent.seed : ""));
+        }
+    }
+
+    /**
+     * Creates a generator whose seed was derived from another seed that was already logged (e.g., a test's seed
+     * derived from the run's seed), so its seed is only logged in debug level. Unlike the generators of
+     * {@link #split(long)}, it has its own registered generators.
+     */
+    public static SeedableRandom forDerivedSeed(long seed) {
+        return new SeedableRandom(seed, null, null);
+    }
+
     /* --- Seed-related Methods --- */
 
     /**
@@ -90,9 +198,21 @@ public class SeedableRandom extends Random {
      */
     @Override
     public void setSeed(long seed) {
+        reseed(seed);
+        if (initialized) {
+            log.info(getClass() + " using seed: " + seed + (core != null ? " with core " + core.getClass() : ""));
+        }
+    }
+
+    /**
+     * Sets the seed without logging it, for generators that are reseeded for every row of a large dataset.
+     */
+    void reseed(long seed) {
         super.setSeed(seed);
         this.seed = seed;
-        log.info (getClass() + " using seed: " + seed);
+        if (core != null) {
+            core.setSeed(seed);
+        }
     }
 
     /**
@@ -102,6 +222,203 @@ public class SeedableRandom extends Random {
         return seed;
     }
 
+    /**
+     * Returns the {@link RandomCore} generating this instance's random bits, or {@code null} if it uses
+     * {@link Random}'s own generator.
+     */
+    public RandomCore getCore() {
+        return core;
+    }
+
+    /**
+     * Reads the seed from the {@code BPUNIT.SEED} environment variable, or uses {@link #DEFAULT_SEED} if it isn't set.
+     */
+    private static long getDefaultSeed() {
+        String envSeed = System.getProperty("BPUNIT.SEED");
+        return envSeed != null ? Long.parseLong(envSeed) : DEFAULT_SEED;
+    }
+
+    /* --- Core-related Methods --- */
+
+    /**
+     * See {@link Random#next(int)}. All of {@link Random}'s generation methods are built on top of this method, so
+     * overriding it is enough to make them use {@link #core}.
+     */
+    @Override
+    protected int next(int bits) {
+        return core == null ? super.next(bits) : core.next(bits);
+    }
+
+    /**
+     * See {@link Random#nextLong()}. Overridden to take all 64 bits from {@link #core} at once.
+     */
+    @Override
+    public long nextLong() {
+        return core == null ? super.nextLong() : core.nextLong();
+    }
+
+    /**
+     * See {@link Random#nextDouble()}. Overridden to take all 53 bits from {@link #core} at once.
+     */
+    @Override
+    public double nextDouble() {
+        return core == null ? super.nextDouble() : (core.nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * See {@link Random#nextGaussian()}. Overridden to use the ziggurat method (see {@link NormalSampler}) with
+     * {@link #core}, which is much faster than {@link Random}'s synchronized polar method.
+     */
+    @Override
+    public double nextGaussian() {
+        return core == null ? super.nextGaussian() : Ziggurat.normal(this);
+    }
+
+    /**
+     * See {@link Random#nextBytes(byte[])}. Overridden to take eight bytes from {@link #core} at once.
+     */
+    @Override
+    public void nextBytes(byte[] bytes) {
+        if (core == null) {
+            super.nextBytes(bytes);
+            return;
+        }
+
+        int i = 0;
+        while (i < bytes.length) {
+            for (long rnd = core.nextLong(), n = Math.min(bytes.length - i, Long.BYTES); n-- > 0; rnd >>>= Byte.SIZE) {
+                bytes[i++] = (byte) rnd;
+            }
+        }
+    }
+
+    /**
+     * Generates the next 64 random bits directly from the core, regardless of any overriding of {@link #nextLong()}.
+     */
+    private long nextWord() {
+        return core == null ? super.nextLong() : core.nextLong();
+    }
+
+    /* --- Splitting Methods --- */
+
+    /**
+     * Creates a new, statistically independent, generator seeded from this generator's next value.
+     * The new generator uses the same kind of {@link RandomCore} as this one.
+     */
+    public SeedableRandom split() {
+        return derive(SplitMix64Core.mix64(nextWord()));
+    }
+
+    /**
+     * Creates a new, statistically independent, generator for the given index.
+     * The new generator's seed is derived only from this generator's seed (see {@link #getSeed()}) and the index,
+     * regardless of how many values this generator has already generated. This allows handing each work item its own
+     * generator, which generates the same values regardless of which thread, or how many threads, process the items.
+     * This method is thread safe.
+     *
+     * @param index
+     *            The index of the work item to create a generator for.
+     */
+    public SeedableRandom split(long index) {
+        return derive(deriveSeed(seed, index));
+    }
+
+    /**
+     * Computes the value at the given index of the sequence a {@link SplitMix64Core} seeded with this generator's seed
+     * (see {@link #getSeed()}) generates, without generating the values before it. Like {@link #split(long)}, the
+     * value only depends on the seed and the index, so workers can pick up the sequence at any offset without any
+     * coordination or state to hand over.
+     * This method is thread safe.
+     *
+     * @param index
+     *            The index of the value, starting from 0.
+     * @throws IllegalArgumentException if the index is negative.
+     */
+    public long valueAt(long index) {
+        if (index < 0L) {
+            throw new IllegalArgumentException("index must be non-negative");
+        }
+        return deriveSeed(seed, index);
+    }
+
+    /**
+     * Computes the value at the given index of the sequence of {@link #valueAt(long)}, as a {@code double} value
+     * between 0.0 (inclusive) and 1.0 (exclusive).
+     *
+     * @throws IllegalArgumentException if the index is negative.
+     */
+    public double doubleAt(long index) {
+        return (valueAt(index) >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * Creates a new generator that continues this generator's sequence from its current position, and skips this
+     * generator ahead by a large number of values (2<sup>128</sup> for {@link org.bpunit.utils.cores.Xoshiro256StarStarCore}).
+     * Calling this method repeatedly partitions a single seed's sequence into non-overlapping streams.
+     * Each stream gets a seed of its own (see {@link #getSeed()}), derived from this generator's seed and the number
+     * of streams created so far, so that {@link #split(long)} and {@link #valueAt(long)} differ between the streams too.
+     *
+     * @throws UnsupportedOperationException if this generator's core is not a {@link JumpableCore}.
+     */
+    public SeedableRandom jump() {
+        JumpableCore jumpable = getJumpableCore();
+        SeedableRandom copy = newStream(jumpable);
+        jumpable.jump();
+        return copy;
+    }
+
+    /**
+     * Like {@link #jump()}, but skips much further ahead (2<sup>192</sup> values for
+     * {@link org.bpunit.utils.cores.Xoshiro256StarStarCore}), so that each of the streams it creates can be further partitioned by
+     * {@link #jump()}.
+     *
+     * @throws UnsupportedOperationException if this generator's core is not a {@link JumpableCore}.
+     */
+    public SeedableRandom leap() {
+        JumpableCore jumpable = getJumpableCore();
+        SeedableRandom copy = newStream(jumpable);
+        jumpable.leap();
+        return copy;
+    }
+
+    private JumpableCore getJumpableCore() {
+        if (!(core instanceof JumpableCore)) {
+            throw new UnsupportedOperationException("Core " + core + " cannot jump");
+        }
+        return (JumpableCore) core;
+    }
+
+    /**
+     * Creates a generator continuing the given core's sequence from its current position. Its seed is derived from a
+     * mix of this generator's seed rather than from the seed itself, so that it does not coincide with the seed
+     * {@link #split(long)} derives for the same index.
+     */
+    private SeedableRandom newStream(JumpableCore jumpable) {
+        return new SeedableRandom(deriveSeed(SplitMix64Core.mix64(seed), streams++), jumpable.copy(), this);
+    }
+
+    /**
+     * Creates a new generator with the given seed and the same kind of core as this one, sharing its registered
+     * generators. It generates the same values this generator would after {@link #setSeed(long)} with that seed, but
+     * leaves this generator untouched, and its seed is only logged in debug level.
+     */
+    public SeedableRandom derive(long derivedSeed) {
+        RandomCore derivedCore = null;
+        if (core != null) {
+            derivedCore = core.newInstance();
+            derivedCore.setSeed(derivedSeed);
+        }
+        return new SeedableRandom(derivedSeed, derivedCore, this);
+    }
+
+    /**
+     * Derives a well-distributed seed from a seed and an index, by taking the index-th value SplitMix64 would
+     * generate from the seed.
+     */
+    static long deriveSeed(long seed, long index) {
+        return SplitMix64Core.mix64(seed + SplitMix64Core.GOLDEN_GAMMA * (index + 1));
+    }
+
     /* --- Byte-related Methods --- */
 
     /**
@@ -302,10 +619,15 @@ public class SeedableRandom extends Random {
 
     /**
      * Picks a random element from the given {@link Collection}.
+     * If the collection is a {@link RandomAccess} {@link List}, the element is picked directly, in constant time.
      */
     public <T> T pickRandom(Collection<T> c) {
         int elementIndex = super.nextInt(c.size());
 
+        if (c instanceof List && c instanceof RandomAccess) {
+            return ((List<T>) c).get(elementIndex);
+        }
+
         Iterator<T> iter = c.iterator();
         for (int i = 0; i < elementIndex; ++i) {
             iter.next();
@@ -320,7 +642,121 @@ public class SeedableRandom extends Random {
      * Picks a random element from the given array.
      */
     public <T> T pickRandom(T[] o) {
-        return pickRandom(Arrays.asList(o));
+        return o[super.nextInt(o.length)];
+    }
+
+    /* --- Sampling Methods --- */
+
+    /**
+     * Picks {@code k} random elements from the given {@link Iterator}, without knowing its length in advance and
+     * without holding more than {@code k} elements in memory (reservoir sampling with Li's "Algorithm L", which skips
+     * over most of the elements without drawing a random value for them).
+     *
+     * @param iterator
+     *            The elements to sample from.
+     * @param k
+     *            The number of elements to sample.
+     * @return A list of {@code k} sampled elements, or all the elements if there are less than {@code k} of them.
+     */
+    public <T> List<T> sample(Iterator<? extends T> iterator, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Requested sample size " + k + " is less than 0.");
+        }
+
+        List<T> reservoir = new ArrayList<>(Math.min(k, INITIAL_RESERVOIR_CAPACITY));
+        while (reservoir.size() < k && iterator.hasNext()) {
+            reservoir.add(iterator.next());
+        }
+        if (reservoir.size() < k || k == 0) {
+            return reservoir;
+        }
+
+        double w = Math.exp(Math.log(nextOpenDouble()) / k);
+        while (true) {
+            long skip = (long) Math.floor(Math.log(nextOpenDouble()) / Math.log1p(-w));
+            for (long i = 0; i < skip && iterator.hasNext(); ++i) {
+                iterator.next();
+            }
+            if (!iterator.hasNext()) {
+                return reservoir;
+            }
+            reservoir.set(super.nextInt(k), iterator.next());
+            w *= Math.exp(Math.log(nextOpenDouble()) / k);
+        }
+    }
+
+    /**
+     * Picks {@code k} random elements from the given {@link Stream}. See {@link #sample(Iterator, int)}.
+     */
+    public <T> List<T> sample(Stream<? extends T> stream, int k) {
+        return sample(stream.iterator(), k);
+    }
+
+    /**
+     * Randomly permutes the given array in place.
+     */
+    public void shuffle(int[] array) {
+        shuffle(array, 0, array.length);
+    }
+
+    /**
+     * Randomly permutes the range [fromIndex, toIndex) of the given array in place, using the Fisher-Yates shuffle.
+     */
+    public void shuffle(int[] array, int fromIndex, int toIndex) {
+        checkRange(array.length, fromIndex, toIndex);
+        for (int i = toIndex - 1; i > fromIndex; --i) {
+            int j = fromIndex + super.nextInt(i - fromIndex + 1);
+            int tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+
+    /**
+     * Randomly permutes the given array in place.
+     */
+    public void shuffle(long[] array) {
+        shuffle(array, 0, array.length);
+    }
+
+    /**
+     * Randomly permutes the range [fromIndex, toIndex) of the given array in place, using the Fisher-Yates shuffle.
+     */
+    public void shuffle(long[] array, int fromIndex, int toIndex) {
+        checkRange(array.length, fromIndex, toIndex);
+        for (int i = toIndex - 1; i > fromIndex; --i) {
+            int j = fromIndex + super.nextInt(i - fromIndex + 1);
+            long tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+
+    /**
+     * Randomly permutes the given array in place.
+     */
+    public void shuffle(Object[] array) {
+        shuffle(array, 0, array.length);
+    }
+
+    /**
+     * Randomly permutes the range [fromIndex, toIndex) of the given array in place, using the Fisher-Yates shuffle.
+     */
+    public void shuffle(Object[] array, int fromIndex, int toIndex) {
+        checkRange(array.length, fromIndex, toIndex);
+        for (int i = toIndex - 1; i > fromIndex; --i) {
+            int j = fromIndex + super.nextInt(i - fromIndex + 1);
+            Object tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+
+    /**
+     * Randomize a {@code double} value in the open range (0.0, 1.0), so it's safe to take its logarithm.
+     */
+    private double nextOpenDouble() {
+        return ((nextWord() >>> 11) + 0.5D) * DOUBLE_UNIT;
     }
 
     /* --- String-related Methods --- */
@@ -334,20 +770,7 @@ public class SeedableRandom extends Random {
      *            Whether or not, the string should contain only printable characters.
      */
     public String nextString(int length, boolean printable) {
-        if (length < 0) {
-            throw new IllegalArgumentException("Requested random string length " + length + " is less than 0.");
-        }
-
-        char[] data = new char[length];
-        for (int i = 0; i < length; ++i) {
-            if (printable) {
-                data[i] = nextChar(FIRST_PRINTABLE_CHAR, LAST_PRINTABLE_CHAR);
-            } else {
-                data[i] = nextChar();
-            }
-        }
-
-        return new String(data);
+        return nextString(printable ? Alphabet.PRINTABLE : Alphabet.ALL, length);
     }
 
     /**
@@ -357,7 +780,14 @@ public class SeedableRandom extends Random {
      *            The requested length of the string.
      */
     public String nextNumericString(int length) {
-        return nextString(1, LEGAL_FIRST_NUMERIC_CHARS) + nextString(length - 1, LEGAL_NUMERIC_CHARS);
+        if (length < 1) {
+            throw new IllegalArgumentException("Requested random numeric string length " + length + " is less than 1.");
+        }
+
+        byte[] data = new byte[length];
+        nextLatin1Chars(data, 0, 1, FIRST_NUMERIC_ALPHABET);
+        nextLatin1Chars(data, 1, length, NUMERIC_ALPHABET);
+        return new String(data, StandardCharsets.ISO_8859_1);
     }
 
     /**
@@ -367,7 +797,7 @@ public class SeedableRandom extends Random {
      *            The requested length of the string.
      */
     public String nextPropertyString(int length) {
-        return nextString(length, LEGAL_PROPERTY_CHARS);
+        return nextString(PROPERTY_ALPHABET, length);
     }
 
     /**
@@ -394,23 +824,144 @@ public class SeedableRandom extends Random {
      *            The requested length of the string.
      */
     public String nextString(int length, char[] chars) {
-        if (length < 0) {
-            throw new IllegalArgumentException("Requested random string length " + length + " is less than 0.");
-        }
-
         if (chars == null) {
             throw new IllegalArgumentException("The chars array must not be null");
         }
-        else if (chars.length == 0) {
-            throw new IllegalArgumentException("The chars array must not be empty");
+
+        return nextString(Alphabet.wrap(chars), length);
+    }
+
+    /**
+     * Randomize a {@link String} made up of the characters of the given {@link Alphabet}.
+     * If all of the alphabet's characters are Latin-1 characters, the string is generated as bytes.
+     *
+     * @param length
+     *            The requested length of the string.
+     */
+    public String nextString(Alphabet alphabet, int length) {
+        checkLength(length);
+
+        if (alphabet.isLatin1()) {
+            byte[] data = new byte[length];
+            nextLatin1Chars(data, 0, length, alphabet);
+            return new String(data, StandardCharsets.ISO_8859_1);
+        }
+
+        char[] data = new char[length];
+        nextChars(data, 0, length, alphabet);
+        return new String(data);
+    }
+
+    /**
+     * Randomize a string matching the given regular expression. The expression is compiled once, and cached.
+     *
+     * @throws IllegalArgumentException if the expression uses a construct that cannot be generated.
+     * @see RegexGenerator
+     */
+    public String nextString(Pattern pattern) {
+        return RegexGenerator.of(pattern).generate(this);
+    }
+
+    /**
+     * Randomize a {@link CharSequence} made up of the characters of the given {@link Alphabet}, without copying its
+     * characters to a {@link String}.
+     *
+     * @param length
+     *            The requested length of the sequence.
+     */
+    public CharSequence nextCharSequence(Alphabet alphabet, int length) {
+        checkLength(length);
+
+        char[] data = new char[length];
+        nextChars(data, 0, length, alphabet);
+        return CharBuffer.wrap(data);
+    }
+
+    /**
+     * Appends random characters of the given {@link Alphabet} to the given {@link StringBuilder}.
+     *
+     * @param builder
+     *            The builder to append to.
+     * @param length
+     *            The number of characters to append.
+     * @return The given builder.
+     */
+    public StringBuilder appendString(StringBuilder builder, Alphabet alphabet, int length) {
+        checkLength(length);
+
+        builder.ensureCapacity(builder.length() + length);
+        int bits = alphabet.getBits();
+        int mask = (1 << bits) - 1;
+        int size = alphabet.size();
+        int remaining = length;
+        while (remaining > 0) {
+            long word = nextWord();
+            for (int n = charsPerWord(bits); n > 0 && remaining > 0; --n, word >>>= bits) {
+                int index = (int) word & mask;
+                if (index < size) {
+                    builder.append(alphabet.charAt(index));
+                    --remaining;
+                }
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Fills the range [fromIndex, toIndex) of the given array with random characters of the given {@link Alphabet}.
+     *
+     * Each character is picked by the lowest bits of a random word, rejecting indexes beyond the alphabet's size to
+     * avoid a bias, so several characters are picked from every 64 random bits.
+     */
+    public void nextChars(char[] array, int fromIndex, int toIndex, Alphabet alphabet) {
+        checkRange(array.length, fromIndex, toIndex);
+
+        int bits = alphabet.getBits();
+        int mask = (1 << bits) - 1;
+        int size = alphabet.size();
+        int i = fromIndex;
+        while (i < toIndex) {
+            long word = nextWord();
+            for (int n = charsPerWord(bits); n > 0 && i < toIndex; --n, word >>>= bits) {
+                int index = (int) word & mask;
+                if (index < size) {
+                    array[i++] = alphabet.charAt(index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Like {@link #nextChars(char[], int, int, Alphabet)}, but for a Latin-1 alphabet, whose characters fit in bytes.
+     */
+    private void nextLatin1Chars(byte[] array, int fromIndex, int toIndex, Alphabet alphabet) {
+        int bits = alphabet.getBits();
+        int mask = (1 << bits) - 1;
+        int size = alphabet.size();
+        int i = fromIndex;
+        while (i < toIndex) {
+            long word = nextWord();
+            for (int n = charsPerWord(bits); n > 0 && i < toIndex; --n, word >>>= bits) {
+                int index = (int) word & mask;
+                if (index < size) {
+                    array[i++] = (byte) alphabet.charAt(index);
+                }
+            }
         }
+    }
 
-        final char[] buffer = new char[length];
+    /**
+     * Returns the number of characters that can be picked from 64 random bits. A single-character alphabet needs no
+     * random bits at all, but picking one character from each word keeps the loops simple.
+     */
+    private static int charsPerWord(int bits) {
+        return bits == 0 ? 1 : Long.SIZE / bits;
+    }
 
-        for (int i = 0; i < length; ++i) {
-            buffer[i] = chars[nextInt(chars.length)];
+    private static void checkLength(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Requested random string length " + length + " is less than 0.");
         }
-        return new String(buffer);
     }
 
     /**
@@ -441,6 +992,540 @@ public class SeedableRandom extends Random {
         return data;
     }
 
+    /**
+     * Fills the given array with random {@code int} values, generating two values from each 64 random bits.
+     */
+    public void nextInts(int[] array) {
+        nextInts(array, 0, array.length);
+    }
+
+    /**
+     * Fills the range [fromIndex, toIndex) of the given array with random {@code int} values, generating two values
+     * from each 64 random bits.
+     */
+    public void nextInts(int[] array, int fromIndex, int toIndex) {
+        checkRange(array.length, fromIndex, toIndex);
+        int i = fromIndex;
+        for (; i < toIndex - 1; i += 2) {
+            long word = nextWord();
+            array[i] = (int) word;
+            array[i + 1] = (int) (word >>> Integer.SIZE);
+        }
+        if (i < toIndex) {
+            array[i] = (int) nextWord();
+        }
+    }
+
+    /**
+     * Fills the range [fromIndex, toIndex) of the given array with random {@code int} values in the range
+     * [origin, bound).
+     */
+    public void nextInts(int[] array, int fromIndex, int toIndex, int origin, int bound) {
+        checkRange(array.length, fromIndex, toIndex);
+        checkBound(origin < bound);
+        for (int i = fromIndex; i < toIndex; ++i) {
+            array[i] = boundedInt(nextWord(), origin, bound);
+        }
+    }
+
+    /**
+     * Fills the given array with random {@code long} values.
+     */
+    public void nextLongs(long[] array) {
+        nextLongs(array, 0, array.length);
+    }
+
+    /**
+     * Fills the range [fromIndex, toIndex) of the given array with random {@code long} values.
+     */
+    public void nextLongs(long[] array, int fromIndex, int toIndex) {
+        checkRange(array.length, fromIndex, toIndex);
+        for (int i = fromIndex; i < toIndex; ++i) {
+            array[i] = nextWord();
+        }
+    }
+
+    /**
+     * Fills the range [fromIndex, toIndex) of the given array with random {@code long} values in the range
+     * [origin, bound).
+     */
+    public void nextLongs(long[] array, int fromIndex, int toIndex, long origin, long bound) {
+        checkRange(array.length, fromIndex, toIndex);
+        checkBound(origin < bound);
+        for (int i = fromIndex; i < toIndex; ++i) {
+            array[i] = boundedLong(nextWord(), origin, bound);
+        }
+    }
+
+    /**
+     * Fills the given array with random {@code double} values in the range [0.0, 1.0).
+     */
+    public void nextDoubles(double[] array) {
+        nextDoubles(array, 0, array.length);
+    }
+
+    /**
+     * Fills the range [fromIndex, toIndex) of the given array with random {@code double} values in the range
+     * [0.0, 1.0).
+     */
+    public void nextDoubles(double[] array, int fromIndex, int toIndex) {
+        checkRange(array.length, fromIndex, toIndex);
+        for (int i = fromIndex; i < toIndex; ++i) {
+            array[i] = (nextWord() >>> 11) * DOUBLE_UNIT;
+        }
+    }
+
+    /**
+     * Fills the range [fromIndex, toIndex) of the given array with random {@code double} values in the range
+     * [origin, bound).
+     */
+    public void nextDoubles(double[] array, int fromIndex, int toIndex, double origin, double bound) {
+        checkRange(array.length, fromIndex, toIndex);
+        checkBound(origin < bound);
+        for (int i = fromIndex; i < toIndex; ++i) {
+            array[i] = boundedDouble(nextWord(), origin, bound);
+        }
+    }
+
+    /**
+     * Fills the given array with random {@code char} values, generating four values from each 64 random bits.
+     */
+    public void nextChars(char[] array) {
+        nextChars(array, 0, array.length);
+    }
+
+    /**
+     * Fills the range [fromIndex, toIndex) of the given array with random {@code char} values, generating four values
+     * from each 64 random bits.
+     */
+    public void nextChars(char[] array, int fromIndex, int toIndex) {
+        checkRange(array.length, fromIndex, toIndex);
+        int i = fromIndex;
+        while (i < toIndex) {
+            long word = nextWord();
+            for (int n = Math.min(toIndex - i, Long.SIZE / Character.SIZE); n > 0; --n, word >>>= Character.SIZE) {
+                array[i++] = (char) word;
+            }
+        }
+    }
+
+    /**
+     * Fills the remaining bytes of the given buffer (either a heap buffer or a direct one) with random bytes,
+     * generating eight bytes at a time. The buffer's position is advanced to its limit.
+     */
+    public void nextBytes(ByteBuffer buffer) {
+        while (buffer.remaining() >= Long.BYTES) {
+            buffer.putLong(nextWord());
+        }
+        if (buffer.hasRemaining()) {
+            for (long word = nextWord(); buffer.hasRemaining(); word >>>= Byte.SIZE) {
+                buffer.put((byte) word);
+            }
+        }
+    }
+
+    /**
+     * Fills the remaining elements of the given buffer with random {@code long} values. The buffer's position is
+     * advanced to its limit.
+     */
+    public void nextLongs(LongBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            buffer.put(nextWord());
+        }
+    }
+
+    /* --- Stream Methods --- */
+
+    /**
+     * See {@link Random#ints(long)}.
+     *
+     * Unlike {@link Random}'s streams, the streams {@code SeedableRandom} creates take a single value from this
+     * generator, and derive each of their elements from it and the element's index. This makes them reproducible even
+     * when they are processed in parallel, and saves contending on this generator.
+     */
+    @Override
+    public IntStream ints(long streamSize) {
+        return indexes(streamSize).mapToInt(new StreamSeed(nextWord())::intAt);
+    }
+
+    /**
+     * See {@link Random#ints()} and {@link #ints(long)}.
+     */
+    @Override
+    public IntStream ints() {
+        return ints(Long.MAX_VALUE);
+    }
+
+    /**
+     * See {@link Random#ints(long, int, int)} and {@link #ints(long)}.
+     */
+    @Override
+    public IntStream ints(long streamSize, int origin, int bound) {
+        checkBound(origin < bound);
+        StreamSeed streamSeed = new StreamSeed(nextWord());
+        return indexes(streamSize).mapToInt(i -> boundedInt(streamSeed.longAt(i), origin, bound));
+    }
+
+    /**
+     * See {@link Random#ints(int, int)} and {@link #ints(long)}.
+     */
+    @Override
+    public IntStream ints(int origin, int bound) {
+        return ints(Long.MAX_VALUE, origin, bound);
+    }
+
+    /**
+     * See {@link Random#longs(long)} and {@link #ints(long)}.
+     */
+    @Override
+    public LongStream longs(long streamSize) {
+        return indexes(streamSize).map(new StreamSeed(nextWord())::longAt);
+    }
+
+    /**
+     * See {@link Random#longs()} and {@link #ints(long)}.
+     */
+    @Override
+    public LongStream longs() {
+        return longs(Long.MAX_VALUE);
+    }
+
+    /**
+     * See {@link Random#longs(long, long, long)} and {@link #ints(long)}.
+     */
+    @Override
+    public LongStream longs(long streamSize, long origin, long bound) {
+        checkBound(origin < bound);
+        StreamSeed streamSeed = new StreamSeed(nextWord());
+        return indexes(streamSize).map(i -> boundedLong(streamSeed.longAt(i), origin, bound));
+    }
+
+    /**
+     * See {@link Random#longs(long, long)} and {@link #ints(long)}.
+     */
+    @Override
+    public LongStream longs(long origin, long bound) {
+        return longs(Long.MAX_VALUE, origin, bound);
+    }
+
+    /**
+     * See {@link Random#doubles(long)} and {@link #ints(long)}.
+     */
+    @Override
+    public DoubleStream doubles(long streamSize) {
+        return indexes(streamSize).mapToDouble(new StreamSeed(nextWord())::doubleAt);
+    }
+
+    /**
+     * See {@link Random#doubles()} and {@link #ints(long)}.
+     */
+    @Override
+    public DoubleStream doubles() {
+        return doubles(Long.MAX_VALUE);
+    }
+
+    /**
+     * See {@link Random#doubles(long, double, double)} and {@link #ints(long)}.
+     */
+    @Override
+    public DoubleStream doubles(long streamSize, double origin, double bound) {
+        checkBound(origin < bound);
+        StreamSeed streamSeed = new StreamSeed(nextWord());
+        return indexes(streamSize).mapToDouble(i -> boundedDouble(streamSeed.longAt(i), origin, bound));
+    }
+
+    /**
+     * See {@link Random#doubles(double, double)} and {@link #ints(long)}.
+     */
+    @Override
+    public DoubleStream doubles(double origin, double bound) {
+        return doubles(Long.MAX_VALUE, origin, bound);
+    }
+
+    /**
+     * Returns a stream of {@code streamSize} random values of the given type, generated lazily as the stream is
+     * consumed. The values are generated by the {@link Generator} {@link #getGenerator(Class)} finds or, if there is
+     * none, by an {@link ObjectGraphGenerator}.
+     *
+     * Like the primitive streams (see {@link #ints(long)}), the stream takes a single value from this generator, and
+     * derives each element from it and the element's index, so it is reproducible even when processed in parallel.
+     *
+     * @throws IllegalArgumentException if {@code streamSize} is negative, or if values of the type cannot be generated.
+     */
+    public <T> Stream<T> stream(Class<T> type, long streamSize) {
+        checkStreamSize(streamSize);
+        Generator<T> generator = getGenerator(type);
+        if (generator == null) {
+            ObjectGraphGenerator graph = new ObjectGraphGenerator();
+            if (!graph.canPopulate(type)) {
+                throw new IllegalArgumentException("No generator for " + type.getName());
+            }
+            generator = graph.generatorFor(type);
+        }
+
+        Generator<T> elementGenerator = generator;
+        return stream((random, previous) -> elementGenerator.generate(random), false, streamSize);
+    }
+
+    /**
+     * Returns an effectively unlimited stream of random values of the given type.
+     *
+     * See {@link #stream(Class, long)}.
+     */
+    public <T> Stream<T> stream(Class<T> type) {
+        return stream(type, Long.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #stream(Class, long)}, but for POJOs which are reused rather than created for each element: each
+     * thread processing the stream gets a single instance, whose properties are re-populated for every element by an
+     * {@link ObjectGraphGenerator}. This saves allocating an object per element, so it suits consumers that do not
+     * retain the elements, such as load generators.
+     *
+     * Properties that cannot be generated (e.g., because of the {@link ObjectGraphGenerator}'s limits) keep their
+     * previous values.
+     *
+     * @throws IllegalArgumentException if {@code streamSize} is negative, or if the type is not a POJO the
+     *         {@link ObjectGraphGenerator} can instantiate.
+     */
+    public <T> Stream<T> reusingStream(Class<T> type, long streamSize) {
+        checkStreamSize(streamSize);
+        ObjectGraphGenerator graph = new ObjectGraphGenerator();
+        if (!graph.canPopulate(type)) {
+            throw new IllegalArgumentException("Cannot instantiate " + type.getName());
+        }
+        return stream((random, previous) -> previous == null ? graph.generate(type, random)
+                                                             : graph.populate(previous, random), true, streamSize);
+    }
+
+    /**
+     * Returns an effectively unlimited stream of reused random POJOs.
+     *
+     * See {@link #reusingStream(Class, long)}.
+     */
+    public <T> Stream<T> reusingStream(Class<T> type) {
+        return reusingStream(type, Long.MAX_VALUE);
+    }
+
+    private <T> Stream<T> stream(BiFunction<SeedableRandom, T, T> factory, boolean reusing, long streamSize) {
+        return StreamSupport.stream(new GeneratorSpliterator<>(this, nextWord(), factory, reusing, 0L, streamSize),
+                                    false);
+    }
+
+    private static void checkStreamSize(long streamSize) {
+        if (streamSize < 0L) {
+            throw new IllegalArgumentException("size must be non-negative");
+        }
+    }
+
+    /**
+     * Creates a stream of the indexes of a random stream's elements.
+     */
+    private static LongStream indexes(long streamSize) {
+        checkStreamSize(streamSize);
+        return LongStream.range(0L, streamSize);
+    }
+
+    /**
+     * The value a random stream derives its elements from.
+     */
+    private static class StreamSeed {
+        private final long seed;
+
+        StreamSeed(long seed) {
+            this.seed = seed;
+        }
+
+        long longAt(long index) {
+            return deriveSeed(seed, index);
+        }
+
+        int intAt(long index) {
+            return (int) longAt(index);
+        }
+
+        double doubleAt(long index) {
+            return (longAt(index) >>> 11) * DOUBLE_UNIT;
+        }
+    }
+
+    /* --- Unique Value Methods --- */
+
+    /**
+     * Creates a random permutation of the range [0, size), seeded by the next value of this generator.
+     */
+    public RandomPermutation permutation(long size) {
+        return new RandomPermutation(size, nextWord());
+    }
+
+    /**
+     * Returns a stream of {@code count} distinct random {@code int} values between {@code origin} (inclusive) and
+     * {@code bound} (exclusive). The values are the first elements of a {@link #permutation(long)} of the range, so
+     * no generated value has to be remembered, and the stream can be processed in parallel.
+     *
+     * @throws IllegalArgumentException if {@code origin} is not less than {@code bound}, or if {@code count} is
+     *         negative or greater than the size of the range.
+     */
+    public IntStream uniqueInts(int count, int origin, int bound) {
+        checkBound(origin < bound);
+        RandomPermutation permutation = uniquePermutation(count, (long) bound - origin);
+        return IntStream.range(0, count).map(i -> (int) (origin + permutation.valueAt(i)));
+    }
+
+    /**
+     * Returns a stream of {@code count} distinct random {@code long} values between {@code origin} (inclusive) and
+     * {@code bound} (exclusive).
+     *
+     * See {@link #uniqueInts(int, int, int)}.
+     *
+     * @throws IllegalArgumentException if {@code origin} is not less than {@code bound}, if the range is larger than
+     *         {@link Long#MAX_VALUE}, or if {@code count} is negative or greater than the size of the range.
+     */
+    public LongStream uniqueLongs(long count, long origin, long bound) {
+        checkBound(origin < bound);
+        long range = bound - origin;
+        if (range < 0L) {
+            throw new IllegalArgumentException("The range must not be larger than Long.MAX_VALUE");
+        }
+        RandomPermutation permutation = uniquePermutation(count, range);
+        return LongStream.range(0L, count).map(i -> origin + permutation.valueAt(i));
+    }
+
+    /**
+     * Returns a stream of {@code count} distinct random non-negative {@code long} values, e.g., for unique ids.
+     *
+     * See {@link #uniqueLongs(long, long, long)}.
+     */
+    public LongStream uniqueLongs(long count) {
+        return uniqueLongs(count, 0L, Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns a stream of {@code count} distinct random strings of the given length and alphabet.
+     *
+     * Each string encodes an element of a {@link #permutation(long)} in as many characters as it takes, and if there
+     * are more characters than that, they are derived from the element as well.
+     *
+     * @throws IllegalArgumentException if {@code length} is negative, or if {@code count} is negative or greater than
+     *         the number of distinct strings (or {@link Long#MAX_VALUE}).
+     */
+    public Stream<String> uniqueStrings(long count, Alphabet alphabet, int length) {
+        checkLength(length);
+        int size = alphabet.size();
+
+        // Find how many characters can encode a permutation's elements
+        long domain = 1L;
+        int digits = 0;
+        while (digits < length && domain <= Long.MAX_VALUE / size) {
+            domain *= size;
+            ++digits;
+        }
+
+        RandomPermutation permutation = uniquePermutation(count, domain);
+        long fillerSeed = nextWord();
+        int encodedDigits = digits;
+        return LongStream.range(0L, count).mapToObj(i -> {
+            long element = permutation.valueAt(i);
+            char[] chars = new char[length];
+            long value = element;
+            for (int c = length - 1; c >= length - encodedDigits; --c) {
+                chars[c] = alphabet.charAt((int) (value % size));
+                value /= size;
+            }
+            for (int c = 0; c < length - encodedDigits; ++c) {
+                chars[c] = alphabet.charAt((int) Long.remainderUnsigned(deriveSeed(fillerSeed ^ element, c), size));
+            }
+            return new String(chars);
+        });
+    }
+
+    private RandomPermutation uniquePermutation(long count, long range) {
+        if (count < 0L || count > range) {
+            throw new IllegalArgumentException("Cannot generate " + count + " unique values out of " + range);
+        }
+        return permutation(range);
+    }
+
+    /* --- Range Utility Methods --- */
+
+    private static void checkRange(int length, int fromIndex, int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        if (fromIndex < 0) {
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        }
+        if (toIndex > length) {
+            throw new ArrayIndexOutOfBoundsException(toIndex);
+        }
+    }
+
+    private static void checkBound(boolean originLessThanBound) {
+        if (!originLessThanBound) {
+            throw new IllegalArgumentException("bound must be greater than origin");
+        }
+    }
+
+    /**
+     * Deterministically picks a new random value when a value has to be rejected to avoid a bias.
+     */
+    private static long rehash(long word) {
+        return SplitMix64Core.mix64(word + SplitMix64Core.GOLDEN_GAMMA);
+    }
+
+    /**
+     * Maps 64 random bits to an unbiased {@code int} in the range [origin, bound), using Lemire's multiply-and-shift
+     * method.
+     */
+    private static int boundedInt(long word, int origin, int bound) {
+        long range = (long) bound - origin;
+        long product = (word >>> Integer.SIZE) * range;
+        if ((product & 0xFFFFFFFFL) < range) {
+            long threshold = ((1L << Integer.SIZE) - range) % range;
+            while ((product & 0xFFFFFFFFL) < threshold) {
+                word = rehash(word);
+                product = (word >>> Integer.SIZE) * range;
+            }
+        }
+        return (int) (origin + (product >>> Integer.SIZE));
+    }
+
+    /**
+     * Maps 64 random bits to an unbiased {@code long} in the range [origin, bound), as
+     * {@link java.util.SplittableRandom} does.
+     */
+    private static long boundedLong(long word, long origin, long bound) {
+        long range = bound - origin;
+        long mask = range - 1;
+        if ((range & mask) == 0L) {
+            // A power of two
+            return (word & mask) + origin;
+        }
+        if (range > 0L) {
+            long u = word >>> 1;
+            long r = u % range;
+            while (u + mask - r < 0L) {
+                word = rehash(word);
+                u = word >>> 1;
+                r = u % range;
+            }
+            return r + origin;
+        }
+        // The range does not fit in a long, so just reject anything outside it
+        while (word < origin || word >= bound) {
+            word = rehash(word);
+        }
+        return word;
+    }
+
+    /**
+     * Maps 64 random bits to a {@code double} in the range [origin, bound).
+     */
+    private static double boundedDouble(long word, double origin, double bound) {
+        double d = (word >>> 11) * DOUBLE_UNIT * (bound - origin) + origin;
+        return d < bound ? d : Math.nextDown(bound);
+    }
+
     /* -- Big Integer related methods -- */
 
     /**
@@ -465,6 +1550,85 @@ public class SeedableRandom extends Random {
      * @return A random enum from the given enum.
      */
     public <T extends Enum<?>> T nextEnum(Class<T> enumClass) {
-        return pickRandom(enumClass.getEnumConstants());
+        Object[] constants = ENUM_CONSTANTS.get(enumClass);
+        if (constants == null) {
+            throw new IllegalArgumentException(enumClass + " is not an enum");
+        }
+
+        // noinspection unchecked
+        return (T) constants[super.nextInt(constants.length)];
+    }
+
+    /* --- Generator Registry Methods --- */
+
+    /**
+     * Registers a {@link Generator} for the given type, to be used by {@link #next(Class)} and by
+     * {@link org.bpunit.assertions.POJOAsserter}s using this instance. Registered generators take precedence over
+     * {@code nextXYZ()} methods and over the {@link GeneratorRegistry#defaults()}, and are shared with all the
+     * generators derived from this instance (e.g., by {@link #split()}).
+     *
+     * @return This instance.
+     */
+    public <T> SeedableRandom register(Class<T> type, Generator<? extends T> generator) {
+        getGenerators().register(type, generator);
+        return this;
+    }
+
+    /**
+     * Registers a {@link Generator} factory for all the types matching the given predicate.
+     *
+     * @see #register(Class, Generator)
+     * @see GeneratorRegistry#register(java.util.function.Predicate, java.util.function.Function)
+     * @return This instance.
+     */
+    public SeedableRandom register(Predicate<? super Class<?>> matcher,
+                                   Function<? super Class<?>, ? extends Generator<?>> factory) {
+        getGenerators().register(matcher, factory);
+        return this;
+    }
+
+    /**
+     * Finds the {@link Generator} for the given type: a registered one if there is one, otherwise one calling an
+     * argument-less {@code nextXYZ()} method of this class (see {@link GeneratorRegistry#reflective(Class, Class)}),
+     * and otherwise one of the {@link GeneratorRegistry#defaults()}.
+     *
+     * @return The generator, or {@code null} if there is none.
+     */
+    public <T> Generator<T> getGenerator(Class<T> type) {
+        Generator<T> generator = getGenerators().lookup(type);
+        if (generator == null) {
+            generator = GeneratorRegistry.reflective(getClass(), type);
+        }
+        if (generator == null) {
+            generator = GeneratorRegistry.defaults().lookup(type);
+        }
+        return generator;
+    }
+
+    /**
+     * Generates a random value of the given type, using the {@link Generator} found by {@link #getGenerator(Class)}.
+     *
+     * @throws IllegalArgumentException if there is no generator for the type.
+     */
+    public <T> T next(Class<T> type) {
+        Generator<T> generator = getGenerator(type);
+        if (generator == null) {
+            throw new IllegalArgumentException("No generator for " + type.getName());
+        }
+        return generator.generate(this);
+    }
+
+    private GeneratorRegistry getGenerators() {
+        GeneratorRegistry registry = generators;
+        if (registry == null) {
+            synchronized (this) {
+                registry = generators;
+                if (registry == null) {
+                    registry = new GeneratorRegistry();
+                    generators = registry;
+                }
+            }
+        }
+        return registry;
     }
 }
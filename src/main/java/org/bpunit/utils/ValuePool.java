@@ -0,0 +1,120 @@
+package org.bpunit.utils;
+
+import java.math.BigInteger;
+import java.util.Date;
+import java.util.Random;
+
+import org.bpunit.utils.cores.SplitMix64Core;
+
+/**
+ * A {@link Generator} that hands out values from a pool generated in advance, instead of creating a new value every
+ * time.
+ *
+ * When asserting a huge number of objects, most of the allocations are random values that are discarded right away.
+ * A pool generates a fixed number of values once, from its own seed, and then each value is picked from the pool by
+ * the {@link Random} passed to {@link #generate(Random)}. Picking a value allocates nothing, and is as reproducible as
+ * that {@link Random}.
+ *
+ * Since the same instances are handed out over and over, only values that the code under test does not modify should
+ * be pooled, e.g., {@link String}s and {@link BigInteger}s. Mutable values such as {@link Date}s can be pooled as long
+ * as nothing modifies them.
+ *
+ * E.g., to pool the strings, dates and big integers of all the assertions of a suite:
+ * <pre>
+ * private static final GeneratorRegistry POOLS = ValuePool.registry(ValuePool.DEFAULT_SIZE, 17L);
+ * ...
+ * new POJOAsserterBuillder&lt;&gt;().forPOJO(pojo).withGenerators(POOLS).build().assertProperties();
+ * </pre>
+ *
+ * @param <T>
+ *            The type of the pooled values.
+ */
+public final class ValuePool<T> implements Generator<T> {
+
+    /** The default number of values in a pool. */
+    public static final int DEFAULT_SIZE = 1024;
+
+    private final Object[] values;
+
+    /**
+     * Creates a pool of values generated by the given generator.
+     *
+     * @param generator
+     *            The generator to fill the pool with.
+     * @param size
+     *            The number of values in the pool.
+     * @param seed
+     *            The seed of the random generator the pool is filled with.
+     * @throws IllegalArgumentException if the size is not positive.
+     */
+    public ValuePool(Generator<? extends T> generator, int size, long seed) {
+        this(generator, size, newFiller(seed));
+    }
+
+    private ValuePool(Generator<? extends T> generator, int size, SeedableRandom filler) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        values = new Object[size];
+        for (int i = 0; i < size; ++i) {
+            values[i] = generator.generate(filler);
+        }
+    }
+
+    /**
+     * Creates a pool of values of the given type, generated by {@link SeedableRandom#next(Class)}.
+     *
+     * @param type
+     *            The type of the pooled values.
+     * @param size
+     *            The number of values in the pool.
+     * @param seed
+     *            The seed of the random generator the pool is filled with.
+     * @throws IllegalArgumentException if the size is not positive, or there is no generator for the type.
+     */
+    public static <T> ValuePool<T> of(Class<T> type, int size, long seed) {
+        SeedableRandom filler = newFiller(seed);
+        Generator<T> generator = filler.getGenerator(type);
+        if (generator == null) {
+            throw new IllegalArgumentException("No generator for " + type.getName());
+        }
+        return new ValuePool<>(generator, size, filler);
+    }
+
+    /**
+     * Creates a {@link GeneratorRegistry} with pools of {@link String}s, {@link Date}s and {@link BigInteger}s, the
+     * types that account for most of the allocations of random values. Each pool is filled from its own seed,
+     * derived from the given one.
+     *
+     * @param size
+     *            The number of values in each pool.
+     * @param seed
+     *            The seed the pools' seeds are derived from.
+     */
+    public static GeneratorRegistry registry(int size, long seed) {
+        return new GeneratorRegistry()
+                .register(String.class, of(String.class, size, SeedableRandom.deriveSeed(seed, 0)))
+                .register(Date.class, of(Date.class, size, SeedableRandom.deriveSeed(seed, 1)))
+                .register(BigInteger.class, of(BigInteger.class, size, SeedableRandom.deriveSeed(seed, 2)));
+    }
+
+    private static SeedableRandom newFiller(long seed) {
+        return new SeedableRandom(seed, new SplitMix64Core());
+    }
+
+    /**
+     * Picks a value from the pool.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T generate(Random random) {
+        return (T) values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Returns the number of values in the pool.
+     */
+    public int size() {
+        return values.length;
+    }
+}
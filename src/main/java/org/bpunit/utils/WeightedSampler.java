@@ -0,0 +1,142 @@
+package org.bpunit.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A reusable sampler that picks elements according to their weights in constant time, using Vose's alias method.
+ *
+ * Building the sampler takes linear time, after which each sample takes a single random index and a single random
+ * coin flip, regardless of the number of elements or how skewed their weights are.
+ *
+ * @param <T>
+ *            The type of the sampled elements.
+ */
+public class WeightedSampler<T> {
+
+    /** The elements to sample, or {@code null} for a sampler of indexes. */
+    private final Object[] elements;
+
+    /** The probability of picking each column's own element rather than its alias. */
+    private final double[] probabilities;
+
+    /** The alias of each column. */
+    private final int[] aliases;
+
+    /**
+     * @param elements
+     *            The elements to sample.
+     * @param weights
+     *            The non-negative weight of each element. The weights do not have to add up to any specific sum.
+     */
+    public WeightedSampler(List<? extends T> elements, double[] weights) {
+        this(elements.toArray(), weights);
+    }
+
+    /**
+     * Creates a sampler of the indexes of the given weights, which only supports {@link #sampleIndex(Random)}.
+     */
+    WeightedSampler(double[] weights) {
+        this((Object[]) null, weights);
+    }
+
+    private WeightedSampler(Object[] elements, double[] weights) {
+        int n = elements != null ? elements.length : weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("Cannot sample an empty list of elements");
+        }
+        if (n != weights.length) {
+            throw new IllegalArgumentException("Got " + n + " elements, but " + weights.length + " weights");
+        }
+
+        double sum = 0.0D;
+        for (double weight : weights) {
+            if (!(weight >= 0.0D) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be finite and non-negative, got " + weight);
+            }
+            sum += weight;
+        }
+        if (sum <= 0.0D) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+
+        this.elements = elements;
+        this.probabilities = new double[n];
+        this.aliases = new int[n];
+
+        // Scale the weights so their average is 1, and split them to columns that are under-full and over-full
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < n; ++i) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1.0D) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+
+        // Top up each under-full column with an over-full one
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0D;
+            if (scaled[more] < 1.0D) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+
+        // Whatever remains is full, up to rounding errors
+        while (largeSize > 0) {
+            probabilities[large[--largeSize]] = 1.0D;
+        }
+        while (smallSize > 0) {
+            probabilities[small[--smallSize]] = 1.0D;
+        }
+    }
+
+    /**
+     * Creates a sampler from a map of elements to their weights.
+     */
+    public static <T> WeightedSampler<T> of(Map<? extends T, ? extends Number> weights) {
+        List<T> elements = new ArrayList<>(weights.size());
+        double[] values = new double[weights.size()];
+        for (Map.Entry<? extends T, ? extends Number> entry : weights.entrySet()) {
+            values[elements.size()] = entry.getValue().doubleValue();
+            elements.add(entry.getKey());
+        }
+        return new WeightedSampler<>(elements, values);
+    }
+
+    /**
+     * Picks a random element, according to the weights.
+     */
+    public T sample(Random random) {
+        // noinspection unchecked
+        return (T) elements[sampleIndex(random)];
+    }
+
+    /**
+     * Picks the index of a random element, according to the weights.
+     */
+    public int sampleIndex(Random random) {
+        int column = random.nextInt(probabilities.length);
+        return random.nextDouble() < probabilities[column] ? column : aliases[column];
+    }
+
+    /**
+     * Returns the number of elements the sampler picks from.
+     */
+    public int size() {
+        return probabilities.length;
+    }
+}
@@ -0,0 +1,136 @@
+package org.bpunit.utils;
+
+import java.util.Random;
+
+/**
+ * Marsaglia and Tsang's ziggurat method for sampling the standard normal and exponential distributions.
+ *
+ * Almost all the samples take a single random word, a table lookup and a multiplication. Unlike the original
+ * algorithm, the layer and the sample are picked by different bits of a 64-bit word, since picking them by the same
+ * bits correlates them.
+ *
+ * @see <a href="https://www.jstatsoft.org/article/view/v005i08">Marsaglia and Tsang, The Ziggurat Method for
+ *      Generating Random Variables</a>
+ */
+final class Ziggurat {
+
+    /* --- Normal Distribution Tables --- */
+
+    private static final int NORMAL_LAYERS = 128;
+    private static final double NORMAL_R = 3.442619855899;
+    private static final double NORMAL_V = 9.91256303526217e-3;
+    private static final long[] KN = new long[NORMAL_LAYERS];
+    private static final double[] WN = new double[NORMAL_LAYERS];
+    private static final double[] FN = new double[NORMAL_LAYERS];
+
+    static {
+        double m1 = 0x1.0p31;
+        double dn = NORMAL_R;
+        double tn = dn;
+        double q = NORMAL_V / Math.exp(-0.5 * dn * dn);
+        KN[0] = (long) ((dn / q) * m1);
+        KN[1] = 0L;
+        WN[0] = q / m1;
+        WN[NORMAL_LAYERS - 1] = dn / m1;
+        FN[0] = 1.0;
+        FN[NORMAL_LAYERS - 1] = Math.exp(-0.5 * dn * dn);
+        for (int i = NORMAL_LAYERS - 2; i >= 1; --i) {
+            dn = Math.sqrt(-2.0 * Math.log(NORMAL_V / dn + Math.exp(-0.5 * dn * dn)));
+            KN[i + 1] = (long) ((dn / tn) * m1);
+            tn = dn;
+            FN[i] = Math.exp(-0.5 * dn * dn);
+            WN[i] = dn / m1;
+        }
+    }
+
+    /* --- Exponential Distribution Tables --- */
+
+    private static final int EXPONENTIAL_LAYERS = 256;
+    private static final double EXPONENTIAL_R = 7.697117470131487;
+    private static final double EXPONENTIAL_V = 3.949659822581572e-3;
+    private static final long[] KE = new long[EXPONENTIAL_LAYERS];
+    private static final double[] WE = new double[EXPONENTIAL_LAYERS];
+    private static final double[] FE = new double[EXPONENTIAL_LAYERS];
+
+    static {
+        double m2 = 0x1.0p32;
+        double de = EXPONENTIAL_R;
+        double te = de;
+        double q = EXPONENTIAL_V / Math.exp(-de);
+        KE[0] = (long) ((de / q) * m2);
+        KE[1] = 0L;
+        WE[0] = q / m2;
+        WE[EXPONENTIAL_LAYERS - 1] = de / m2;
+        FE[0] = 1.0;
+        FE[EXPONENTIAL_LAYERS - 1] = Math.exp(-de);
+        for (int i = EXPONENTIAL_LAYERS - 2; i >= 1; --i) {
+            de = -Math.log(EXPONENTIAL_V / de + Math.exp(-de));
+            KE[i + 1] = (long) ((de / te) * m2);
+            te = de;
+            FE[i] = Math.exp(-de);
+            WE[i] = de / m2;
+        }
+    }
+
+    private Ziggurat() {
+    }
+
+    /**
+     * Samples the standard normal distribution.
+     */
+    static double normal(Random random) {
+        while (true) {
+            long bits = random.nextLong();
+            int layer = (int) bits & (NORMAL_LAYERS - 1);
+            long hz = (int) (bits >> 32);
+            double x = hz * WN[layer];
+            if (Math.abs(hz) < KN[layer]) {
+                return x;
+            }
+
+            if (layer == 0) {
+                // The tail, beyond R
+                double tail;
+                double y;
+                do {
+                    tail = -Math.log(nextOpenDouble(random)) / NORMAL_R;
+                    y = -Math.log(nextOpenDouble(random));
+                } while (y + y < tail * tail);
+                return hz > 0 ? NORMAL_R + tail : -NORMAL_R - tail;
+            }
+            if (FN[layer] + nextOpenDouble(random) * (FN[layer - 1] - FN[layer]) < Math.exp(-0.5 * x * x)) {
+                return x;
+            }
+        }
+    }
+
+    /**
+     * Samples the standard exponential distribution.
+     */
+    static double exponential(Random random) {
+        while (true) {
+            long bits = random.nextLong();
+            int layer = (int) bits & (EXPONENTIAL_LAYERS - 1);
+            long jz = bits >>> 32;
+            double x = jz * WE[layer];
+            if (jz < KE[layer]) {
+                return x;
+            }
+
+            if (layer == 0) {
+                // The tail, beyond R, is just a shifted exponential distribution
+                return EXPONENTIAL_R - Math.log(nextOpenDouble(random));
+            }
+            if (FE[layer] + nextOpenDouble(random) * (FE[layer - 1] - FE[layer]) < Math.exp(-x)) {
+                return x;
+            }
+        }
+    }
+
+    /**
+     * Randomizes a {@code double} value in the range (0, 1], so its logarithm is finite.
+     */
+    static double nextOpenDouble(Random random) {
+        return 1.0 - random.nextDouble();
+    }
+}
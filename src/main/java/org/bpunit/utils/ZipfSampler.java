@@ -0,0 +1,45 @@
+package org.bpunit.utils;
+
+import java.util.Random;
+
+/**
+ * A reusable sampler of a Zipf (power-law) distribution over the ranks 1 to n, where the probability of rank k is
+ * proportional to 1/k<sup>exponent</sup>. This is the typical distribution of keys in production traffic, where a few
+ * keys are very popular and most are rarely used.
+ *
+ * The probabilities of all the ranks are precomputed into a {@link WeightedSampler}'s tables, so sampling takes
+ * constant time, and the sampler takes memory linear in n.
+ */
+public class ZipfSampler {
+
+    private final WeightedSampler<?> ranks;
+
+    /**
+     * @param n
+     *            The number of ranks.
+     * @param exponent
+     *            The non-negative exponent of the distribution. 0 is a uniform distribution, and larger exponents
+     *            are more skewed towards the first ranks.
+     */
+    public ZipfSampler(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive, got " + n);
+        }
+        if (!(exponent >= 0.0) || Double.isInfinite(exponent)) {
+            throw new IllegalArgumentException("exponent must be finite and non-negative, got " + exponent);
+        }
+
+        double[] weights = new double[n];
+        for (int k = 1; k <= n; ++k) {
+            weights[k - 1] = Math.pow(k, -exponent);
+        }
+        ranks = new WeightedSampler<>(weights);
+    }
+
+    /**
+     * Samples a rank, between 1 and n (inclusive), from the distribution.
+     */
+    public int sample(Random random) {
+        return ranks.sampleIndex(random) + 1;
+    }
+}
@@ -0,0 +1,188 @@
+package org.bpunit.utils.cores;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A {@link RandomCore} that generates another core's values in blocks, in the background, so generating a value is
+ * just reading the next element of an array.
+ *
+ * The core is double-buffered: while one block is consumed, the next one is generated by a background thread.
+ * Since the blocks are generated one after the other, by a single task at a time, the core's {@link #nextLong()}
+ * generates exactly the same sequence as the wrapped core's. Narrower values are taken from the high bits of those
+ * (see {@link RandomCore#next(int)}), so they only match the wrapped core's if it does not override
+ * {@link RandomCore#next(int)}, as {@link LinearCongruentialCore} does.
+ *
+ * Reseeding is lazy, and the values following a reseed are taken from the wrapped core directly until a block's worth
+ * of them was consumed, so a core reseeded every few values (e.g., for every row of a dataset) does not generate
+ * blocks only to discard them.
+ *
+ * Note that a background refill is always in flight once the core is used, so the wrapped core must not be used
+ * directly.
+ */
+public class BufferedCore implements RandomCore {
+    private static final long serialVersionUID = 1L;
+
+    /** The default number of values in each block. */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    /** The default executor for generating the blocks. */
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "bpunit-buffered-core");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final RandomCore delegate;
+    private final int blockSize;
+    private final transient Executor executor;
+
+    /** The block values are currently read from, or {@code null} if there is none. */
+    private transient long[] current;
+
+    /** The index of the next value in {@link #current}. */
+    private transient int index;
+
+    /** The block being generated in the background, or {@code null} if there is none. */
+    private transient CompletableFuture<long[]> next;
+
+    /** An array for the next block to be generated into, or {@code null} if there is none. */
+    private transient long[] spare;
+
+    /** The number of values to take from the wrapped core directly before buffering again. */
+    private transient int unbuffered;
+
+    /** The seed the wrapped core is to be reseeded with before the next value, if {@link #reseeding}. */
+    private long seed;
+
+    /** Whether the core was reseeded since its last value. */
+    private boolean reseeding;
+
+    /**
+     * Constructs a core generating the given core's values in blocks of {@link #DEFAULT_BLOCK_SIZE}.
+     */
+    public BufferedCore(RandomCore delegate) {
+        this(delegate, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Constructs a core generating the given core's values in blocks of the given size.
+     */
+    public BufferedCore(RandomCore delegate, int blockSize) {
+        this(delegate, blockSize, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * @param delegate
+     *            The core to generate the values with.
+     * @param blockSize
+     *            The number of values in each block.
+     * @param executor
+     *            The executor to generate the blocks in the background with.
+     */
+    public BufferedCore(RandomCore delegate, int blockSize, Executor executor) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("A buffered core needs a core to buffer");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        this.delegate = delegate;
+        this.blockSize = blockSize;
+        this.executor = executor;
+    }
+
+    @Override
+    public BufferedCore newInstance() {
+        return new BufferedCore(delegate.newInstance(), blockSize, executor);
+    }
+
+    /**
+     * Discards the buffered values. The wrapped core is only reseeded when the next value is generated.
+     */
+    @Override
+    public void setSeed(long seed) {
+        this.seed = seed;
+        reseeding = true;
+    }
+
+    @Override
+    public long nextLong() {
+        if (reseeding) {
+            reseed();
+        }
+        if (unbuffered > 0) {
+            --unbuffered;
+            return delegate.nextLong();
+        }
+        if (current == null || index == current.length) {
+            swap();
+        }
+        return current[index++];
+    }
+
+    /**
+     * Waits for the background refill, if there is one, keeping its array for later blocks, reseeds the wrapped core,
+     * and discards the buffered values.
+     */
+    private void reseed() {
+        if (next != null) {
+            try {
+                spare = next.join();
+            } catch (CompletionException e) {
+                // The block is discarded anyway
+            }
+            next = null;
+        }
+        delegate.setSeed(seed);
+        reseeding = false;
+        unbuffered = blockSize;
+        index = current != null ? current.length : 0;
+    }
+
+    /**
+     * Replaces the consumed block with the one generated in the background, and starts generating the next one into
+     * the consumed block's array.
+     */
+    private void swap() {
+        long[] filled = next != null ? await(next) : fill(takeSpare());
+        long[] recycled = current != null ? current : takeSpare();
+        current = filled;
+        index = 0;
+        // A deserialized core has no executor, so it generates its blocks synchronously
+        next = executor != null
+                ? CompletableFuture.supplyAsync(() -> fill(recycled), executor)
+                : CompletableFuture.completedFuture(fill(recycled));
+    }
+
+    private long[] takeSpare() {
+        long[] block = spare != null ? spare : new long[blockSize];
+        spare = null;
+        return block;
+    }
+
+    private long[] fill(long[] block) {
+        for (int i = 0; i < block.length; ++i) {
+            block[i] = delegate.nextLong();
+        }
+        return block;
+    }
+
+    private static long[] await(CompletableFuture<long[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
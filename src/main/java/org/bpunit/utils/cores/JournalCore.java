@@ -0,0 +1,261 @@
+package org.bpunit.utils.cores;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link RandomCore} that records every value another core generates to a journal file, or replays the values of a
+ * recorded journal.
+ *
+ * The journal is a memory-mapped file, so recording a value is a single store to memory and recorded values do not
+ * occupy the heap. Since the number of recorded values is kept up to date in the file's header, a journal can be
+ * replayed even if the recording process did not close it (e.g., it was killed by a timeout).
+ *
+ * The journal records the random bits themselves rather than the seed, so a replay generates exactly the same values
+ * regardless of the core that recorded them. The values are served in the order they were recorded, so a replay
+ * reproduces a run as long as it draws from the core in the same order.
+ *
+ * Cores derived by {@link #newInstance()} (e.g., by {@link org.bpunit.utils.SeedableRandom#split()}) share their
+ * parent's journal, so a whole single-threaded run, including the generators derived from its
+ * {@link org.bpunit.utils.SeedableRandom}, is recorded in a single journal.
+ *
+ * This has a few limitations:
+ * <ul>
+ * <li>A replay is only faithful if it draws the same number of values, in the same order, as the recorded run. The
+ * values are not keyed by what they were drawn for, so drawing one more or one less value shifts all the values after
+ * it.</li>
+ * <li>A journal, and thus all the cores sharing it, can only be used by one thread at a time. Concurrent use is
+ * detected, and fails with an {@link IllegalStateException}, rather than interleaving the values in a way a replay
+ * cannot reproduce. Handing the cores over from one thread to another (e.g., to a single worker thread) is fine.</li>
+ * <li>The journal is not serialized, so a deserialized {@code JournalCore} cannot generate values, and fails with an
+ * {@link IllegalStateException}.</li>
+ * </ul>
+ */
+public class JournalCore implements RandomCore, Closeable {
+    private static final long serialVersionUID = 1L;
+
+    /** The first bytes of every journal file ("BPUJRNL" and a version byte). */
+    private static final long MAGIC = 0x4250554A524E4C01L;
+
+    /** The header holds the magic number and the number of recorded values. */
+    private static final int HEADER_SIZE = 2 * Long.BYTES;
+    private static final int COUNT_OFFSET = Long.BYTES;
+
+    /** The size of each memory-mapped region of the journal. */
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    /** The journal this core reads from or writes to, or {@code null} if this core was deserialized. */
+    private final transient Journal journal;
+
+    /** The core generating the recorded values, or {@code null} when replaying. */
+    private final RandomCore delegate;
+
+    private JournalCore(Journal journal, RandomCore delegate) {
+        this.journal = journal;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Creates a core that generates values with the given core, and records them to a journal file. An existing
+     * file is overwritten.
+     *
+     * @param path
+     *            The journal file.
+     * @param delegate
+     *            The core to generate the values with.
+     * @throws IOException if the journal file cannot be created.
+     */
+    public static JournalCore record(Path path, RandomCore delegate) throws IOException {
+        if (delegate == null) {
+            throw new IllegalArgumentException("A journal needs a core to record");
+        }
+        return new JournalCore(new Journal(path, true), delegate);
+    }
+
+    /**
+     * Creates a core that replays the values recorded to a journal file.
+     *
+     * @param path
+     *            The journal file.
+     * @throws IOException if the journal file cannot be read, or if it is not a journal.
+     */
+    public static JournalCore replay(Path path) throws IOException {
+        return new JournalCore(new Journal(path, false), null);
+    }
+
+    /**
+     * Creates a core sharing this core's journal. When recording, the new core generates its values with a new
+     * instance of the recorded core.
+     */
+    @Override
+    public JournalCore newInstance() {
+        return new JournalCore(journal, delegate != null ? delegate.newInstance() : null);
+    }
+
+    /**
+     * Seeds the recorded core. When replaying, the seed is ignored, since the values are already known.
+     */
+    @Override
+    public void setSeed(long seed) {
+        if (delegate != null) {
+            delegate.setSeed(seed);
+        }
+    }
+
+    /**
+     * Generates and records the next value or, when replaying, returns the next recorded value.
+     *
+     * @throws IllegalStateException if all the recorded values were already replayed, if another thread is using the
+     *             journal, or if this core was deserialized.
+     */
+    @Override
+    public long nextLong() {
+        Journal journal = getJournal();
+        journal.acquire();
+        try {
+            if (delegate == null) {
+                return journal.read();
+            }
+            long value = delegate.nextLong();
+            journal.write(value);
+            return value;
+        } finally {
+            journal.release();
+        }
+    }
+
+    /**
+     * Returns whether this core replays a journal, rather than recording one.
+     */
+    public boolean isReplaying() {
+        return delegate == null;
+    }
+
+    /**
+     * Returns the number of values recorded or replayed so far, by this core and all the cores sharing its journal.
+     */
+    public long getCount() {
+        return getJournal().position;
+    }
+
+    /**
+     * Closes the journal file. The cores sharing the journal cannot be used afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        getJournal().close();
+    }
+
+    private Journal getJournal() {
+        if (journal == null) {
+            throw new IllegalStateException("A deserialized JournalCore has no journal");
+        }
+        return journal;
+    }
+
+    /** A journal file, mapped to memory a chunk at a time. */
+    private static class Journal {
+        private final Path path;
+        private final FileChannel channel;
+        private final boolean recording;
+
+        /** The header, for updating the number of values when recording. */
+        private final MappedByteBuffer header;
+
+        /** The number of values recorded in the journal, or {@code -1} when recording. */
+        private final long count;
+
+        /** The mapped chunk values are currently read from or written to. */
+        private ByteBuffer chunk = ByteBuffer.allocate(0);
+
+        /** The number of values read or written so far. */
+        private long position;
+
+        /** Whether a thread is currently reading or writing a value, to detect concurrent use. */
+        private final AtomicBoolean busy = new AtomicBoolean();
+
+        private Journal(Path path, boolean recording) throws IOException {
+            this.path = path;
+            this.recording = recording;
+            if (recording) {
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+                header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+                header.order(ByteOrder.LITTLE_ENDIAN);
+                header.putLong(0, MAGIC).putLong(COUNT_OFFSET, 0L);
+                count = -1L;
+            } else {
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+                ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // Keep reading until the header is full or the file ends
+                }
+                if (buffer.hasRemaining() || buffer.getLong(0) != MAGIC) {
+                    channel.close();
+                    throw new IOException(path + " is not a BPUnit journal");
+                }
+                header = null;
+                count = buffer.getLong(COUNT_OFFSET);
+            }
+        }
+
+        private void acquire() {
+            if (!busy.compareAndSet(false, true)) {
+                throw new IllegalStateException("The journal " + path + " is used by several threads at once");
+            }
+        }
+
+        private void release() {
+            busy.set(false);
+        }
+
+        private void write(long value) {
+            if (!chunk.hasRemaining()) {
+                chunk = map(FileChannel.MapMode.READ_WRITE);
+            }
+            chunk.putLong(value);
+            header.putLong(COUNT_OFFSET, ++position);
+        }
+
+        private long read() {
+            if (position >= count) {
+                throw new IllegalStateException("The journal " + path + " only recorded " + count + " values");
+            }
+            if (!chunk.hasRemaining()) {
+                chunk = map(FileChannel.MapMode.READ_ONLY);
+            }
+            ++position;
+            return chunk.getLong();
+        }
+
+        /**
+         * Maps the chunk of the journal the next value is in.
+         */
+        private ByteBuffer map(FileChannel.MapMode mode) {
+            long start = HEADER_SIZE + position * Long.BYTES;
+            long size = recording ? CHUNK_SIZE : Math.min(CHUNK_SIZE, (count - position) * Long.BYTES);
+            try {
+                return channel.map(mode, start, size).order(ByteOrder.LITTLE_ENDIAN);
+            } catch (IOException e) {
+                throw new IllegalStateException("Can't map the journal " + path, e);
+            }
+        }
+
+        private void close() throws IOException {
+            if (header != null) {
+                header.force();
+            }
+            if (chunk instanceof MappedByteBuffer) {
+                ((MappedByteBuffer) chunk).force();
+            }
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.bpunit.utils.cores;
+
+/**
+ * A {@link RandomCore} that can efficiently skip ahead a large, fixed number of values, so that a single seed can be
+ * partitioned into many non-overlapping streams.
+ */
+public interface JumpableCore extends RandomCore {
+    /**
+     * Creates a new core in exactly the same state as this one.
+     */
+    JumpableCore copy();
+
+    /**
+     * Advances the core's state as if a large number of values were generated.
+     */
+    void jump();
+
+    /**
+     * Advances the core's state as if a much larger number of values than {@link #jump()} does were generated.
+     */
+    void leap();
+}
@@ -0,0 +1,44 @@
+package org.bpunit.utils.cores;
+
+/**
+ * A {@link RandomCore} implementing the same 48-bit linear congruential generator {@link java.util.Random} uses, and
+ * thus generating the same bits for the same seed.
+ * A {@link org.bpunit.utils.SeedableRandom} with this core therefore returns the same values as
+ * {@link java.util.Random} from the methods built on {@code next(int)} and {@code nextLong()}, i.e.,
+ * {@code nextInt}, {@code nextLong}, {@code nextBoolean} and {@code nextFloat}. It does not from
+ * {@code nextDouble()}, {@code nextGaussian()} and {@code nextBytes(byte[])}, which take their bits from
+ * {@code nextLong()} at once, and sample the normal distribution with a different algorithm.
+ *
+ * Unlike {@link java.util.Random}, it keeps its state in a plain {@code long} instead of an
+ * {@link java.util.concurrent.atomic.AtomicLong}, so it does not pay for a compare-and-set on every call.
+ */
+public class LinearCongruentialCore implements RandomCore {
+    private static final long serialVersionUID = 1L;
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state;
+
+    @Override
+    public LinearCongruentialCore newInstance() {
+        return new LinearCongruentialCore();
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    public int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    @Override
+    public long nextLong() {
+        return ((long) next(Integer.SIZE) << Integer.SIZE) + next(Integer.SIZE);
+    }
+}
@@ -0,0 +1,32 @@
+package org.bpunit.utils.cores;
+
+import java.io.Serializable;
+
+/**
+ * An interface describing the algorithm a {@link org.bpunit.utils.SeedableRandom} uses to generate its random bits.
+ *
+ * Unlike {@link java.util.Random}, cores are not thread safe, and are not supposed to be shared between threads.
+ */
+public interface RandomCore extends Serializable {
+    /**
+     * Resets the core's state from the given seed.
+     */
+    void setSeed(long seed);
+
+    /**
+     * Generates the next 64 random bits.
+     */
+    long nextLong();
+
+    /**
+     * Generates the next {@code bits} random bits, as described by {@link java.util.Random#next(int)}.
+     */
+    default int next(int bits) {
+        return (int) (nextLong() >>> (Long.SIZE - bits));
+    }
+
+    /**
+     * Creates a new, unseeded, core of the same algorithm.
+     */
+    RandomCore newInstance();
+}
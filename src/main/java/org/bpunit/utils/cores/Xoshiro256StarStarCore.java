@@ -0,0 +1,100 @@
+package org.bpunit.utils.cores;
+
+/**
+ * A {@link RandomCore} implementing Blackman and Vigna's xoshiro256** generator.
+ *
+ * xoshiro256** has a period of 2<sup>256</sup>-1 and passes all known statistical tests. Its 256-bit state is
+ * initialized from the 64-bit seed with {@link SplitMix64Core}, as its authors recommend.
+ *
+ * {@link #jump()} skips 2<sup>128</sup> values and {@link #leap()} skips 2<sup>192</sup> values, so a single seed can
+ * provide 2<sup>64</sup> streams of 2<sup>128</sup> values each.
+ */
+public class Xoshiro256StarStarCore implements JumpableCore {
+    private static final long serialVersionUID = 1L;
+
+    /** The jump polynomial for skipping 2<sup>128</sup> values. */
+    private static final long[] JUMP =
+            {0x180EC6D33CFD0ABAL, 0xD5A61266F0C9392CL, 0xA9582618E03FC9AAL, 0x39ABDC4529B1661CL};
+
+    /** The jump polynomial for skipping 2<sup>192</sup> values. */
+    private static final long[] LONG_JUMP =
+            {0x76E15D3EFEFDCBBFL, 0xC5004E441C522FB3L, 0x77710069854EE241L, 0x39109BB02ACBE635L};
+
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    @Override
+    public Xoshiro256StarStarCore newInstance() {
+        return new Xoshiro256StarStarCore();
+    }
+
+    @Override
+    public Xoshiro256StarStarCore copy() {
+        Xoshiro256StarStarCore copy = new Xoshiro256StarStarCore();
+        copy.s0 = s0;
+        copy.s1 = s1;
+        copy.s2 = s2;
+        copy.s3 = s3;
+        return copy;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        SplitMix64Core seeder = new SplitMix64Core();
+        seeder.setSeed(seed);
+        s0 = seeder.nextLong();
+        s1 = seeder.nextLong();
+        s2 = seeder.nextLong();
+        s3 = seeder.nextLong();
+    }
+
+    @Override
+    public long nextLong() {
+        long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    @Override
+    public void jump() {
+        jump(JUMP);
+    }
+
+    @Override
+    public void leap() {
+        jump(LONG_JUMP);
+    }
+
+    /**
+     * Advances the state by multiplying it with the given jump polynomial.
+     */
+    private void jump(long[] polynomial) {
+        long t0 = 0;
+        long t1 = 0;
+        long t2 = 0;
+        long t3 = 0;
+        for (long word : polynomial) {
+            for (int b = 0; b < Long.SIZE; ++b) {
+                if ((word & (1L << b)) != 0) {
+                    t0 ^= s0;
+                    t1 ^= s1;
+                    t2 ^= s2;
+                    t3 ^= s3;
+                }
+                nextLong();
+            }
+        }
+        s0 = t0;
+        s1 = t1;
+        s2 = t2;
+        s3 = t3;
+    }
+}
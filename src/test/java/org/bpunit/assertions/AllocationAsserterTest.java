@@ -0,0 +1,104 @@
+package org.bpunit.assertions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.bpunit.examples.CollectingBehavior;
+import org.bpunit.examples.SomeClassWithAllocatingAccessors;
+import org.bpunit.examples.SomeClassWithPlainAccessors;
+import org.bpunit.examples.SomeClassWithThrowingGetter;
+import org.bpunit.utils.SeedableRandom;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A test case for the {@link AllocationAsserter} class.
+ */
+public class AllocationAsserterTest {
+    private final CollectingBehavior collectingBehavior = new CollectingBehavior();
+    private final List<String> failures = collectingBehavior.getMessages();
+
+    @Test
+    public void allocationFree() {
+        AllocationReport report = assertCollecting(new AllocationAsserterBuilder()
+                .forPOJO(new SomeClassWithPlainAccessors())
+                .withDefaultBudget(0));
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(4, report.getProperties().size(), report.toString());
+        for (AllocationReport.PropertyAllocation property : report.getProperties()) {
+            assertEquals(0.0, property.getGetterBytes(), 0.5, report.toString());
+            assertEquals(0.0, property.getSetterBytes(), 0.5, report.toString());
+        }
+    }
+
+    @Test
+    public void primitiveAllocating() {
+        AllocationReport report = assertCollecting(new AllocationAsserterBuilder().forPOJO(new SomeClassWithAllocatingAccessors()));
+
+        // Only the primitive property has a budget by default
+        assertEquals(1, failures.size(), failures.toString());
+        assertTrue(failures.get(0).startsWith("Getter of property Id of"), failures.get(0));
+        AllocationReport.PropertyAllocation created = report.getProperty("Created");
+        assertEquals(Long.MAX_VALUE, created.getBudget());
+        assertTrue(created.getGetterBytes() >= 16.0, report.toString());
+        assertTrue(created.getSetterBytes() >= 16.0, report.toString());
+        assertEquals(0.0, report.getProperty("Name").getGetterBytes(), 0.5, report.toString());
+    }
+
+    @Test
+    public void budgets() {
+        assertCollecting(new AllocationAsserterBuilder()
+                .forPOJO(new SomeClassWithAllocatingAccessors())
+                .withBudget(int.class, 1024)
+                .withBudget(Date.class, 0)
+                .withDefaultBudget(0));
+        assertEquals(2, failures.size(), failures.toString());
+        assertTrue(failures.get(0).startsWith("Getter of property Created of"), failures.get(0));
+        assertTrue(failures.get(1).startsWith("Setter of property Created of"), failures.get(1));
+    }
+
+    @Test
+    public void throwingAccessor() {
+        AllocationReport report = assertCollecting(new AllocationAsserterBuilder().forPOJO(new SomeClassWithThrowingGetter()));
+        assertTrue(report.getProperties().isEmpty(), report.toString());
+        assertEquals(1, failures.size(), failures.toString());
+        assertTrue(failures.get(0).startsWith("Can't measure property Id"), failures.get(0));
+    }
+
+    @Test
+    public void failsByDefault() {
+        AllocationAsserter asserter = new AllocationAsserterBuilder()
+                .forPOJO(new SomeClassWithAllocatingAccessors())
+                .withWarmupCalls(1_000)
+                .withCalls(1_000)
+                .build();
+        assertThrows(AssertionFailedError.class, asserter::assertAllocations);
+    }
+
+    @Test
+    public void invalidArguments() {
+        assertThrows(NullPointerException.class, () -> new AllocationAsserterBuilder().build());
+        assertThrows(IllegalArgumentException.class, () -> new AllocationAsserterBuilder().withCalls(0));
+        assertThrows(IllegalArgumentException.class, () -> new AllocationAsserterBuilder().withWarmupCalls(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AllocationAsserterBuilder().withBudget(int.class, -1));
+        assertThrows(IllegalArgumentException.class, () -> new AllocationAsserterBuilder().withDefaultBudget(-1));
+    }
+
+    /**
+     * Asserts with fewer calls, collecting the failures.
+     */
+    private AllocationReport assertCollecting(AllocationAsserterBuilder builder) {
+        return builder.withRandom(new SeedableRandom(7L))
+                .withWarmupCalls(5_000)
+                .withCalls(2_000)
+                .withFailureBehavior(collectingBehavior)
+                .build()
+                .assertAllocations();
+    }
+}
@@ -0,0 +1,228 @@
+package org.bpunit.assertions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.bpunit.assertions.behaviors.ThrowingBehavior;
+import org.bpunit.examples.ObjectRandom;
+import org.bpunit.examples.SomeClass;
+import org.bpunit.examples.SomeClassWithThrowingSetter;
+import org.bpunit.utils.SeedableRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A test case for the {@link FailingSeedDatabase} class.
+ */
+public class FailingSeedDatabaseTest {
+    private Path path;
+    private Path probePath;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        path = Files.createTempFile("failing-seeds", ".tsv");
+        Files.delete(path);
+        probePath = path.resolveSibling(path.getFileName() + ".probe");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(probePath);
+    }
+
+    @Test
+    public void persistsFailures() {
+        FailingSeedDatabase db = new FailingSeedDatabase(path);
+        assertEquals(Collections.emptyList(), db.getSeeds(String.class, "Length"));
+        db.recordFailure(String.class, "Length", 7L);
+        db.recordFailure(String.class, "Length", -3L);
+        db.recordFailure(String.class, "Bytes", 1L);
+        assertTrue(Files.exists(path));
+
+        FailingSeedDatabase reloaded = new FailingSeedDatabase(path);
+        assertEquals(Arrays.asList(7L, -3L), reloaded.getSeeds(String.class, "Length"));
+        assertEquals(Collections.singletonList(1L), reloaded.getSeeds(String.class, "Bytes"));
+        assertEquals(Collections.emptyList(), reloaded.getSeeds(Integer.class, "Length"));
+    }
+
+    @Test
+    public void dropsAfterRequiredPasses() {
+        FailingSeedDatabase db = new FailingSeedDatabase(path, 2);
+        db.recordFailure(String.class, "Length", 7L);
+        db.recordPass(String.class, "Length", 7L);
+        assertEquals(Collections.singletonList(7L), new FailingSeedDatabase(path, 2).getSeeds(String.class, "Length"));
+
+        // A failure resets the number of passes
+        db.recordFailure(String.class, "Length", 7L);
+        db.recordPass(String.class, "Length", 7L);
+        assertEquals(Collections.singletonList(7L), db.getSeeds(String.class, "Length"));
+        db.recordPass(String.class, "Length", 7L);
+        assertEquals(Collections.emptyList(), db.getSeeds(String.class, "Length"));
+        assertEquals(Collections.emptyList(), new FailingSeedDatabase(path, 2).getSeeds(String.class, "Length"));
+    }
+
+    @Test
+    public void ignoresUnknownPasses() {
+        FailingSeedDatabase db = new FailingSeedDatabase(path);
+        db.recordPass(String.class, "Length", 7L);
+        assertTrue(!Files.exists(path));
+    }
+
+    @Test
+    public void invalidRequiredPasses() {
+        assertThrows(IllegalArgumentException.class, () -> new FailingSeedDatabase(path, 0));
+    }
+
+    @Test
+    public void replaysFailingSeedsFirst() throws IOException {
+        FailingSeedDatabase db = new FailingSeedDatabase(path, 2);
+
+        // Find a run that fails, and record its seed
+        long runSeed = 0L;
+        while (!fails(new OddLosingClass(true), runSeed, db)) {
+            ++runSeed;
+        }
+        List<Long> seeds = db.getSeeds(OddLosingClass.class, "Value");
+        assertEquals(1, seeds.size());
+
+        // Runs that would pass with their own seeds fail on the recorded seed first
+        long passingRunSeed = runSeed + 1;
+        while (failsOnItsOwn(passingRunSeed)) {
+            ++passingRunSeed;
+        }
+        assertTrue(fails(new OddLosingClass(true), passingRunSeed, db));
+        assertEquals(seeds, db.getSeeds(OddLosingClass.class, "Value"));
+
+        // Once fixed, the seed is dropped after passing twice
+        assertTrue(!fails(new OddLosingClass(false), passingRunSeed, db));
+        assertEquals(seeds, db.getSeeds(OddLosingClass.class, "Value"));
+        assertTrue(!fails(new OddLosingClass(false), passingRunSeed, db));
+        assertEquals(Collections.emptyList(), db.getSeeds(OddLosingClass.class, "Value"));
+    }
+
+    @Test
+    public void leavesTheRandomUntouched() {
+        SeedableRandom random = new SeedableRandom(5L);
+        new POJOAsserterBuillder<OddLosingClass>()
+                .forPOJO(new OddLosingClass(false))
+                .withRandom(random)
+                .withFailingSeedDatabase(new FailingSeedDatabase(path))
+                .build()
+                .assertProperties();
+
+        // Only the property's seed was drawn from the generator
+        SeedableRandom reference = new SeedableRandom(5L);
+        reference.nextLong();
+        assertEquals(5L, random.getSeed());
+        assertEquals(reference.nextLong(), random.nextLong());
+    }
+
+    @Test
+    public void keepsTheRandomsClass() {
+        SomeClass sc = new SomeClass();
+        new POJOAsserterBuillder<SomeClass>()
+                .forPOJO(sc)
+                .withRandom(new ObjectRandom())
+                .withFailingSeedDatabase(new FailingSeedDatabase(path))
+                .build()
+                .assertProperties();
+        assertNotNull(sc.getMyObject());
+    }
+
+    @Test
+    public void seededRandom() {
+        FailingSeedDatabase db = new FailingSeedDatabase(path);
+        db.recordFailure(OddLosingClass.class, "Value", 4L);
+        List<Long> seeds = new ArrayList<>();
+        new POJOAsserterBuillder<OddLosingClass>()
+                .forPOJO(new OddLosingClass(false))
+                .withRandom(new SeedableRandom(5L))
+                .withFailingSeedDatabase(db)
+                .withSeededRandom(seed -> {
+                    seeds.add(seed);
+                    return new Random(seed);
+                })
+                .build()
+                .assertProperties();
+        assertEquals(4L, (long) seeds.get(0));
+        assertEquals(2, seeds.size());
+    }
+
+    @Test
+    public void unseedableRandom() {
+        Random random = new Random() {
+        };
+        assertThrows(IllegalArgumentException.class, () -> new POJOAsserterBuillder<OddLosingClass>()
+                .forPOJO(new OddLosingClass(false))
+                .withRandom(random)
+                .withFailingSeedDatabase(new FailingSeedDatabase(path))
+                .build());
+    }
+
+    @Test
+    public void recordsAnyFailure() {
+        FailingSeedDatabase db = new FailingSeedDatabase(path);
+        POJOAsserter<SomeClassWithThrowingSetter> asserter = new POJOAsserterBuillder<SomeClassWithThrowingSetter>()
+                .forPOJO(new SomeClassWithThrowingSetter())
+                .withRandom(new SeedableRandom(6L))
+                .withFailingSeedDatabase(db)
+                .withPropertyTestFailureBehavior(new ThrowingBehavior())
+                .build();
+        assertThrows(IllegalArgumentException.class, asserter::assertProperties);
+        assertEquals(1, db.getSeeds(SomeClassWithThrowingSetter.class, "SomeProperty").size());
+    }
+
+    /**
+     * Returns whether a run fails with its own seeds, i.e., with an empty database.
+     */
+    private boolean failsOnItsOwn(long seed) throws IOException {
+        Files.deleteIfExists(probePath);
+        return fails(new OddLosingClass(true), seed, new FailingSeedDatabase(probePath));
+    }
+
+    private static boolean fails(OddLosingClass pojo, long seed, FailingSeedDatabase db) {
+        POJOAsserter<OddLosingClass> asserter = new POJOAsserterBuillder<OddLosingClass>()
+                .forPOJO(pojo)
+                .withRandom(new SeedableRandom(seed))
+                .withFailingSeedDatabase(db)
+                .build();
+        try {
+            asserter.assertProperties();
+            return false;
+        } catch (AssertionFailedError e) {
+            return true;
+        }
+    }
+
+    /** A POJO whose setter loses odd values, unless it is fixed. */
+    public static class OddLosingClass {
+        private final boolean losing;
+        private int value;
+
+        public OddLosingClass(boolean losing) {
+            this.losing = losing;
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        public void setValue(int value) {
+            this.value = losing ? value & ~1 : value;
+        }
+    }
+}
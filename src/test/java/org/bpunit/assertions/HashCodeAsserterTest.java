@@ -0,0 +1,112 @@
+package org.bpunit.assertions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.bpunit.examples.CollectingBehavior;
+import org.bpunit.examples.SomeClassWithConstantHashCode;
+import org.bpunit.examples.SomeClassWithGoodHashCode;
+import org.bpunit.examples.SomeClassWithSkewedHashCode;
+import org.bpunit.examples.SomeClassWithoutHashCode;
+import org.bpunit.utils.SeedableRandom;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import java.util.List;
+
+/**
+ * A test case for the {@link HashCodeAsserter} class.
+ */
+public class HashCodeAsserterTest {
+    private final CollectingBehavior collectingBehavior = new CollectingBehavior();
+    private final List<String> failures = collectingBehavior.getMessages();
+
+    @Test
+    public void goodHashCode() {
+        HashCodeReport report = new HashCodeAsserterBuilder()
+                .forClass(SomeClassWithGoodHashCode.class)
+                .withRandom(new SeedableRandom(7L))
+                .build()
+                .assertHashCode();
+
+        assertEquals(HashCodeAsserter.DEFAULT_INSTANCES, report.getInstances());
+        assertTrue(report.getDistinctInstances() > 9_900, report.toString());
+        assertTrue(report.getCollisionRate() < 0.01, report.toString());
+        assertTrue(report.getMaxBucketSize() < 8, report.toString());
+        assertTrue(report.getOccupiedBuckets() > report.getExpectedOccupiedBuckets() * 0.95, report.toString());
+        assertEquals(3, report.getCosts().size());
+        assertEquals(64, report.getCosts().get(2).getMaxCollectionSize());
+        assertTrue(report.getCosts().get(2).getHashCodeNanos() > 0.0, report.toString());
+    }
+
+    @Test
+    public void constantHashCode() {
+        HashCodeReport report = assertCollecting(new HashCodeAsserterBuilder().forClass(SomeClassWithConstantHashCode.class));
+        assertEquals(1, report.getDistinctHashCodes());
+        assertEquals(report.getDistinctInstances(), report.getMaxBucketSize());
+        assertEquals(2, failures.size(), failures.toString());
+        assertTrue(failures.get(0).contains("collide"), failures.get(0));
+        assertTrue(failures.get(1).contains("skewed"), failures.get(1));
+    }
+
+    @Test
+    public void skewedBuckets() {
+        HashCodeReport report = assertCollecting(new HashCodeAsserterBuilder()
+                .forClass(SomeClassWithSkewedHashCode.class)
+                .withInstances(500)
+                .withMaxCollisionRate(1.0));
+        assertTrue(report.getCollisionRate() < 0.01, report.toString());
+        assertEquals(1, report.getOccupiedBuckets());
+        assertEquals(1, failures.size(), failures.toString());
+        assertTrue(failures.get(0).contains("skewed"), failures.get(0));
+    }
+
+    @Test
+    public void brokenContract() {
+        assertCollecting(new HashCodeAsserterBuilder().forClass(SomeClassWithoutHashCode.class).withInstances(100));
+        assertEquals(1, failures.size(), failures.toString());
+        assertTrue(failures.get(0).contains("equal instances have different hash codes"), failures.get(0));
+    }
+
+    @Test
+    public void maxCost() {
+        new HashCodeAsserterBuilder()
+                .forClass(SomeClassWithGoodHashCode.class)
+                .withInstances(100)
+                .withCollectionSizes(16)
+                .withMaxCostNanos(0.0)
+                .withFailureBehavior(collectingBehavior)
+                .build()
+                .assertHashCode();
+        assertEquals(1, failures.size(), failures.toString());
+        assertTrue(failures.get(0).contains("too slow"), failures.get(0));
+    }
+
+    @Test
+    public void failsByDefault() {
+        HashCodeAsserter asserter = new HashCodeAsserterBuilder().forClass(SomeClassWithConstantHashCode.class).build();
+        assertThrows(AssertionFailedError.class, asserter::assertHashCode);
+    }
+
+    @Test
+    public void invalidArguments() {
+        assertThrows(NullPointerException.class, () -> new HashCodeAsserterBuilder().build());
+        assertThrows(IllegalArgumentException.class, () -> new HashCodeAsserterBuilder().withInstances(0));
+        assertThrows(IllegalArgumentException.class, () -> new HashCodeAsserterBuilder().withMaxCollisionRate(2.0));
+        assertThrows(IllegalArgumentException.class, () -> new HashCodeAsserterBuilder().withMaxBucketSize(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new HashCodeAsserterBuilder().forClass(Runnable.class).build().assertHashCode());
+    }
+
+    /**
+     * Asserts without measuring the costs, collecting the failures.
+     */
+    private HashCodeReport assertCollecting(HashCodeAsserterBuilder builder) {
+        return builder.withRandom(new SeedableRandom(7L))
+                .withCollectionSizes()
+                .withFailureBehavior(collectingBehavior)
+                .build()
+                .assertHashCode();
+    }
+}
@@ -0,0 +1,50 @@
+package org.bpunit.assertions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A test case for the {@link JavaSerializationCodec} class.
+ */
+public class JavaSerializationCodecTest {
+    private final JavaSerializationCodec codec = new JavaSerializationCodec();
+
+    @Test
+    public void reusesStreams() throws IOException {
+        List<String> value = new ArrayList<>(Arrays.asList("a", "b", "c"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.encode(value, out);
+        int first = out.size();
+        codec.encode(value, out);
+        int second = out.size() - first;
+        codec.encode(value, out);
+        int third = out.size() - first - second;
+
+        // Only the first encoding has a header, and the following ones don't refer back to it
+        assertEquals(second, third);
+        assertEquals(first - 4 + 1, second);
+
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        for (int i = 0; i < 3; ++i) {
+            Object decoded = codec.decode(in);
+            assertEquals(value, decoded);
+            assertNotSame(value, decoded);
+        }
+    }
+
+    @Test
+    public void notSerializable() {
+        assertThrows(NotSerializableException.class, () -> codec.encode(new Object(), new ByteArrayOutputStream()));
+    }
+}
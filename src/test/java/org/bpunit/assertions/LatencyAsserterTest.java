@@ -0,0 +1,123 @@
+package org.bpunit.assertions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.bpunit.examples.CollectingBehavior;
+import org.bpunit.examples.SomeClassWithSlowGetters;
+import org.bpunit.examples.SomeClassWithThrowingGetter;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import java.util.List;
+
+/**
+ * A test case for the {@link LatencyAsserter} class.
+ *
+ * The slow accessors of the examples busy-wait, so the tests only rely on a call taking at least as long as it waits,
+ * and on a plain call taking far less than that.
+ */
+public class LatencyAsserterTest {
+    private final CollectingBehavior collectingBehavior = new CollectingBehavior();
+    private final List<String> failures = collectingBehavior.getMessages();
+
+    @Test
+    public void report() {
+        LatencyReport report = assertCollecting(new LatencyAsserterBuilder()
+                .forPOJO(new SomeClassWithSlowGetters())
+                .withOutlierFactor(Double.POSITIVE_INFINITY));
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(SomeClassWithSlowGetters.class, report.getType());
+        assertEquals(4, report.getProperties().size(), report.toString());
+        for (String name : new String[] { "Checksum", "Id", "Name", "Summary" }) {
+            LatencyReport.PropertyLatency property = report.getProperty(name);
+            assertTrue(property.getGetter().getP99Nanos() >= property.getGetter().getMedianNanos(), report.toString());
+            assertTrue(property.getSetter().getP99Nanos() >= property.getSetter().getMedianNanos(), report.toString());
+        }
+        assertTrue(report.getProperty("Checksum").getGetter().getMedianNanos()
+                >= SomeClassWithSlowGetters.CHECKSUM_NANOS, report.toString());
+    }
+
+    @Test
+    public void firstCall() {
+        LatencyReport report = assertCollecting(new LatencyAsserterBuilder()
+                .forPOJO(new SomeClassWithSlowGetters())
+                .withOutlierFactor(Double.POSITIVE_INFINITY));
+
+        assertTrue(report.getProperty("Summary").getFirstGetNanos() >= SomeClassWithSlowGetters.SUMMARY_NANOS,
+                report.toString());
+    }
+
+    @Test
+    public void outlier() {
+        assertCollecting(new LatencyAsserterBuilder()
+                .forPOJO(new SomeClassWithSlowGetters())
+                .withOutlierFactor(10.0));
+        assertTrue(failures.stream().anyMatch(f -> f.startsWith("Getter of property Checksum of")
+                && f.contains("times the median")), failures.toString());
+        assertTrue(failures.stream().noneMatch(f -> f.startsWith("Setter of property Checksum")), failures.toString());
+    }
+
+    @Test
+    public void ceiling() {
+        assertCollecting(new LatencyAsserterBuilder()
+                .forPOJO(new SomeClassWithSlowGetters())
+                .withOutlierFactor(Double.POSITIVE_INFINITY)
+                .withMaxNanos(SomeClassWithSlowGetters.CHECKSUM_NANOS / 2));
+        assertTrue(failures.stream().anyMatch(f -> f.startsWith("Getter of property Checksum of")
+                && f.contains("over the ceiling of 10000.0ns")), failures.toString());
+    }
+
+    @Test
+    public void ceilingOfEveryAccessor() {
+        assertCollecting(new LatencyAsserterBuilder()
+                .forPOJO(new SomeClassWithSlowGetters())
+                .withMaxNanos(-1.0));
+        // A getter and a setter of each of the 4 properties
+        assertEquals(8, failures.size(), failures.toString());
+        assertTrue(failures.stream().allMatch(f -> f.contains("over the ceiling")), failures.toString());
+    }
+
+    @Test
+    public void throwingAccessor() {
+        LatencyReport report = assertCollecting(new LatencyAsserterBuilder()
+                .forPOJO(new SomeClassWithThrowingGetter()));
+        assertTrue(report.getProperties().isEmpty(), report.toString());
+        assertEquals(1, failures.size(), failures.toString());
+        assertTrue(failures.get(0).startsWith("Can't measure property Id"), failures.get(0));
+    }
+
+    @Test
+    public void failsByDefault() {
+        LatencyAsserter asserter = new LatencyAsserterBuilder()
+                .forPOJO(new SomeClassWithSlowGetters())
+                .withWarmupCalls(100)
+                .withSamples(10)
+                .withMaxNanos(-1.0)
+                .build();
+        assertThrows(AssertionFailedError.class, asserter::assertLatencies);
+    }
+
+    @Test
+    public void invalidArguments() {
+        assertThrows(NullPointerException.class, () -> new LatencyAsserterBuilder().build());
+        assertThrows(IllegalArgumentException.class, () -> new LatencyAsserterBuilder().withWarmupCalls(-1));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyAsserterBuilder().withSamples(0));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyAsserterBuilder().withBatchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyAsserterBuilder().withOutlierFactor(0.5));
+    }
+
+    /**
+     * Asserts with fewer calls, collecting the failures.
+     */
+    private LatencyReport assertCollecting(LatencyAsserterBuilder builder) {
+        return builder.withWarmupCalls(2_000)
+                .withSamples(100)
+                .withBatchSize(10)
+                .withFailureBehavior(collectingBehavior)
+                .build()
+                .assertLatencies();
+    }
+}
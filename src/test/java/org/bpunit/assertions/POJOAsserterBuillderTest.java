@@ -1,14 +1,21 @@
 package org.bpunit.assertions;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.bpunit.assertions.behaviors.Behavior;
 import org.bpunit.examples.ObjectRandom;
 import org.bpunit.examples.SomeClass;
+import org.bpunit.examples.SomeClassWithCollections;
 import org.bpunit.examples.SomeClassWithThrowingSetter;
+import org.bpunit.utils.GeneratorRegistry;
+import org.bpunit.utils.ObjectGraphGenerator;
 import org.junit.jupiter.api.Test;
 
+import java.text.SimpleDateFormat;
+
 /**
  * A test case for the {@link POJOAsserterBuillder}.
  */
@@ -61,4 +68,63 @@ public class POJOAsserterBuillderTest {
         IllegalArgumentException e = assertThrows(IllegalArgumentException.class, pojoAsserter::assertProperties);
         assertEquals(BEHAVIOR_ERROR_MESSAGE, e.getMessage());
     }
+
+    @Test
+    public void testWithGenerator() {
+        SomeClass sc = new SomeClass();
+        new POJOAsserterBuillder<>().forPOJO(sc)
+                .withGenerator(Object.class, r -> "generated")
+                .build()
+                .assertProperties();
+        assertEquals("generated", sc.getMyObject());
+    }
+
+    @Test
+    public void testWithGeneratorPredicate() {
+        SomeClass sc = new SomeClass();
+        new POJOAsserterBuillder<>().forPOJO(sc)
+                .withGenerator(Object.class::equals, type -> r -> "generated")
+                .build()
+                .assertProperties();
+        assertEquals("generated", sc.getMyObject());
+    }
+
+    @Test
+    public void testWithGenerators() {
+        GeneratorRegistry shared = new GeneratorRegistry().register(Object.class, r -> "shared");
+        SomeClass sc = new SomeClass();
+        new POJOAsserterBuillder<>().forPOJO(sc)
+                .withGenerators(shared)
+                .withGenerator(String.class, r -> "local")
+                .build()
+                .assertProperties();
+        assertEquals("shared", sc.getMyObject());
+        assertEquals("local", sc.getMyString());
+        assertNull(shared.lookup(String.class), "The shared registry should not be modified");
+    }
+
+    @Test
+    public void testWithThrowingGenerator() {
+        POJOAsserter pojoAsserter = new POJOAsserterBuillder<>().forPOJO(new SomeClass())
+                .withGenerator(Object.class, r -> {
+                    throw new IllegalStateException();
+                })
+                .withGenerator(SimpleDateFormat.class, r -> new SimpleDateFormat())
+                .withRandomFailureBehavior(FAILING_BEHAVIOR)
+                .build();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, pojoAsserter::assertProperties);
+        assertEquals(BEHAVIOR_ERROR_MESSAGE, e.getMessage());
+    }
+
+    @Test
+    public void testWithObjectGraphGenerator() {
+        SomeClassWithCollections sc = new SomeClassWithCollections();
+        new POJOAsserterBuillder<>().forPOJO(sc)
+                .withObjectGraphGenerator(new ObjectGraphGenerator().withMaxRecursion(2))
+                .build()
+                .assertProperties();
+        assertNotNull(sc.getSomeClasses());
+        assertNotNull(sc.getCounts());
+        assertNotNull(sc.getNext());
+    }
 }
@@ -3,17 +3,22 @@ package org.bpunit.assertions;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.bpunit.assertions.behaviors.FailingBehavior;
 import org.bpunit.assertions.behaviors.LoggingBehavior;
 import org.bpunit.examples.ObjectRandom;
 import org.bpunit.examples.SomeClass;
 import org.bpunit.examples.SomeClassWithThrowingSetter;
+import org.bpunit.utils.CursorSelectable;
 import org.bpunit.utils.SeedableRandom;
 import org.junit.jupiter.api.Test;
 import org.opentest4j.AssertionFailedError;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -35,6 +40,29 @@ public class POJOAsserterTest {
         assertThrows(AssertionFailedError.class, () -> AssertUtils.testProperties(new SomeClassWithThrowingSetter()));
     }
 
+    @Test
+    public void selectsACursorPerProperty() {
+        SelectionRecordingRandom random = new SelectionRecordingRandom();
+        new POJOAsserterBuillder<SomeClass>().forPOJO(new SomeClass()).withRandom(random).build().assertProperties();
+
+        assertTrue(random.selections.contains(SomeClass.class.getName() + ".MyInt"), random.selections::toString);
+        for (int i = 0; i < random.selections.size(); i += 2) {
+            assertNotNull(random.selections.get(i), "A property was generated with the default cursor");
+            assertNull(random.selections.get(i + 1), "The default cursor was not selected back");
+        }
+    }
+
+    /** A random generator recording the cursors it's told to select */
+    @SuppressWarnings("serial")
+    private static class SelectionRecordingRandom extends SeedableRandom implements CursorSelectable {
+        private final List<Object> selections = new ArrayList<>();
+
+        @Override
+        public void selectCursor(Object key) {
+            selections.add(key);
+        }
+    }
+
     private static void assentSimpleClass(Random random, boolean canRandomizeObject) {
         SomeClass sc = new SomeClass();
         new POJOAsserter<>(sc, random, new LoggingBehavior(false), new LoggingBehavior(false), new FailingBehavior())
@@ -0,0 +1,168 @@
+package org.bpunit.assertions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.bpunit.assertions.behaviors.LoggingBehavior;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A test case for the {@link PropertyAccessor} class.
+ */
+public class PropertyAccessorTest {
+
+    @Test
+    public void allKinds() throws Throwable {
+        KindsPOJO source = new KindsPOJO();
+        source.setFlag(true);
+        source.setSmall((byte) 1);
+        source.setLetter('b');
+        source.setShortValue((short) 3);
+        source.setCount(4);
+        source.setTotal(5L);
+        source.setRatio(6.5f);
+        source.setWeight(7.5);
+        source.setName("eight");
+
+        KindsPOJO target = new KindsPOJO();
+        Map<String, PropertyAccessor> accessors = new HashMap<>();
+        for (BeanProperty property : BeanProperty.find(KindsPOJO.class, new LoggingBehavior(false))) {
+            PropertyAccessor accessor = PropertyAccessor.of(property);
+            accessor.get(source, 1);
+            accessor.set(target, 3);
+            accessor.get(target, 3);
+            accessors.put(property.getName(), accessor);
+        }
+
+        assertEquals(9, accessors.size());
+        assertEquals(3, target.setCalls);
+        assertEquals(27, target.getCalls);
+        assertEquals(true, target.isFlag());
+        assertEquals(1, target.getSmall());
+        assertEquals('b', target.getLetter());
+        assertEquals(3, target.getShortValue());
+        assertEquals(4, target.getCount());
+        assertEquals(5L, target.getTotal());
+        assertEquals(6.5f, target.getRatio());
+        assertEquals(7.5, target.getWeight());
+        assertEquals("eight", target.getName());
+    }
+
+    @Test
+    public void accessorExceptions() throws Throwable {
+        BeanProperty property = BeanProperty.find(KindsPOJO.class, new LoggingBehavior(false)).stream()
+                .filter(p -> p.getName().equals("Count"))
+                .findFirst()
+                .get();
+        PropertyAccessor accessor = PropertyAccessor.of(property);
+        KindsPOJO failing = new KindsPOJO();
+        failing.fail = true;
+        assertThrows(IllegalStateException.class, () -> accessor.get(failing, 1));
+        PropertyAccessor.rethrowIfError(new IllegalStateException());
+        assertThrows(AssertionError.class, () -> PropertyAccessor.rethrowIfError(new AssertionError()));
+    }
+
+    /** A POJO with a property of each kind, counting the calls. */
+    public static class KindsPOJO {
+        private boolean flag;
+        private byte small;
+        private char letter;
+        private short shortValue;
+        private int count;
+        private long total;
+        private float ratio;
+        private double weight;
+        private String name;
+        private boolean fail;
+        private int getCalls;
+        private int setCalls;
+
+        public boolean isFlag() {
+            ++getCalls;
+            return flag;
+        }
+
+        public void setFlag(boolean flag) {
+            this.flag = flag;
+        }
+
+        public byte getSmall() {
+            ++getCalls;
+            return small;
+        }
+
+        public void setSmall(byte small) {
+            this.small = small;
+        }
+
+        public char getLetter() {
+            ++getCalls;
+            return letter;
+        }
+
+        public void setLetter(char letter) {
+            this.letter = letter;
+        }
+
+        public short getShortValue() {
+            ++getCalls;
+            return shortValue;
+        }
+
+        public void setShortValue(short shortValue) {
+            this.shortValue = shortValue;
+        }
+
+        public int getCount() {
+            if (fail) {
+                throw new IllegalStateException();
+            }
+            ++getCalls;
+            return count;
+        }
+
+        public void setCount(int count) {
+            ++setCalls;
+            this.count = count;
+        }
+
+        public long getTotal() {
+            ++getCalls;
+            return total;
+        }
+
+        public void setTotal(long total) {
+            this.total = total;
+        }
+
+        public float getRatio() {
+            ++getCalls;
+            return ratio;
+        }
+
+        public void setRatio(float ratio) {
+            this.ratio = ratio;
+        }
+
+        public double getWeight() {
+            ++getCalls;
+            return weight;
+        }
+
+        public void setWeight(double weight) {
+            this.weight = weight;
+        }
+
+        public String getName() {
+            ++getCalls;
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.bpunit.assertions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.bpunit.examples.CollectingBehavior;
+import org.bpunit.examples.SomeClassWithTransientProperty;
+import org.bpunit.examples.SomeExternalizableClass;
+import org.bpunit.examples.SomeSerializableClass;
+import org.bpunit.utils.SeedableRandom;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * A test case for the {@link SerializationAsserter} class.
+ */
+public class SerializationAsserterTest {
+    private final CollectingBehavior collectingBehavior = new CollectingBehavior();
+    private final List<String> failures = collectingBehavior.getMessages();
+
+    @Test
+    public void serializablePOJO() {
+        SomeSerializableClass pojo = new SomeSerializableClass();
+        SerializationReport report = assertCollecting(new SerializationAsserterBuilder().forPOJO(pojo));
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertTrue(pojo.getName() != null && pojo.getTags() != null && pojo.getCreated() != null);
+        assertEquals(100, report.getIterations());
+        assertTrue(report.getSerializedSize() > 0, report.toString());
+        assertTrue(report.getEncodeNanos() > 0.0, report.toString());
+        assertTrue(report.getDecodeNanos() > 0.0, report.toString());
+    }
+
+    @Test
+    public void externalizablePOJO() {
+        assertCollecting(new SerializationAsserterBuilder().forPOJO(new SomeExternalizableClass()));
+        assertTrue(failures.isEmpty(), failures.toString());
+    }
+
+    @Test
+    public void transientProperty() {
+        assertCollecting(new SerializationAsserterBuilder().forPOJO(new SomeClassWithTransientProperty()));
+        // Both the first and the last round trips lose the property
+        assertEquals(2, failures.size(), failures.toString());
+        assertTrue(failures.get(0).contains("Property Cache of"), failures.get(0));
+        assertTrue(failures.get(0).contains("was not round-tripped"), failures.get(0));
+    }
+
+    @Test
+    public void notSerializable() {
+        SerializationReport report = assertCollecting(new SerializationAsserterBuilder().forPOJO(new Object() {
+            public void setId(int id) {
+            }
+        }));
+        assertNull(report);
+        assertEquals(1, failures.size(), failures.toString());
+        assertTrue(failures.get(0).startsWith("Can't round-trip"), failures.get(0));
+    }
+
+    @Test
+    public void customCodec() {
+        SerializationReport report = assertCollecting(new SerializationAsserterBuilder()
+                .forPOJO(new SomeExternalizableClass())
+                .withCodec(new DataCodec()));
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(Integer.BYTES + Long.BYTES, report.getSerializedSize());
+    }
+
+    @Test
+    public void steadyStateSize() throws IOException {
+        SomeExternalizableClass pojo = new SomeExternalizableClass();
+        SerializationReport report = assertCollecting(new SerializationAsserterBuilder().forPOJO(pojo));
+
+        // The first encoding carries the stream header
+        JavaSerializationCodec codec = new JavaSerializationCodec();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.encode(pojo, out);
+        int first = out.size();
+        codec.encode(pojo, out);
+        assertEquals(out.size() - first, report.getSerializedSize());
+    }
+
+    @Test
+    public void maxSerializedSize() {
+        assertCollecting(new SerializationAsserterBuilder()
+                .forPOJO(new SomeExternalizableClass())
+                .withCodec(new DataCodec())
+                .withMaxSerializedSize(Integer.BYTES));
+        assertEquals(1, failures.size(), failures.toString());
+        assertTrue(failures.get(0).contains("too large"), failures.get(0));
+    }
+
+    @Test
+    public void maxNanos() {
+        assertCollecting(new SerializationAsserterBuilder()
+                .forPOJO(new SomeSerializableClass())
+                .withMaxEncodeNanos(0.0)
+                .withMaxDecodeNanos(0.0));
+        assertEquals(2, failures.size(), failures.toString());
+        assertTrue(failures.get(0).contains("encodes too slowly"), failures.get(0));
+        assertTrue(failures.get(1).contains("decodes too slowly"), failures.get(1));
+    }
+
+    @Test
+    public void failsByDefault() {
+        SerializationAsserter asserter = new SerializationAsserterBuilder()
+                .forPOJO(new SomeClassWithTransientProperty())
+                .withIterations(1)
+                .build();
+        assertThrows(AssertionFailedError.class, asserter::assertSerialization);
+    }
+
+    @Test
+    public void invalidArguments() {
+        assertThrows(NullPointerException.class, () -> new SerializationAsserterBuilder().build());
+        assertThrows(IllegalArgumentException.class, () -> new SerializationAsserterBuilder().withIterations(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SerializationAsserterBuilder().withWarmupIterations(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SerializationAsserterBuilder().withMaxSerializedSize(-1));
+    }
+
+    /**
+     * Asserts with a few iterations, collecting the failures.
+     */
+    private SerializationReport assertCollecting(SerializationAsserterBuilder builder) {
+        return builder.withRandom(new SeedableRandom(7L))
+                .withWarmupIterations(10)
+                .withIterations(100)
+                .withFailureBehavior(collectingBehavior)
+                .build()
+                .assertSerialization();
+    }
+
+    /** A codec writing an {@link SomeExternalizableClass}'s fields only. */
+    private static class DataCodec implements SerializationCodec<SomeExternalizableClass> {
+        private OutputStream out;
+        private DataOutputStream dataOut;
+        private InputStream in;
+        private DataInputStream dataIn;
+
+        @Override
+        public void encode(SomeExternalizableClass value, OutputStream out) throws IOException {
+            if (out != this.out) {
+                this.out = out;
+                dataOut = new DataOutputStream(out);
+            }
+            dataOut.writeInt(value.getId());
+            dataOut.writeLong(value.getTimestamp());
+        }
+
+        @Override
+        public SomeExternalizableClass decode(InputStream in) throws IOException {
+            if (in != this.in) {
+                this.in = in;
+                dataIn = new DataInputStream(in);
+            }
+            SomeExternalizableClass value = new SomeExternalizableClass();
+            value.setId(dataIn.readInt());
+            value.setTimestamp(dataIn.readLong());
+            return value;
+        }
+    }
+}
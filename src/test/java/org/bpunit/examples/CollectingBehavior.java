@@ -0,0 +1,25 @@
+package org.bpunit.examples;
+
+import org.bpunit.assertions.behaviors.Behavior;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link Behavior} that collects the messages it's given, for testing what an asserter reports.
+ */
+public class CollectingBehavior implements Behavior {
+    private final List<String> messages = new ArrayList<>();
+
+    @Override
+    public void behave(String message, Throwable t) {
+        messages.add(message);
+    }
+
+    /**
+     * Returns the messages collected so far, in order.
+     */
+    public List<String> getMessages() {
+        return messages;
+    }
+}
@@ -0,0 +1,39 @@
+package org.bpunit.examples;
+
+import java.util.Date;
+
+/**
+ * A class whose accessors allocate, for testing {@link org.bpunit.assertions.AllocationAsserter}.
+ */
+public class SomeClassWithAllocatingAccessors {
+    private int id;
+    private int[] history;
+    private String name;
+    private Date created;
+
+    public int getId() {
+        // Keeps a record of the reads, boxing them into an array on every call
+        history = new int[] { id };
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Date getCreated() {
+        return created == null ? null : new Date(created.getTime());
+    }
+
+    public void setCreated(Date created) {
+        this.created = created == null ? null : new Date(created.getTime());
+    }
+}
@@ -0,0 +1,96 @@
+package org.bpunit.examples;
+
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A class with generic collection properties and a reference to its own type, for testing object graph generation.
+ */
+public class SomeClassWithCollections {
+    private List<SomeClass> someClasses;
+    private Map<String, Integer> counts;
+    private Set<? extends Long> ids;
+    private int[] numbers;
+    private ConcurrentHashMap<String, Object> attributes;
+    private SortedSet<SomeClass> sortedSomeClasses;
+    private SortedMap<SomeClass, String> namesBySomeClass;
+    private PriorityQueue<Object> tasks;
+    private SomeClassWithCollections next;
+
+    public List<SomeClass> getSomeClasses() {
+        return someClasses;
+    }
+
+    public void setSomeClasses(List<SomeClass> someClasses) {
+        this.someClasses = someClasses;
+    }
+
+    public Map<String, Integer> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<String, Integer> counts) {
+        this.counts = counts;
+    }
+
+    public Set<? extends Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(Set<? extends Long> ids) {
+        this.ids = ids;
+    }
+
+    public int[] getNumbers() {
+        return numbers;
+    }
+
+    public void setNumbers(int[] numbers) {
+        this.numbers = numbers;
+    }
+
+    public ConcurrentHashMap<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(ConcurrentHashMap<String, Object> attributes) {
+        this.attributes = attributes;
+    }
+
+    public SortedSet<SomeClass> getSortedSomeClasses() {
+        return sortedSomeClasses;
+    }
+
+    public void setSortedSomeClasses(SortedSet<SomeClass> sortedSomeClasses) {
+        this.sortedSomeClasses = sortedSomeClasses;
+    }
+
+    public SortedMap<SomeClass, String> getNamesBySomeClass() {
+        return namesBySomeClass;
+    }
+
+    public void setNamesBySomeClass(SortedMap<SomeClass, String> namesBySomeClass) {
+        this.namesBySomeClass = namesBySomeClass;
+    }
+
+    public PriorityQueue<Object> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(PriorityQueue<Object> tasks) {
+        this.tasks = tasks;
+    }
+
+    public SomeClassWithCollections getNext() {
+        return next;
+    }
+
+    public void setNext(SomeClassWithCollections next) {
+        this.next = next;
+    }
+}
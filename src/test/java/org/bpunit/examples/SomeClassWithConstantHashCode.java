@@ -0,0 +1,27 @@
+package org.bpunit.examples;
+
+/**
+ * A class whose instances all have the same hash code, for testing
+ * {@link org.bpunit.assertions.HashCodeAsserter}.
+ */
+public class SomeClassWithConstantHashCode {
+    private int id;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SomeClassWithConstantHashCode && id == ((SomeClassWithConstantHashCode) o).id;
+    }
+
+    @Override
+    public int hashCode() {
+        return 42;
+    }
+}
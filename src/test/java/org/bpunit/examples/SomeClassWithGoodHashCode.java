@@ -0,0 +1,51 @@
+package org.bpunit.examples;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A class with a proper hash code, for testing {@link org.bpunit.assertions.HashCodeAsserter}.
+ */
+public class SomeClassWithGoodHashCode {
+    private int id;
+    private String name;
+    private List<String> tags;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof SomeClassWithGoodHashCode)) {
+            return false;
+        }
+        SomeClassWithGoodHashCode other = (SomeClassWithGoodHashCode) o;
+        return id == other.id && Objects.equals(name, other.name) && Objects.equals(tags, other.tags);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, tags);
+    }
+}
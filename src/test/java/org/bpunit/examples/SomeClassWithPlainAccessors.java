@@ -0,0 +1,43 @@
+package org.bpunit.examples;
+
+/**
+ * A class with plain accessors, which don't allocate or take long, for testing the asserters of their costs.
+ */
+public class SomeClassWithPlainAccessors {
+    private int id;
+    private double weight;
+    private boolean active;
+    private String name;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    public void setWeight(double weight) {
+        this.weight = weight;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
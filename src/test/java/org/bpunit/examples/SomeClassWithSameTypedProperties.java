@@ -0,0 +1,46 @@
+package org.bpunit.examples;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A class with several properties of the same type, recording every value they are set to.
+ */
+public class SomeClassWithSameTypedProperties {
+    private final List<Integer> firstValues = new ArrayList<>();
+    private final List<Integer> secondValues = new ArrayList<>();
+    private int first;
+    private int second;
+
+    public int getFirst() {
+        return first;
+    }
+
+    public void setFirst(int first) {
+        this.first = first;
+        firstValues.add(first);
+    }
+
+    public int getSecond() {
+        return second;
+    }
+
+    public void setSecond(int second) {
+        this.second = second;
+        secondValues.add(second);
+    }
+
+    /**
+     * Returns all the values {@code first} was set to.
+     */
+    public List<Integer> firstValues() {
+        return firstValues;
+    }
+
+    /**
+     * Returns all the values {@code second} was set to.
+     */
+    public List<Integer> secondValues() {
+        return secondValues;
+    }
+}
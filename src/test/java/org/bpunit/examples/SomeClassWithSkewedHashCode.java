@@ -0,0 +1,28 @@
+package org.bpunit.examples;
+
+/**
+ * A class with distinct hash codes that {@link java.util.HashMap} nevertheless puts in the same bucket, for testing
+ * {@link org.bpunit.assertions.HashCodeAsserter}.
+ */
+public class SomeClassWithSkewedHashCode {
+    private int id;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id & 0xFFFF;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SomeClassWithSkewedHashCode && id == ((SomeClassWithSkewedHashCode) o).id;
+    }
+
+    @Override
+    public int hashCode() {
+        // Spreading the high bits into the low ones cancels the low bits out
+        return id * 0x10001;
+    }
+}
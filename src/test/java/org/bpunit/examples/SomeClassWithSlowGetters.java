@@ -0,0 +1,65 @@
+package org.bpunit.examples;
+
+/**
+ * A class with a slow getter and a lazily initialized one, for testing
+ * {@link org.bpunit.assertions.LatencyAsserter}. The slow calls busy-wait for a fixed time, so they take at least
+ * that long regardless of the machine.
+ */
+public class SomeClassWithSlowGetters {
+
+    /** The time every {@link #getChecksum()} call takes at least, in nanoseconds. */
+    public static final long CHECKSUM_NANOS = 20_000L;
+
+    /** The time the first {@link #getSummary()} call takes at least, in nanoseconds. */
+    public static final long SUMMARY_NANOS = 1_000_000L;
+
+    private int id;
+    private String name = "name";
+    private long checksum;
+    private String summary;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getChecksum() {
+        // Recomputed on every call
+        spin(CHECKSUM_NANOS);
+        return checksum;
+    }
+
+    public void setChecksum(long checksum) {
+        this.checksum = checksum;
+    }
+
+    public String getSummary() {
+        if (summary == null) {
+            spin(SUMMARY_NANOS);
+            summary = "summary";
+        }
+        return summary;
+    }
+
+    public void setSummary(String summary) {
+        this.summary = summary;
+    }
+
+    private static void spin(long nanos) {
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < nanos) {
+            // Busy-wait, since sleeping may take much longer than asked
+        }
+    }
+}
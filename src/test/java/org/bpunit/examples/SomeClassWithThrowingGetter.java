@@ -0,0 +1,19 @@
+package org.bpunit.examples;
+
+/**
+ * A class whose getter throws once it's set, for testing that the asserters of accessors' costs report it.
+ */
+public class SomeClassWithThrowingGetter {
+    private Integer id;
+
+    public int getId() {
+        if (id == null) {
+            return 0;
+        }
+        throw new IllegalStateException("id can't be read once set");
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+}
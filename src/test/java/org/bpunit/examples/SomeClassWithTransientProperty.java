@@ -0,0 +1,30 @@
+package org.bpunit.examples;
+
+import java.io.Serializable;
+
+/**
+ * A class with a property that is not serialized, for testing
+ * {@link org.bpunit.assertions.SerializationAsserter}.
+ */
+public class SomeClassWithTransientProperty implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int id;
+    private transient String cache;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getCache() {
+        return cache;
+    }
+
+    public void setCache(String cache) {
+        this.cache = cache;
+    }
+}
@@ -0,0 +1,21 @@
+package org.bpunit.examples;
+
+/**
+ * A class that overrides equals, but not hashCode, for testing {@link org.bpunit.assertions.HashCodeAsserter}.
+ */
+public class SomeClassWithoutHashCode {
+    private int id;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SomeClassWithoutHashCode && id == ((SomeClassWithoutHashCode) o).id;
+    }
+}
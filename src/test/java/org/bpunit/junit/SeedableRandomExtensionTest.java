@@ -0,0 +1,101 @@
+package org.bpunit.junit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.bpunit.utils.SeedableRandom;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * A test case for the {@link SeedableRandomExtension} class.
+ */
+@ExtendWith(SeedableRandomExtension.class)
+public class SeedableRandomExtensionTest {
+    private SeedableRandom beforeEachRandom;
+
+    @BeforeEach
+    public void setUp(SeedableRandom random) {
+        beforeEachRandom = random;
+    }
+
+    @Test
+    public void sameInstancePerTest(SeedableRandom random, SeedableRandom other) {
+        assertSame(random, other);
+        assertSame(random, beforeEachRandom);
+    }
+
+    @Test
+    @Seed(42L)
+    public void pinnedSeed(SeedableRandom random) {
+        assertEquals(42L, random.getSeed());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 3 })
+    public void derivedSeedsDependOnTheTest(int invocation, SeedableRandom random) {
+        // Each invocation has its own unique id, and therefore its own seed
+        assertNotEquals(42L, random.getSeed());
+        assertNotEquals(SeedableRandomExtension.deriveSeed(new SeedableRandom(), "another test"), random.getSeed());
+    }
+
+    @Test
+    public void derivationIsStable() {
+        SeedableRandom root = new SeedableRandom(7L);
+        String id = "[engine:junit-jupiter]/[class:SomeTest]/[method:someProperty()]";
+        assertEquals(SeedableRandomExtension.deriveSeed(root, id), SeedableRandomExtension.deriveSeed(root, id));
+        assertEquals(SeedableRandomExtension.deriveSeed(root, id),
+                SeedableRandomExtension.deriveSeed(new SeedableRandom(7L), id));
+        assertNotEquals(SeedableRandomExtension.deriveSeed(root, id),
+                SeedableRandomExtension.deriveSeed(root, id.replace("some", "other")));
+        assertNotEquals(SeedableRandomExtension.deriveSeed(root, id),
+                SeedableRandomExtension.deriveSeed(new SeedableRandom(8L), id));
+    }
+
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    public class WithBeforeAll {
+        private SeedableRandom beforeAllRandom;
+
+        @BeforeAll
+        public void setUpClass(SeedableRandom random) {
+            beforeAllRandom = random;
+        }
+
+        @Test
+        public void ownGenerator(SeedableRandom random) {
+            assertNotSame(beforeAllRandom, random);
+            assertNotEquals(beforeAllRandom.getSeed(), random.getSeed());
+            assertSame(random, beforeEachRandom);
+        }
+
+        @Test
+        public void anotherOwnGenerator(SeedableRandom random) {
+            assertNotSame(beforeAllRandom, random);
+            assertNotEquals(beforeAllRandom.getSeed(), random.getSeed());
+        }
+    }
+
+    @Nested
+    @Seed(17L)
+    public class PinnedClass {
+        @Test
+        public void inheritsTheClassSeed(SeedableRandom random) {
+            assertEquals(17L, random.getSeed());
+        }
+
+        @Test
+        @Seed(18L)
+        public void methodSeedWins(SeedableRandom random) {
+            assertEquals(18L, random.getSeed());
+        }
+    }
+}
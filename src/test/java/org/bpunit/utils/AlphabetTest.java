@@ -0,0 +1,56 @@
+package org.bpunit.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test case for the {@link Alphabet} class.
+ */
+public class AlphabetTest {
+    @Test
+    public void range() {
+        Alphabet alphabet = Alphabet.range('a', 'z');
+        assertEquals(26, alphabet.size());
+        assertEquals(5, alphabet.getBits());
+        assertEquals('c', alphabet.charAt(2));
+        assertTrue(alphabet.isLatin1());
+    }
+
+    @Test
+    public void badRange() {
+        assertThrows(IllegalArgumentException.class, () -> Alphabet.range('z', 'a'));
+    }
+
+    @Test
+    public void of() {
+        Alphabet alphabet = Alphabet.of("xyz\u05D0");
+        assertEquals(4, alphabet.size());
+        assertEquals(2, alphabet.getBits());
+        assertEquals('\u05D0', alphabet.charAt(3));
+        assertFalse(alphabet.isLatin1());
+    }
+
+    @Test
+    public void singleChar() {
+        Alphabet alphabet = Alphabet.of("x");
+        assertEquals(1, alphabet.size());
+        assertEquals(0, alphabet.getBits());
+    }
+
+    @Test
+    public void empty() {
+        assertThrows(IllegalArgumentException.class, () -> Alphabet.of(""));
+    }
+
+    @Test
+    public void all() {
+        assertEquals(65536, Alphabet.ALL.size());
+        assertEquals(16, Alphabet.ALL.getBits());
+        assertFalse(Alphabet.ALL.isLatin1());
+        assertTrue(Alphabet.LATIN1.isLatin1());
+    }
+}
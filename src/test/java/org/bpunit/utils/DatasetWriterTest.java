@@ -0,0 +1,152 @@
+package org.bpunit.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.bpunit.examples.SomeClass;
+import org.bpunit.utils.cores.JournalCore;
+import org.bpunit.utils.cores.SplitMix64Core;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test case for the {@link DatasetWriter} class.
+ */
+public class DatasetWriterTest {
+    private Path path;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        path = Files.createTempFile("bpunit", ".dataset");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void csv() throws IOException {
+        long written = new DatasetWriter<>(SomeClass.class)
+                .withGenerators(new GeneratorRegistry().register(String.class, r -> "plain"))
+                .withBatchSize(7)
+                .write(path, 100, 1L);
+        assertEquals(Files.size(path), written);
+
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        assertEquals("myDate,myInt,myPrimitiveDouble,myString,someBoolean,someOtherBoolean,withWrongType,withoutGetter",
+                lines.get(0));
+        assertEquals(101, lines.size());
+        for (String line : lines.subList(1, lines.size())) {
+            String[] values = line.split(",", -1);
+            assertEquals(8, values.length);
+            Long.parseLong(values[0]);
+            Integer.parseInt(values[1]);
+            Double.parseDouble(values[2]);
+            Boolean.parseBoolean(values[4]);
+        }
+    }
+
+    @Test
+    public void csvQuoting() throws IOException {
+        new DatasetWriter<>(SomeClass.class)
+                .withGenerators(new GeneratorRegistry().register(String.class, r -> "a,\"b\""))
+                .write(path, 1, 1L);
+        String row = Files.readAllLines(path, StandardCharsets.UTF_8).get(1);
+        assertTrue(row.contains(",\"a,\"\"b\"\"\","), row);
+    }
+
+    @Test
+    public void reproducibleRegardlessOfThreads() throws IOException {
+        new DatasetWriter<>(SomeClass.class).withThreads(1).withBatchSize(100).write(path, 1000, 2L);
+        byte[] singleThreaded = Files.readAllBytes(path);
+        new DatasetWriter<>(SomeClass.class).withThreads(4).withBatchSize(13).write(path, 1000, 2L);
+        assertArrayEquals(singleThreaded, Files.readAllBytes(path));
+    }
+
+    @Test
+    public void coreIsLeftUntouched() throws IOException {
+        SplitMix64Core core = new SplitMix64Core();
+        core.setSeed(4L);
+        new DatasetWriter<>(SomeClass.class).withCore(core).withBatchSize(10).write(path, 100, 5L);
+
+        SplitMix64Core untouched = new SplitMix64Core();
+        untouched.setSeed(4L);
+        assertEquals(untouched.nextLong(), core.nextLong());
+    }
+
+    @Test
+    public void journalIsRecordedByASingleThread() throws IOException {
+        Path journal = Files.createTempFile("bpunit", ".journal");
+        try {
+            try (JournalCore recording = JournalCore.record(journal, new SplitMix64Core())) {
+                new DatasetWriter<>(SomeClass.class).withCore(recording).withThreads(4).withBatchSize(7)
+                        .write(path, 1000, 6L);
+            }
+            byte[] recorded = Files.readAllBytes(path);
+
+            try (JournalCore replaying = JournalCore.replay(journal)) {
+                new DatasetWriter<>(SomeClass.class).withCore(replaying).withThreads(4).withBatchSize(7)
+                        .write(path, 1000, 7L);
+            }
+            assertArrayEquals(recorded, Files.readAllBytes(path));
+        } finally {
+            Files.deleteIfExists(journal);
+        }
+    }
+
+    @Test
+    public void binary() throws IOException {
+        int rows = 10_000;
+        long written = new DatasetWriter<>(Primitives.class)
+                .withFormat(DatasetWriter.Format.BINARY)
+                .withGenerators(new GeneratorRegistry().register(String.class, r -> "\u00E9t\u00E9"))
+                .write(path, rows, 3L);
+
+        // 1 + 4 + 8 + 4 + 5 bytes: a boolean, an int, a long and a length-prefixed string
+        assertEquals(22L * rows, written);
+        try (InputStream in = Files.newInputStream(path)) {
+            DataInputStream data = new DataInputStream(in);
+            data.readBoolean();
+            data.readInt();
+            data.readLong();
+            byte[] name = new byte[data.readInt()];
+            data.readFully(name);
+            assertEquals("\u00E9t\u00E9", new String(name, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void invalidSettings() {
+        DatasetWriter<SomeClass> writer = new DatasetWriter<>(SomeClass.class);
+        assertThrows(IllegalArgumentException.class, () -> writer.withThreads(0));
+        assertThrows(IllegalArgumentException.class, () -> writer.withBatchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> writer.write(path, -1, 0L));
+    }
+
+    /** A class with fixed-size binary rows. */
+    public static class Primitives {
+        public void setActive(boolean active) {
+        }
+
+        public void setCount(int count) {
+        }
+
+        public void setId(long id) {
+        }
+
+        public void setName(String name) {
+        }
+    }
+}
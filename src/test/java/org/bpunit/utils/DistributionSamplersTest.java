@@ -0,0 +1,166 @@
+package org.bpunit.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.DoubleSupplier;
+
+import org.bpunit.utils.cores.Xoshiro256StarStarCore;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test case for the distribution samplers: {@link NormalSampler}, {@link ExponentialSampler},
+ * {@link LogNormalSampler}, {@link ZipfSampler} and {@link PoissonSampler}. It roughly checks the moments and a few
+ * probabilities of each distribution, with a fixed seed and a generous margin.
+ */
+public class DistributionSamplersTest {
+    private static final int SAMPLES = 500_000;
+
+    private final SeedableRandom random = new SeedableRandom(29L, new Xoshiro256StarStarCore());
+
+    @Test
+    public void normal() {
+        NormalSampler sampler = new NormalSampler(3.0, 2.0);
+        Moments moments = Moments.of(() -> sampler.sample(random));
+        assertEquals(3.0, moments.mean, 0.02);
+        assertEquals(4.0, moments.variance, 0.05);
+    }
+
+    @Test
+    public void standardNormalProbabilities() {
+        int belowOne = 0;
+        int tail = 0;
+        for (int i = 0; i < SAMPLES; ++i) {
+            double x = NormalSampler.STANDARD.sample(random);
+            belowOne += x < 1.0 ? 1 : 0;
+            tail += Math.abs(x) > 3.5 ? 1 : 0;
+        }
+        assertEquals(0.8413, belowOne / (double) SAMPLES, 0.003);
+        assertEquals(4.65e-4, tail / (double) SAMPLES, 1.5e-4);
+    }
+
+    @Test
+    public void nextGaussianWithCore() {
+        Moments moments = Moments.of(random::nextGaussian);
+        assertEquals(0.0, moments.mean, 0.01);
+        assertEquals(1.0, moments.variance, 0.02);
+    }
+
+    @Test
+    public void exponential() {
+        ExponentialSampler sampler = new ExponentialSampler(4.0);
+        Moments moments = Moments.of(() -> sampler.sample(random));
+        assertEquals(0.25, moments.mean, 0.002);
+        assertEquals(0.0625, moments.variance, 0.002);
+
+        int aboveMean = 0;
+        for (int i = 0; i < SAMPLES; ++i) {
+            aboveMean += sampler.sample(random) > 0.25 ? 1 : 0;
+        }
+        assertEquals(Math.exp(-1.0), aboveMean / (double) SAMPLES, 0.003);
+    }
+
+    @Test
+    public void logNormal() {
+        LogNormalSampler sampler = new LogNormalSampler(1.0, 0.5);
+        int belowMedian = 0;
+        for (int i = 0; i < SAMPLES; ++i) {
+            double x = sampler.sample(random);
+            assertTrue(x > 0.0);
+            belowMedian += x < Math.E ? 1 : 0;
+        }
+        assertEquals(0.5, belowMedian / (double) SAMPLES, 0.003);
+    }
+
+    @Test
+    public void zipf() {
+        int n = 1000;
+        double exponent = 1.2;
+        double harmonic = 0.0;
+        for (int k = 1; k <= n; ++k) {
+            harmonic += Math.pow(k, -exponent);
+        }
+
+        ZipfSampler sampler = new ZipfSampler(n, exponent);
+        int[] counts = new int[n + 1];
+        for (int i = 0; i < SAMPLES; ++i) {
+            counts[sampler.sample(random)]++;
+        }
+        assertEquals(0, counts[0]);
+        assertEquals(1.0 / harmonic, counts[1] / (double) SAMPLES, 0.003);
+        assertEquals(Math.pow(2, -exponent) / harmonic, counts[2] / (double) SAMPLES, 0.003);
+    }
+
+    @Test
+    public void poissonSmallMean() {
+        PoissonSampler sampler = new PoissonSampler(3.0);
+        int zeros = 0;
+        double sum = 0.0;
+        double sumOfSquares = 0.0;
+        for (int i = 0; i < SAMPLES; ++i) {
+            long k = sampler.sample(random);
+            zeros += k == 0 ? 1 : 0;
+            sum += k;
+            sumOfSquares += k * k;
+        }
+        double mean = sum / SAMPLES;
+        assertEquals(3.0, mean, 0.02);
+        assertEquals(3.0, sumOfSquares / SAMPLES - mean * mean, 0.05);
+        assertEquals(Math.exp(-3.0), zeros / (double) SAMPLES, 0.002);
+    }
+
+    @Test
+    public void poissonLargeMean() {
+        for (double expected : new double[] {10.0, 100.0, 1e6}) {
+            PoissonSampler sampler = new PoissonSampler(expected);
+            Moments moments = Moments.of(() -> sampler.sample(random));
+            assertEquals(expected, moments.mean, expected * 0.005);
+            assertEquals(expected, moments.variance, expected * 0.02);
+        }
+    }
+
+    @Test
+    public void reproducible() {
+        NormalSampler sampler = new NormalSampler(0.0, 1.0);
+        SeedableRandom first = new SeedableRandom(1L, new Xoshiro256StarStarCore());
+        SeedableRandom second = new SeedableRandom(1L, new Xoshiro256StarStarCore());
+        for (int i = 0; i < 1000; ++i) {
+            assertEquals(sampler.sample(first), sampler.sample(second));
+        }
+    }
+
+    @Test
+    public void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new NormalSampler(0.0, -1.0));
+        assertThrows(IllegalArgumentException.class, () -> new NormalSampler(Double.NaN, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ExponentialSampler(0.0));
+        assertThrows(IllegalArgumentException.class, () -> new LogNormalSampler(0.0, Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(10, -1.0));
+        assertThrows(IllegalArgumentException.class, () -> new PoissonSampler(0.0));
+    }
+
+    /** The mean and variance of a sample. */
+    private static class Moments {
+        private final double mean;
+        private final double variance;
+
+        private Moments(double mean, double variance) {
+            this.mean = mean;
+            this.variance = variance;
+        }
+
+        private static Moments of(DoubleSupplier sampler) {
+            double sum = 0.0;
+            double sumOfSquares = 0.0;
+            for (int i = 0; i < SAMPLES; ++i) {
+                double x = sampler.getAsDouble();
+                sum += x;
+                sumOfSquares += x * x;
+            }
+            double mean = sum / SAMPLES;
+            return new Moments(mean, sumOfSquares / SAMPLES - mean * mean);
+        }
+    }
+}
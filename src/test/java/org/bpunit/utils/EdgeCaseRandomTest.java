@@ -0,0 +1,113 @@
+package org.bpunit.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.bpunit.assertions.AssertUtils;
+import org.bpunit.examples.SomeClass;
+import org.bpunit.examples.SomeClassWithSameTypedProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test class for the {@link EdgeCaseRandom} class.
+ */
+public class EdgeCaseRandomTest {
+    private EdgeCaseRandom random;
+
+    @BeforeEach
+    public void setUp() {
+        random = new EdgeCaseRandom();
+    }
+
+    @Test
+    public void nextIntEdgesFirst() {
+        assertEquals(0, random.nextInt());
+        assertEquals(1, random.nextInt());
+        assertEquals(-1, random.nextInt());
+        assertEquals(Integer.MIN_VALUE, random.nextInt());
+        assertEquals(Integer.MAX_VALUE, random.nextInt());
+    }
+
+    @Test
+    public void nextDoubleEdgesFirst() {
+        Set<Double> values = new HashSet<>();
+        for (int i = 0; i < EdgeCaseRandom.getMaxEdgeCases(); ++i) {
+            values.add(random.nextDouble());
+        }
+        assertTrue(values.contains(Double.NaN));
+        assertTrue(values.contains(-0.0D));
+        assertTrue(values.contains(Double.NEGATIVE_INFINITY));
+    }
+
+    @Test
+    public void nextStringEdgesFirst() {
+        assertEquals("", random.nextString());
+    }
+
+    @Test
+    public void nextDateEdgesFirst() {
+        assertEquals(new Date(0L), random.nextDate());
+    }
+
+    @Test
+    public void fallBackToRandom() {
+        for (int i = 0; i < EdgeCaseRandom.getMaxEdgeCases(); ++i) {
+            random.nextString();
+        }
+        assertEquals(10, random.nextString().length());
+    }
+
+    @Test
+    public void resetEdgeCases() {
+        random.nextInt();
+        random.nextInt();
+        random.resetEdgeCases();
+        assertEquals(0, random.nextInt());
+    }
+
+    @Test
+    public void assertPropertiesWithEdgeCases() {
+        SomeClass sc = new SomeClass();
+        for (int i = 0; i < EdgeCaseRandom.getMaxEdgeCases(); ++i) {
+            AssertUtils.testProperties(sc, random);
+        }
+    }
+
+    @Test
+    public void cursors() {
+        random.selectCursor("first");
+        assertEquals(0, random.nextInt());
+        random.selectCursor("second");
+        assertEquals(0, random.nextInt());
+        random.selectCursor("first");
+        assertEquals(1, random.nextInt());
+        random.selectCursor(null);
+        assertEquals(0, random.nextInt());
+
+        random.resetEdgeCases();
+        random.selectCursor("first");
+        assertEquals(0, random.nextInt());
+    }
+
+    @Test
+    public void everyEdgeOfEveryProperty() {
+        SomeClassWithSameTypedProperties pojo = new SomeClassWithSameTypedProperties();
+        for (int i = 0; i < EdgeCaseRandom.getMaxEdgeCases(); ++i) {
+            AssertUtils.testProperties(pojo, random);
+        }
+
+        List<Integer> edges = Arrays.asList(0, 1, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE + 1,
+                Integer.MAX_VALUE - 1);
+        assertTrue(pojo.firstValues().containsAll(edges), pojo.firstValues().toString());
+        assertTrue(pojo.secondValues().containsAll(edges), pojo.secondValues().toString());
+        // Asserting the properties doesn't move the default cursor
+        assertEquals(0, random.nextInt());
+    }
+}
@@ -0,0 +1,160 @@
+package org.bpunit.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.SimpleDateFormat;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.bpunit.examples.ObjectRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * A test case for the {@link GeneratorRegistry} class.
+ */
+public class GeneratorRegistryTest {
+    private final Random random = new SeedableRandom(42L);
+
+    @Test
+    public void registerClass() {
+        Generator<String> generator = r -> "constant";
+        GeneratorRegistry registry = new GeneratorRegistry().register(String.class, generator);
+        assertSame(generator, registry.lookup(String.class));
+        assertNull(registry.lookup(Object.class));
+    }
+
+    @Test
+    public void primitivesAndBoxesAreTheSame() {
+        GeneratorRegistry registry = new GeneratorRegistry().register(int.class, r -> 7);
+        assertEquals(Integer.valueOf(7), registry.lookup(Integer.class).generate(random));
+        assertEquals(Integer.valueOf(7), registry.lookup(int.class).generate(random));
+    }
+
+    @Test
+    public void registerPredicate() {
+        AtomicInteger factoryCalls = new AtomicInteger();
+        GeneratorRegistry registry = new GeneratorRegistry().register(CharSequence.class::isAssignableFrom, type -> {
+            factoryCalls.incrementAndGet();
+            return r -> type.getSimpleName();
+        });
+
+        assertEquals("StringBuilder", registry.lookup(StringBuilder.class).generate(random));
+        assertEquals("StringBuilder", registry.lookup(StringBuilder.class).generate(random));
+        assertEquals(1, factoryCalls.get(), "The factory should be called once per type");
+        assertNull(registry.lookup(Integer.class));
+    }
+
+    @Test
+    public void classTakesPrecedenceOverPredicate() {
+        GeneratorRegistry registry = new GeneratorRegistry()
+                .register(type -> true, type -> r -> "predicate")
+                .register(String.class, r -> "class");
+        assertEquals("class", registry.lookup(String.class).generate(random));
+        assertEquals("predicate", registry.lookup(Object.class).generate(random));
+    }
+
+    @Test
+    public void registerAfterLookup() {
+        GeneratorRegistry registry = new GeneratorRegistry();
+        assertNull(registry.lookup(String.class));
+        registry.register(String.class, r -> "late");
+        assertEquals("late", registry.lookup(String.class).generate(random));
+    }
+
+    @Test
+    public void parent() {
+        GeneratorRegistry parent = new GeneratorRegistry().register(String.class, r -> "parent");
+        GeneratorRegistry child = new GeneratorRegistry(parent).register(Integer.class, r -> 1);
+        assertEquals("parent", child.lookup(String.class).generate(random));
+        assertEquals(Integer.valueOf(1), child.lookup(Integer.class).generate(random));
+        assertNull(parent.lookup(Integer.class));
+
+        child.register(String.class, r -> "child");
+        assertEquals("child", child.lookup(String.class).generate(random));
+        assertEquals("parent", parent.lookup(String.class).generate(random));
+    }
+
+    @Test
+    public void reflective() {
+        assertNotNull(GeneratorRegistry.reflective(SeedableRandom.class, String.class));
+        assertNotNull(GeneratorRegistry.reflective(SeedableRandom.class, int.class));
+        assertNotNull(GeneratorRegistry.reflective(SeedableRandom.class, Integer.class));
+        assertNull(GeneratorRegistry.reflective(SeedableRandom.class, Object.class));
+        assertNotNull(GeneratorRegistry.reflective(ObjectRandom.class, Object.class).generate(new ObjectRandom()));
+    }
+
+    @Test
+    public void reflectiveWrongReturnType() {
+        // ObjectRandom.nextSimpleDateFormat() returns a Date
+        assertNull(GeneratorRegistry.reflective(ObjectRandom.class, SimpleDateFormat.class));
+    }
+
+    @Test
+    public void reflectiveFailure() {
+        Generator<String> generator = GeneratorRegistry.reflective(ThrowingRandom.class, String.class);
+        assertThrows(IllegalStateException.class, () -> generator.generate(new ThrowingRandom()));
+    }
+
+    @Test
+    public void resolve() {
+        // A plain Random has no nextString()
+        assertNull(GeneratorRegistry.resolve(new Random(), String.class));
+        assertNotNull(GeneratorRegistry.resolve(new SeedableRandom(), String.class));
+        assertNotNull(GeneratorRegistry.resolve(new Random(), LocalDate.class));
+        assertNotNull(GeneratorRegistry.resolve(new Random(), boolean.class));
+    }
+
+    public static Stream<Class<?>> defaultTypes() {
+        return Stream.of(DayOfWeek.class, BigInteger.class, BigDecimal.class, LocalDate.class, LocalTime.class,
+                LocalDateTime.class, ZoneOffset.class, OffsetDateTime.class, ZonedDateTime.class, Instant.class,
+                Duration.class, Period.class, Year.class, YearMonth.class);
+    }
+
+    @ParameterizedTest
+    @MethodSource("defaultTypes")
+    public void defaults(Class<?> type) {
+        Generator<?> generator = GeneratorRegistry.defaults().lookup(type);
+        for (int i = 0; i < 100; ++i) {
+            Object value = generator.generate(random);
+            assertTrue(type.isInstance(value), () -> value + " is not a " + type);
+        }
+    }
+
+    @Test
+    public void defaultDatesAreInRange() {
+        Generator<LocalDate> generator = GeneratorRegistry.defaults().lookup(LocalDate.class);
+        for (int i = 0; i < 1000; ++i) {
+            int year = generator.generate(random).getYear();
+            assertTrue(year >= 1 && year <= 9999, () -> "Year out of range: " + year);
+        }
+    }
+
+    /** A random whose {@code nextString()} always throws. */
+    public static class ThrowingRandom extends Random {
+        public String nextString() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
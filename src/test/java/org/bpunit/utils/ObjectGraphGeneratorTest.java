@@ -0,0 +1,143 @@
+package org.bpunit.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+import org.bpunit.examples.SomeClass;
+import org.bpunit.examples.SomeClassWithCollections;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test case for the {@link ObjectGraphGenerator} class.
+ */
+public class ObjectGraphGeneratorTest {
+    private final ObjectGraphGenerator generator = new ObjectGraphGenerator();
+
+    @Test
+    public void generateBean() {
+        SomeClass sc = generator.generate(SomeClass.class, new SeedableRandom(1L));
+        assertNotNull(sc.getMyString());
+        assertNotNull(sc.getMyDate());
+        assertNotNull(sc.getMyInt());
+        assertNull(sc.getMyObject(), "Object should not be generated");
+        assertNull(sc.getMySimpleDateFormat(), "JDK classes should not be populated");
+    }
+
+    @Test
+    public void generateCollections() {
+        SomeClassWithCollections root = generator.withMaxCollectionSize(5)
+                .generate(SomeClassWithCollections.class, new SeedableRandom(2L));
+        assertTrue(root.getSomeClasses().size() <= 5);
+        for (SomeClass sc : root.getSomeClasses()) {
+            assertNotNull(sc.getMyString());
+        }
+        for (Map.Entry<String, Integer> entry : root.getCounts().entrySet()) {
+            assertNotNull(entry.getKey());
+            assertNotNull(entry.getValue());
+        }
+        for (Object id : root.getIds()) {
+            assertTrue(id instanceof Long);
+        }
+        assertTrue(root.getNumbers().length <= 5);
+    }
+
+    @Test
+    public void nullMapValuesAreLeftOut() {
+        SomeClassWithCollections root = generator.withMaxCollectionSize(5)
+                .generate(SomeClassWithCollections.class, new SeedableRandom(6L));
+        assertTrue(root.getAttributes().isEmpty(), "Objects cannot be generated, so no entry should be added");
+    }
+
+    @Test
+    public void sortedContainersOfIncomparables() {
+        for (long seed = 0L; seed < 20L; ++seed) {
+            SomeClassWithCollections root = generator.generate(SomeClassWithCollections.class, new SeedableRandom(seed));
+            assertTrue(root.getSortedSomeClasses().isEmpty());
+            assertTrue(root.getNamesBySomeClass().isEmpty());
+            assertTrue(root.getTasks().isEmpty());
+        }
+        assertTrue(generator.generate(SortedMap.class, new SeedableRandom()) instanceof SortedMap);
+    }
+
+    @Test
+    public void cycles() {
+        SomeClassWithCollections root = generator.generate(SomeClassWithCollections.class, new SeedableRandom(3L));
+        assertNull(root.getNext());
+
+        root = new ObjectGraphGenerator().withMaxRecursion(3).withMaxDepth(10)
+                .generate(SomeClassWithCollections.class, new SeedableRandom(3L));
+        assertNotNull(root.getNext());
+        assertNotNull(root.getNext().getNext());
+        assertNull(root.getNext().getNext().getNext());
+    }
+
+    @Test
+    public void depth() {
+        SomeClassWithCollections root = new ObjectGraphGenerator().withMaxDepth(1).withMaxCollectionSize(10)
+                .generate(SomeClassWithCollections.class, new SeedableRandom(4L));
+        assertTrue(root.getSomeClasses().isEmpty());
+        assertTrue(root.getCounts().isEmpty());
+        assertEquals(0, root.getNumbers().length);
+
+        assertNull(new ObjectGraphGenerator().withMaxDepth(0).generate(SomeClass.class, new SeedableRandom()));
+    }
+
+    @Test
+    public void interfaces() {
+        assertTrue(generator.generate(List.class, new SeedableRandom()) instanceof ArrayList);
+        assertTrue(generator.generate(Queue.class, new SeedableRandom()) instanceof Queue);
+        assertTrue(generator.generate(SortedSet.class, new SeedableRandom()) instanceof SortedSet);
+        assertTrue(generator.generate(LinkedList.class, new SeedableRandom()) instanceof LinkedList);
+        assertTrue(generator.generate(HashMap.class, new SeedableRandom()) instanceof HashMap);
+        assertNull(generator.generate(Runnable.class, new SeedableRandom()));
+    }
+
+    @Test
+    public void reproducible() {
+        SomeClassWithCollections first = generator.generate(SomeClassWithCollections.class, new SeedableRandom(5L));
+        SomeClassWithCollections second = generator.generate(SomeClassWithCollections.class, new SeedableRandom(5L));
+        assertEquals(first.getCounts(), second.getCounts());
+        assertEquals(first.getSomeClasses().size(), second.getSomeClasses().size());
+    }
+
+    @Test
+    public void withGenerators() {
+        SomeClass sc = new ObjectGraphGenerator()
+                .withGenerators(new GeneratorRegistry().register(String.class, r -> "registered"))
+                .generate(SomeClass.class, new SeedableRandom());
+        assertEquals("registered", sc.getMyString());
+    }
+
+    @Test
+    public void populate() {
+        SomeClass sc = new SomeClass();
+        assertSame(sc, generator.populate(sc, new SeedableRandom()));
+        assertNotNull(sc.getMyString());
+    }
+
+    @Test
+    public void generatorFor() {
+        SeedableRandom random = new SeedableRandom().register(SomeClass.class, generator.generatorFor(SomeClass.class));
+        assertNotNull(random.next(SomeClass.class).getMyString());
+    }
+
+    @Test
+    public void invalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> generator.withMaxDepth(-1));
+        assertThrows(IllegalArgumentException.class, () -> generator.withMaxCollectionSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> generator.withMaxRecursion(0));
+    }
+}
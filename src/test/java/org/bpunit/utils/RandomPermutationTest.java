@@ -0,0 +1,61 @@
+package org.bpunit.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test case for the {@link RandomPermutation} class.
+ */
+public class RandomPermutationTest {
+    @Test
+    public void bijection() {
+        for (long size = 1; size <= 300; ++size) {
+            RandomPermutation permutation = new RandomPermutation(size, size * 31);
+            boolean[] seen = new boolean[(int) size];
+            for (long i = 0; i < size; ++i) {
+                long value = permutation.valueAt(i);
+                assertTrue(value >= 0 && value < size);
+                assertTrue(!seen[(int) value], "Duplicate value " + value);
+                seen[(int) value] = true;
+                assertEquals(i, permutation.indexOf(value));
+            }
+        }
+    }
+
+    @Test
+    public void largeRange() {
+        RandomPermutation permutation = new RandomPermutation(Long.MAX_VALUE, 7L);
+        for (long i = 0; i < 1000; ++i) {
+            long index = i * 9_000_000_000_000_000L / 1000;
+            long value = permutation.valueAt(index);
+            assertTrue(value >= 0);
+            assertEquals(index, permutation.indexOf(value));
+        }
+    }
+
+    @Test
+    public void shuffles() {
+        long[] identity = new long[1000];
+        Arrays.setAll(identity, i -> i);
+        long[] first = new RandomPermutation(1000, 1L).stream().toArray();
+        long[] second = new RandomPermutation(1000, 2L).stream().toArray();
+        assertNotEquals(Arrays.toString(identity), Arrays.toString(first));
+        assertNotEquals(Arrays.toString(first), Arrays.toString(second));
+        assertEquals(Arrays.toString(first), Arrays.toString(new RandomPermutation(1000, 1L).stream().toArray()));
+    }
+
+    @Test
+    public void outOfRange() {
+        RandomPermutation permutation = new RandomPermutation(10, 1L);
+        assertThrows(IllegalArgumentException.class, () -> permutation.valueAt(10));
+        assertThrows(IllegalArgumentException.class, () -> permutation.valueAt(-1));
+        assertThrows(IllegalArgumentException.class, () -> permutation.indexOf(10));
+        assertThrows(IllegalArgumentException.class, () -> new RandomPermutation(0, 1L));
+    }
+}
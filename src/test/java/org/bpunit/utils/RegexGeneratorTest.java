@@ -0,0 +1,109 @@
+package org.bpunit.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.bpunit.utils.cores.SplitMix64Core;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * A test case for the {@link RegexGenerator} class.
+ */
+public class RegexGeneratorTest {
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "[A-Z]{3}-\\d{4}",
+            "[a-z0-9._%+-]+@[a-z0-9.-]+\\.[a-z]{2,4}",
+            "(foo|bar)+baz?",
+            "\\w{5,10}",
+            ".*",
+            "[^aeiou]{3}",
+            "a{2,}b*?c++",
+            "\\Qa.b*\\E",
+            "(?:ab|cd|){2}",
+            "\\x41\\u0042\\t\\0101\\.",
+            "^[\\p{Upper}\\d]{8}$",
+            "\\p{Alnum}\\P{Alpha}\\S\\D\\W\\s",
+            "[]a]|[\\]-]|[-x]",
+            "",
+            "id-[0-9a-f]{8}-[0-9a-f]{4}" })
+    public void generatesMatchingStrings(String regex) {
+        Pattern pattern = Pattern.compile(regex);
+        SeedableRandom random = new SeedableRandom(42L, new SplitMix64Core());
+        for (int i = 0; i < 1000; ++i) {
+            String value = random.nextString(pattern);
+            assertTrue(pattern.matcher(value).matches(), value + " doesn't match " + regex);
+        }
+    }
+
+    @Test
+    public void plainRandom() {
+        Pattern pattern = Pattern.compile("[a-f]{2,6}(\\.[0-9])?");
+        RegexGenerator generator = RegexGenerator.of(pattern);
+        Random random = new Random(3L);
+        for (int i = 0; i < 1000; ++i) {
+            String value = generator.generate(random);
+            assertTrue(pattern.matcher(value).matches(), value);
+        }
+    }
+
+    @Test
+    public void covers() {
+        RegexGenerator generator = RegexGenerator.of("[ab]{2}|c");
+        Random random = new Random(5L);
+        Set<String> values = new HashSet<>();
+        for (int i = 0; i < 1000; ++i) {
+            values.add(generator.generate(random));
+        }
+        assertEquals(5, values.size());
+    }
+
+    @Test
+    public void reproducible() {
+        Pattern pattern = Pattern.compile("[A-Z]{2}\\d{6}");
+        SeedableRandom first = new SeedableRandom(7L);
+        SeedableRandom second = new SeedableRandom(7L);
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(first.nextString(pattern), second.nextString(pattern));
+        }
+    }
+
+    @Test
+    public void cached() {
+        assertSame(RegexGenerator.of("[a-z]+"), RegexGenerator.of(Pattern.compile("[a-z]+")));
+        assertSame(RegexGenerator.of("[a-z]+"), RegexGenerator.of(Pattern.compile("[a-z]+", Pattern.DOTALL)));
+    }
+
+    @Test
+    public void cacheIsBounded() {
+        for (int i = 0; i < 2 * RegexGenerator.MAX_CACHED; ++i) {
+            RegexGenerator.of("id-" + i);
+        }
+        assertTrue(RegexGenerator.cachedCount() <= RegexGenerator.MAX_CACHED);
+    }
+
+    @Test
+    public void literalFlag() {
+        assertEquals("a+(b", RegexGenerator.of(Pattern.compile("a+(b", Pattern.LITERAL)).generate(new Random()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "(a)\\1", "a(?=b)", "\\bword", "[a-z&&[^b]]", "(?i)a" })
+    public void unsupported(String regex) {
+        assertThrows(IllegalArgumentException.class, () -> RegexGenerator.of(regex));
+    }
+
+    @Test
+    public void commentsFlag() {
+        assertThrows(IllegalArgumentException.class, () -> RegexGenerator.of(Pattern.compile("a b", Pattern.COMMENTS)));
+    }
+}
@@ -1,15 +1,35 @@
 package org.bpunit.utils;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
-
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.bpunit.examples.SomeClass;
+import org.bpunit.utils.cores.LinearCongruentialCore;
+import org.bpunit.utils.cores.SplitMix64Core;
+import org.bpunit.utils.cores.Xoshiro256StarStarCore;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -47,6 +67,106 @@ public class SeedableRandomTest {
         assertEquals(newSeed, random.getSeed());
     }
 
+    @Test
+    public void linearCongruentialCore() {
+        SeedableRandom withCore = new SeedableRandom(random.getSeed(), new LinearCongruentialCore());
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(random.nextLong(), withCore.nextLong());
+            assertEquals(random.nextInt(1000), withCore.nextInt(1000));
+            assertEquals(random.nextFloat(), withCore.nextFloat());
+            assertEquals(random.nextInt(), withCore.nextInt());
+            assertEquals(random.nextBoolean(), withCore.nextBoolean());
+        }
+    }
+
+    @Test
+    public void setSeedWithCore() {
+        SeedableRandom withCore = new SeedableRandom(new Xoshiro256StarStarCore());
+        long first = withCore.nextLong();
+        withCore.nextDouble();
+        withCore.setSeed(withCore.getSeed());
+        assertEquals(first, withCore.nextLong());
+    }
+
+    @Test
+    public void nextBytesWithCore() {
+        SeedableRandom withCore = new SeedableRandom(new Xoshiro256StarStarCore());
+        SeedableRandom other = new SeedableRandom(new Xoshiro256StarStarCore());
+        assertArrayEquals(withCore.nextBytes(13), other.nextBytes(13));
+    }
+
+    @Test
+    public void nextDoubleWithCore() {
+        SeedableRandom withCore = new SeedableRandom(new Xoshiro256StarStarCore());
+        for (int i = 0; i < 100; ++i) {
+            double d = withCore.nextDouble();
+            assertTrue(d >= 0.0 && d < 1.0);
+        }
+    }
+
+    @Test
+    public void splitIndexIgnoresState() {
+        SeedableRandom other = new SeedableRandom(random.getSeed());
+        other.nextLong();
+        assertEquals(random.split(3L).nextLong(), other.split(3L).nextLong());
+        assertNotEquals(random.split(3L).nextLong(), random.split(4L).nextLong());
+    }
+
+    @Test
+    public void splitIndexWithCore() {
+        SeedableRandom withCore = new SeedableRandom(new Xoshiro256StarStarCore());
+        SeedableRandom child = withCore.split(7L);
+        assertTrue(child.getCore() instanceof Xoshiro256StarStarCore);
+        assertNotSame(withCore.getCore(), child.getCore());
+        assertEquals(child.nextLong(), withCore.split(7L).nextLong());
+    }
+
+    @Test
+    public void split() {
+        SeedableRandom other = new SeedableRandom(random.getSeed());
+        SeedableRandom child = random.split();
+        assertEquals(child.nextLong(), other.split().nextLong());
+        assertNotEquals(random.split().nextLong(), child.nextLong());
+    }
+
+    @Test
+    public void jump() {
+        SeedableRandom withCore = new SeedableRandom(new Xoshiro256StarStarCore());
+        SeedableRandom other = new SeedableRandom(new Xoshiro256StarStarCore());
+        SeedableRandom jumped = withCore.jump();
+        long value = other.nextLong();
+        assertEquals(value, jumped.nextLong());
+        assertNotEquals(value, withCore.nextLong());
+    }
+
+    @Test
+    public void leap() {
+        SeedableRandom withCore = new SeedableRandom(new Xoshiro256StarStarCore());
+        SeedableRandom other = new SeedableRandom(new Xoshiro256StarStarCore());
+        SeedableRandom leaped = withCore.leap();
+        long value = other.nextLong();
+        assertEquals(value, leaped.nextLong());
+        assertNotEquals(value, withCore.nextLong());
+    }
+
+    @Test
+    public void jumpedStreamsHaveTheirOwnSeeds() {
+        SeedableRandom withCore = new SeedableRandom(new Xoshiro256StarStarCore());
+        SeedableRandom first = withCore.jump();
+        SeedableRandom second = withCore.leap();
+        assertNotEquals(withCore.getSeed(), first.getSeed());
+        assertNotEquals(first.getSeed(), second.getSeed());
+        assertNotEquals(withCore.split(0L).nextLong(), first.split(0L).nextLong());
+        assertNotEquals(first.split(0L).nextLong(), second.split(0L).nextLong());
+        assertNotEquals(first.valueAt(0L), second.valueAt(0L));
+        assertNotEquals(withCore.split(0L).getSeed(), first.getSeed());
+    }
+
+    @Test
+    public void jumpWithoutJumpableCore() {
+        assertThrows(UnsupportedOperationException.class, () -> random.jump());
+    }
+
     @Test
     public void nextByte() {
         byte b = random.nextByte();
@@ -288,6 +408,82 @@ public class SeedableRandomTest {
         Integer picked = random.pickRandom(arr);
     }
 
+    @Test
+    public void pickRandomLinkedList() {
+        List<Integer> list = new LinkedList<>(Arrays.asList(random.nextInt(), random.nextInt(), random.nextInt()));
+        assertTrue(list.contains(random.pickRandom(list)));
+    }
+
+    @Test
+    public void pickRandomEmpty() {
+        assertThrows(IllegalArgumentException.class, () -> random.pickRandom(new ArrayList<>()));
+    }
+
+    @Test
+    public void sample() {
+        List<Integer> sample = random.sample(IntStream.range(0, 10_000).boxed(), 10);
+        assertEquals(10, sample.size());
+        assertEquals(10, new HashSet<>(sample).size());
+        assertTrue(sample.stream().allMatch(i -> i >= 0 && i < 10_000));
+    }
+
+    @Test
+    public void sampleReproducible() {
+        List<Integer> sample = random.sample(IntStream.range(0, 10_000).boxed().iterator(), 10);
+        SeedableRandom other = new SeedableRandom(random.getSeed());
+        assertEquals(sample, other.sample(IntStream.range(0, 10_000).boxed().iterator(), 10));
+    }
+
+    @Test
+    public void sampleUniform() {
+        // Each of 100 elements should be picked about 10000 * 5 / 100 = 500 times
+        int[] counts = new int[100];
+        for (int i = 0; i < 10_000; ++i) {
+            for (int picked : random.sample(IntStream.range(0, counts.length).boxed(), 5)) {
+                counts[picked]++;
+            }
+        }
+        assertTrue(Arrays.stream(counts).allMatch(c -> c > 350 && c < 650));
+    }
+
+    @Test
+    public void sampleShort() {
+        assertEquals(Arrays.asList(1, 2), random.sample(Stream.of(1, 2), 3));
+        assertTrue(random.sample(Stream.of(1, 2), 0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> random.sample(Stream.of(1, 2), -1));
+    }
+
+    @Test
+    public void shuffleInts() {
+        int[] array = IntStream.range(0, 100).toArray();
+        random.shuffle(array, 10, 90);
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(i, array[i]);
+            assertEquals(99 - i, array[99 - i]);
+        }
+        Arrays.sort(array);
+        assertArrayEquals(IntStream.range(0, 100).toArray(), array);
+    }
+
+    @Test
+    public void shuffleLongs() {
+        long[] array = LongStream.range(0, 100).toArray();
+        random.shuffle(array);
+        assertFalse(Arrays.equals(LongStream.range(0, 100).toArray(), array));
+        Arrays.sort(array);
+        assertArrayEquals(LongStream.range(0, 100).toArray(), array);
+    }
+
+    @Test
+    public void shuffleObjects() {
+        String[] array = {"a", "b", "c", "d", "e", "f", "g", "h"};
+        String[] shuffled = array.clone();
+        random.shuffle(shuffled);
+        Arrays.sort(shuffled);
+        assertArrayEquals(array, shuffled);
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> random.shuffle(array, -1, 3));
+    }
+
     @Test
     public void nextBytes() {
         byte[] bytes = random.nextBytes(10);
@@ -307,6 +503,11 @@ public class SeedableRandomTest {
         TestEnum testEnum = random.nextEnum(TestEnum.class);
     }
 
+    @Test
+    public void nextEnumNotEnum() {
+        assertThrows(IllegalArgumentException.class, () -> random.nextEnum(Enum.class));
+    }
+
     @Test
     public void nextString() {
         String s = random.nextString();
@@ -420,6 +621,162 @@ public class SeedableRandomTest {
         assertTrue(s.length() < 15);
     }
 
+    @Test
+    public void nextInts() {
+        int[] ints = new int[11];
+        random.nextInts(ints);
+        int[] other = new int[11];
+        new SeedableRandom(random.getSeed()).nextInts(other);
+        assertArrayEquals(ints, other);
+    }
+
+    @Test
+    public void nextIntsRange() {
+        int[] ints = new int[10];
+        random.nextInts(ints, 2, 7, -5, 5);
+        for (int i = 0; i < ints.length; ++i) {
+            if (i < 2 || i >= 7) {
+                assertEquals(0, ints[i]);
+            } else {
+                assertTrue(ints[i] >= -5 && ints[i] < 5);
+            }
+        }
+    }
+
+    @Test
+    public void nextIntsBadRange() {
+        assertThrows(IllegalArgumentException.class, () -> random.nextInts(new int[10], 7, 2));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> random.nextInts(new int[10], 2, 11));
+        assertThrows(IllegalArgumentException.class, () -> random.nextInts(new int[10], 2, 7, 5, 5));
+    }
+
+    @Test
+    public void nextLongsRange() {
+        long[] longs = new long[100];
+        random.nextLongs(longs, 0, longs.length, Long.MIN_VALUE, Long.MAX_VALUE);
+        random.nextLongs(longs, 0, 50, 1000L, 1013L);
+        for (int i = 0; i < 50; ++i) {
+            assertTrue(longs[i] >= 1000L && longs[i] < 1013L);
+        }
+    }
+
+    @Test
+    public void nextDoublesRange() {
+        double[] doubles = new double[100];
+        random.nextDoubles(doubles);
+        for (double d : doubles) {
+            assertTrue(d >= 0.0 && d < 1.0);
+        }
+        random.nextDoubles(doubles, 0, doubles.length, 2.0, 5.0);
+        for (double d : doubles) {
+            assertTrue(d >= 2.0 && d < 5.0);
+        }
+    }
+
+    @Test
+    public void nextChars() {
+        char[] chars = new char[7];
+        random.nextChars(chars, 1, 6);
+        assertEquals('\0', chars[0]);
+        assertEquals('\0', chars[6]);
+    }
+
+    @Test
+    public void nextBytesDirectBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(13);
+        random.nextBytes(buffer);
+        assertFalse(buffer.hasRemaining());
+        ByteBuffer other = ByteBuffer.allocate(13);
+        new SeedableRandom(random.getSeed()).nextBytes(other);
+        buffer.rewind();
+        other.rewind();
+        assertEquals(other, buffer);
+    }
+
+    @Test
+    public void nextLongsBuffer() {
+        LongBuffer buffer = LongBuffer.allocate(5);
+        random.nextLongs(buffer);
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void parallelStreams() {
+        SeedableRandom other = new SeedableRandom(random.getSeed());
+        assertArrayEquals(random.ints(1000).toArray(), other.ints(1000).parallel().toArray());
+        assertArrayEquals(random.longs(1000, -3L, 3L).toArray(), other.longs(1000, -3L, 3L).parallel().toArray());
+        assertArrayEquals(random.doubles(1000).toArray(), other.doubles(1000).parallel().toArray());
+    }
+
+    @Test
+    public void boundedStreams() {
+        assertTrue(random.ints(1000, 10, 20).allMatch(i -> i >= 10 && i < 20));
+        assertTrue(random.longs(1000, 10L, 20L).allMatch(l -> l >= 10L && l < 20L));
+        assertTrue(random.doubles(1000, 10.0, 20.0).allMatch(d -> d >= 10.0 && d < 20.0));
+        assertEquals(5, random.ints().limit(5).count());
+    }
+
+    @Test
+    public void badStreams() {
+        assertThrows(IllegalArgumentException.class, () -> random.ints(-1L));
+        assertThrows(IllegalArgumentException.class, () -> random.ints(20, 10));
+    }
+
+    @Test
+    public void nextStringAlphabet() {
+        Alphabet alphabet = Alphabet.of("ab\u05D0");
+        String s = random.nextString(alphabet, 100);
+        assertEquals(100, s.length());
+        assertTrue(s.chars().allMatch(c -> c == 'a' || c == 'b' || c == '\u05D0'));
+    }
+
+    @Test
+    public void nextStringSingleCharAlphabet() {
+        assertEquals("xxxxx", random.nextString(Alphabet.of("x"), 5));
+    }
+
+    @Test
+    public void nextStringLatin1Alphabet() {
+        String s = random.nextString(Alphabet.LATIN1, 100);
+        assertEquals(100, s.length());
+        assertTrue(s.chars().allMatch(c -> c <= 0xFF));
+    }
+
+    @Test
+    public void nextCharSequence() {
+        CharSequence cs = random.nextCharSequence(Alphabet.PRINTABLE, 20);
+        assertEquals(20, cs.length());
+        assertAsciiPrintable(cs.toString());
+    }
+
+    @Test
+    public void appendString() {
+        StringBuilder builder = new StringBuilder("prefix");
+        assertSame(builder, random.appendString(builder, Alphabet.PRINTABLE, 20));
+        assertEquals(26, builder.length());
+        assertTrue(builder.toString().startsWith("prefix"));
+        assertAsciiPrintable(builder.toString());
+    }
+
+    @Test
+    public void appendStringNegativeLength() {
+        assertThrows(IllegalArgumentException.class,
+                () -> random.appendString(new StringBuilder(), Alphabet.PRINTABLE, -1));
+    }
+
+    @Test
+    public void nextCharsAlphabet() {
+        char[] chars = new char[10];
+        random.nextChars(chars, 2, 8, Alphabet.range('a', 'c'));
+        for (int i = 0; i < chars.length; ++i) {
+            if (i < 2 || i >= 8) {
+                assertEquals('\0', chars[i]);
+            } else {
+                assertTrue(chars[i] >= 'a' && chars[i] <= 'c');
+            }
+        }
+    }
+
     private static void assertAsciiPrintable(String s) {
         for (char c : s.toCharArray()) {
             assertTrue(c >= 32 && c < 127);
@@ -483,4 +840,169 @@ public class SeedableRandomTest {
     public void nextPropertyStringNegativeLength() {
         assertThrows(IllegalArgumentException.class, () -> random.nextPropertyString(-5));
     }
+
+    @Test
+    public void nextRegisteredClass() {
+        random.register(StringBuilder.class, r -> new StringBuilder("registered"));
+        assertEquals("registered", random.next(StringBuilder.class).toString());
+    }
+
+    @Test
+    public void nextRegisteredTakesPrecedence() {
+        random.register(String.class, r -> "registered");
+        assertEquals("registered", random.next(String.class));
+    }
+
+    @Test
+    public void nextReflective() {
+        assertEquals(new SeedableRandom(1L).nextInt(), new SeedableRandom(1L).next(int.class).intValue());
+        assertTrue(random.next(String.class).length() > 0);
+    }
+
+    @Test
+    public void nextDefault() {
+        assertTrue(random.next(BigDecimal.class) instanceof BigDecimal);
+    }
+
+    @Test
+    public void nextUnknown() {
+        assertThrows(IllegalArgumentException.class, () -> random.next(Object.class));
+    }
+
+    @Test
+    public void nextRegisteredIsSharedWithSplits() {
+        random.register(StringBuilder.class, r -> new StringBuilder("registered"));
+        assertEquals("registered", random.split(3L).next(StringBuilder.class).toString());
+    }
+
+    @Test
+    public void forDerivedSeed() {
+        SeedableRandom derived = SeedableRandom.forDerivedSeed(12L);
+        assertEquals(12L, derived.getSeed());
+        assertEquals(new SeedableRandom(12L).nextLong(), derived.nextLong());
+
+        derived.register(StringBuilder.class, r -> new StringBuilder("registered"));
+        assertThrows(IllegalArgumentException.class, () -> SeedableRandom.forDerivedSeed(12L).next(StringBuilder.class));
+    }
+
+    @Test
+    public void concurrentSplitsShareTheRegistry() {
+        SeedableRandom root = new SeedableRandom(5L);
+        List<SeedableRandom> splits = IntStream.range(0, 1000).parallel()
+                .mapToObj(root::split).collect(Collectors.toList());
+        root.register(StringBuilder.class, r -> new StringBuilder("registered"));
+        for (SeedableRandom split : splits) {
+            assertEquals("registered", split.next(StringBuilder.class).toString());
+        }
+    }
+
+    @Test
+    public void streamOfClass() {
+        List<String> strings = new SeedableRandom(9L).stream(String.class, 1000).collect(Collectors.toList());
+        assertEquals(1000, strings.size());
+        assertEquals(strings, new SeedableRandom(9L).stream(String.class, 1000).parallel().collect(Collectors.toList()));
+        assertEquals(strings.subList(0, 10),
+                new SeedableRandom(9L).stream(String.class).limit(10).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void streamOfPOJOs() {
+        List<String> strings = random.stream(SomeClass.class)
+                .parallel()
+                .limit(100)
+                .map(SomeClass::getMyString)
+                .collect(Collectors.toList());
+        assertEquals(100, strings.size());
+        strings.forEach(Assertions::assertNotNull);
+    }
+
+    @Test
+    public void reusingStream() {
+        List<SomeClass> instances = new SeedableRandom(10L).reusingStream(SomeClass.class, 50)
+                .collect(Collectors.toList());
+        assertEquals(1, new HashSet<>(instances).size(), "The instance should be reused");
+
+        List<String> reused = new SeedableRandom(10L).reusingStream(SomeClass.class)
+                .limit(50)
+                .map(SomeClass::getMyString)
+                .collect(Collectors.toList());
+        List<String> created = new SeedableRandom(10L).stream(SomeClass.class, 50)
+                .map(SomeClass::getMyString)
+                .collect(Collectors.toList());
+        assertEquals(created, reused);
+    }
+
+    @Test
+    public void streamOfClassCharacteristics() {
+        Spliterator<String> strings = random.stream(String.class, 10).spliterator();
+        assertTrue(strings.hasCharacteristics(Spliterator.SIZED));
+        assertFalse(strings.hasCharacteristics(Spliterator.IMMUTABLE));
+        assertFalse(random.reusingStream(SomeClass.class, 10).spliterator().hasCharacteristics(Spliterator.IMMUTABLE));
+    }
+
+    @Test
+    public void streamOfClassInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> random.stream(String.class, -1));
+        assertThrows(IllegalArgumentException.class, () -> random.stream(Runnable.class));
+        assertThrows(IllegalArgumentException.class, () -> random.reusingStream(String.class));
+    }
+
+    @Test
+    public void valueAt() {
+        SeedableRandom sequential = new SeedableRandom(21L, new SplitMix64Core());
+        SeedableRandom indexed = new SeedableRandom(21L);
+        for (long i = 0; i < 100; ++i) {
+            assertEquals(sequential.nextLong(), indexed.valueAt(i));
+        }
+
+        // The values do not depend on the values that were already generated
+        long value = indexed.valueAt(1_000_000_000L);
+        indexed.nextLong();
+        assertEquals(value, indexed.valueAt(1_000_000_000L));
+    }
+
+    @Test
+    public void doubleAt() {
+        for (long i = 0; i < 1000; ++i) {
+            double d = random.doubleAt(i);
+            assertTrue(d >= 0.0 && d < 1.0);
+        }
+    }
+
+    @Test
+    public void valueAtNegativeIndex() {
+        assertThrows(IllegalArgumentException.class, () -> random.valueAt(-1L));
+    }
+
+    @Test
+    public void uniqueInts() {
+        int[] values = random.uniqueInts(1000, -500, 500).parallel().toArray();
+        assertEquals(1000, values.length);
+        assertEquals(1000, Arrays.stream(values).distinct().count());
+        assertTrue(Arrays.stream(values).allMatch(i -> i >= -500 && i < 500));
+        assertThrows(IllegalArgumentException.class, () -> random.uniqueInts(11, 0, 10));
+    }
+
+    @Test
+    public void uniqueLongs() {
+        assertEquals(100_000, random.uniqueLongs(100_000).parallel().distinct().count());
+        assertTrue(random.uniqueLongs(1000, Long.MIN_VALUE, Long.MIN_VALUE + 2000)
+                .allMatch(l -> l < Long.MIN_VALUE + 2000));
+        assertThrows(IllegalArgumentException.class, () -> random.uniqueLongs(1, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void uniqueStrings() {
+        List<String> exhaustive = random.uniqueStrings(1000, Alphabet.of("0123456789"), 3).collect(Collectors.toList());
+        assertEquals(1000, new HashSet<>(exhaustive).size());
+
+        List<String> longStrings = random.uniqueStrings(10_000, Alphabet.PRINTABLE, 30).collect(Collectors.toList());
+        assertEquals(10_000, new HashSet<>(longStrings).size());
+        for (String s : longStrings) {
+            assertEquals(30, s.length());
+        }
+        // The characters beyond the encoded ones should not be constant
+        assertTrue(longStrings.stream().map(s -> s.charAt(0)).distinct().count() > 1);
+        assertThrows(IllegalArgumentException.class, () -> random.uniqueStrings(513, Alphabet.of("01"), 9));
+    }
 }
@@ -0,0 +1,79 @@
+package org.bpunit.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test case for the {@link ValuePool} class.
+ */
+public class ValuePoolTest {
+    @Test
+    public void handsOutPooledInstances() {
+        ValuePool<String> pool = ValuePool.of(String.class, 16, 7L);
+        assertEquals(16, pool.size());
+
+        Set<String> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Random random = new SeedableRandom(3L);
+        for (int i = 0; i < 10_000; ++i) {
+            seen.add(pool.generate(random));
+        }
+        // Only the pooled instances are handed out, and all of them are
+        assertEquals(16, seen.size());
+    }
+
+    @Test
+    public void reproducible() {
+        ValuePool<BigInteger> first = ValuePool.of(BigInteger.class, 64, 7L);
+        ValuePool<BigInteger> second = ValuePool.of(BigInteger.class, 64, 7L);
+        Random firstRandom = new SeedableRandom(3L);
+        Random secondRandom = new SeedableRandom(3L);
+        for (int i = 0; i < 1000; ++i) {
+            assertEquals(first.generate(firstRandom), second.generate(secondRandom));
+        }
+    }
+
+    @Test
+    public void customGenerator() {
+        ValuePool<String> pool = new ValuePool<>(r -> "value" + r.nextInt(3), 8, 7L);
+        Random random = new Random(3L);
+        for (int i = 0; i < 100; ++i) {
+            assertTrue(pool.generate(random).matches("value[0-2]"));
+        }
+    }
+
+    @Test
+    public void registry() {
+        GeneratorRegistry registry = ValuePool.registry(32, 7L);
+        Random random = new Random(3L);
+        for (Class<?> type : new Class<?>[] { String.class, Date.class, BigInteger.class }) {
+            Generator<?> generator = registry.lookup(type);
+            assertTrue(generator instanceof ValuePool, type.getName());
+            assertNotNull(generator.generate(random));
+        }
+    }
+
+    @Test
+    public void sizeOne() {
+        ValuePool<String> pool = ValuePool.of(String.class, 1, 7L);
+        Random random = new Random(3L);
+        assertSame(pool.generate(random), pool.generate(random));
+    }
+
+    @Test
+    public void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> ValuePool.of(String.class, 0, 7L));
+        assertThrows(IllegalArgumentException.class, () -> ValuePool.of(Thread.class, 8, 7L));
+    }
+}
@@ -0,0 +1,66 @@
+package org.bpunit.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test case for the {@link WeightedSampler} class. It only roughly checks the distribution of the sampled
+ * elements, with a fixed seed and a generous margin.
+ */
+public class WeightedSamplerTest {
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    public void distribution() {
+        WeightedSampler<String> sampler =
+                new WeightedSampler<>(Arrays.asList("a", "b", "c", "d"), new double[] {1.0, 2.0, 0.0, 7.0});
+        SeedableRandom random = new SeedableRandom(17L);
+        int[] counts = new int[sampler.size()];
+        for (int i = 0; i < SAMPLES; ++i) {
+            counts[sampler.sampleIndex(random)]++;
+        }
+        assertEquals(0.1, counts[0] / (double) SAMPLES, 0.01);
+        assertEquals(0.2, counts[1] / (double) SAMPLES, 0.01);
+        assertEquals(0, counts[2]);
+        assertEquals(0.7, counts[3] / (double) SAMPLES, 0.01);
+    }
+
+    @Test
+    public void ofMap() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("never", 0);
+        weights.put("always", 3);
+        WeightedSampler<String> sampler = WeightedSampler.of(weights);
+        SeedableRandom random = new SeedableRandom(17L);
+        for (int i = 0; i < 100; ++i) {
+            assertEquals("always", sampler.sample(random));
+        }
+    }
+
+    @Test
+    public void single() {
+        WeightedSampler<String> sampler = new WeightedSampler<>(Collections.singletonList("a"), new double[] {0.5});
+        assertEquals("a", sampler.sample(new SeedableRandom()));
+    }
+
+    @Test
+    public void badWeights() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new WeightedSampler<>(Collections.emptyList(), new double[0]));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WeightedSampler<>(Arrays.asList("a", "b"), new double[] {1.0}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WeightedSampler<>(Arrays.asList("a", "b"), new double[] {1.0, -1.0}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WeightedSampler<>(Arrays.asList("a", "b"), new double[] {1.0, Double.NaN}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WeightedSampler<>(Arrays.asList("a", "b"), new double[] {0.0, 0.0}));
+    }
+}
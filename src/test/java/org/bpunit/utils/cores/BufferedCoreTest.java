@@ -0,0 +1,99 @@
+package org.bpunit.utils.cores;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.bpunit.utils.SeedableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test case for the {@link BufferedCore} class.
+ */
+public class BufferedCoreTest {
+    @Test
+    public void sameSequenceAsDelegate() {
+        Xoshiro256StarStarCore reference = new Xoshiro256StarStarCore();
+        reference.setSeed(5L);
+        BufferedCore core = new BufferedCore(new Xoshiro256StarStarCore(), 7);
+        core.setSeed(5L);
+        for (int i = 0; i < 1000; ++i) {
+            assertEquals(reference.nextLong(), core.nextLong());
+        }
+    }
+
+    @Test
+    public void reseed() {
+        BufferedCore core = new BufferedCore(new SplitMix64Core(), 16);
+        core.setSeed(1L);
+        long first = core.nextLong();
+        for (int i = 0; i < 100; ++i) {
+            core.nextLong();
+        }
+        core.setSeed(1L);
+        assertEquals(first, core.nextLong());
+    }
+
+    @Test
+    public void reseedOften() {
+        int[] generated = new int[1];
+        BufferedCore core = new BufferedCore(new SplitMix64Core() {
+            @Override
+            public long nextLong() {
+                ++generated[0];
+                return super.nextLong();
+            }
+        }, 64);
+        SplitMix64Core reference = new SplitMix64Core();
+        for (long row = 0; row < 1000; ++row) {
+            core.setSeed(row);
+            reference.setSeed(row);
+            for (int i = 0; i < 3; ++i) {
+                assertEquals(reference.nextLong(), core.nextLong());
+            }
+        }
+        assertEquals(3000, generated[0], "Values that were never used should not be generated");
+
+        // Buffering resumes after a block's worth of values
+        core.setSeed(7L);
+        reference.setSeed(7L);
+        for (int i = 0; i < 1000; ++i) {
+            assertEquals(reference.nextLong(), core.nextLong());
+        }
+    }
+
+    @Test
+    public void sameValuesAsUnbufferedSeedableRandom() {
+        SeedableRandom buffered = new SeedableRandom(3L, new BufferedCore(new SplitMix64Core()));
+        SeedableRandom unbuffered = new SeedableRandom(3L, new SplitMix64Core());
+        for (int i = 0; i < 10_000; ++i) {
+            assertEquals(unbuffered.nextInt(), buffered.nextInt());
+            assertEquals(unbuffered.nextDouble(), buffered.nextDouble());
+        }
+        assertEquals(unbuffered.split(4L).nextLong(), buffered.split(4L).nextLong());
+    }
+
+    @Test
+    public void failingDelegate() {
+        BufferedCore core = new BufferedCore(new SplitMix64Core() {
+            private int count;
+
+            @Override
+            public long nextLong() {
+                if (++count > 10) {
+                    throw new IllegalStateException("Exhausted");
+                }
+                return super.nextLong();
+            }
+        }, 10);
+        for (int i = 0; i < 10; ++i) {
+            core.nextLong();
+        }
+        assertThrows(IllegalStateException.class, core::nextLong);
+    }
+
+    @Test
+    public void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BufferedCore(null));
+        assertThrows(IllegalArgumentException.class, () -> new BufferedCore(new SplitMix64Core(), 0));
+    }
+}
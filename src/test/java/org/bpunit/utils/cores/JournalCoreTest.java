@@ -0,0 +1,169 @@
+package org.bpunit.utils.cores;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
+import org.bpunit.utils.SeedableRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test case for the {@link JournalCore} class.
+ */
+public class JournalCoreTest {
+    private Path path;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        path = Files.createTempFile("bpunit", ".journal");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void recordAndReplay() throws IOException {
+        // Enough values to span several mapped chunks
+        int n = 300_000;
+        Xoshiro256StarStarCore reference = new Xoshiro256StarStarCore();
+        reference.setSeed(11L);
+
+        try (JournalCore recorder = JournalCore.record(path, new Xoshiro256StarStarCore())) {
+            recorder.setSeed(11L);
+            assertFalse(recorder.isReplaying());
+            for (int i = 0; i < n; ++i) {
+                assertEquals(reference.nextLong(), recorder.nextLong());
+            }
+            assertEquals(n, recorder.getCount());
+        }
+
+        reference.setSeed(11L);
+        try (JournalCore replayer = JournalCore.replay(path)) {
+            assertTrue(replayer.isReplaying());
+            replayer.setSeed(12345L);
+            for (int i = 0; i < n; ++i) {
+                assertEquals(reference.nextLong(), replayer.nextLong());
+            }
+            assertThrows(IllegalStateException.class, replayer::nextLong);
+        }
+    }
+
+    @Test
+    public void replaySeedableRandomWithSplits() throws IOException {
+        String recorded;
+        try (JournalCore recorder = JournalCore.record(path, new SplitMix64Core())) {
+            SeedableRandom random = new SeedableRandom(7L, recorder);
+            recorded = random.nextString() + random.split(3L).nextInt() + random.nextDouble();
+        }
+
+        try (JournalCore replayer = JournalCore.replay(path)) {
+            SeedableRandom random = new SeedableRandom(0L, replayer);
+            assertEquals(recorded, random.nextString() + random.split(3L).nextInt() + random.nextDouble());
+        }
+    }
+
+    @Test
+    public void replayUnclosedJournal() throws IOException {
+        JournalCore recorder = JournalCore.record(path, new SplitMix64Core());
+        long first = recorder.nextLong();
+        long second = recorder.nextLong();
+
+        try (JournalCore replayer = JournalCore.replay(path)) {
+            assertEquals(first, replayer.nextLong());
+            assertEquals(second, replayer.nextLong());
+            assertThrows(IllegalStateException.class, replayer::nextLong);
+        } finally {
+            recorder.close();
+        }
+    }
+
+    @Test
+    public void replayNonJournal() throws IOException {
+        Files.write(path, new byte[] {1, 2, 3});
+        assertThrows(IOException.class, () -> JournalCore.replay(path));
+    }
+
+    @Test
+    public void recordWithoutCore() {
+        assertThrows(IllegalArgumentException.class, () -> JournalCore.record(path, null));
+    }
+
+    @Test
+    public void concurrentUse() throws IOException, InterruptedException {
+        CountDownLatch drawing = new CountDownLatch(1);
+        CountDownLatch drawn = new CountDownLatch(1);
+        try (JournalCore recorder = JournalCore.record(path, new BlockingCore(drawing, drawn))) {
+            Thread thread = new Thread(recorder::nextLong);
+            thread.start();
+            drawing.await();
+            assertThrows(IllegalStateException.class, recorder.newInstance()::nextLong);
+            drawn.countDown();
+            thread.join();
+
+            // Handing the journal over to another thread is fine
+            recorder.nextLong();
+            assertEquals(2L, recorder.getCount());
+        }
+    }
+
+    @Test
+    public void deserialized() throws IOException, ClassNotFoundException {
+        try (JournalCore recorder = JournalCore.record(path, new SplitMix64Core())) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(recorder);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                JournalCore copy = (JournalCore) in.readObject();
+                assertThrows(IllegalStateException.class, copy::nextLong);
+                assertThrows(IllegalStateException.class, copy::getCount);
+            }
+        }
+    }
+
+    /** A core that signals when it starts generating a value, and waits to be allowed to finish */
+    @SuppressWarnings("serial")
+    private static class BlockingCore implements RandomCore {
+        private final transient CountDownLatch drawing;
+        private final transient CountDownLatch drawn;
+
+        private BlockingCore(CountDownLatch drawing, CountDownLatch drawn) {
+            this.drawing = drawing;
+            this.drawn = drawn;
+        }
+
+        @Override
+        public void setSeed(long seed) {
+        }
+
+        @Override
+        public long nextLong() {
+            drawing.countDown();
+            try {
+                drawn.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 0L;
+        }
+
+        @Override
+        public RandomCore newInstance() {
+            return new SplitMix64Core();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.bpunit.utils.cores;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test case for the {@link LinearCongruentialCore} class.
+ */
+public class LinearCongruentialCoreTest {
+    @Test
+    public void sameSequenceAsRandom() {
+        Random random = new Random(17L);
+        LinearCongruentialCore core = new LinearCongruentialCore();
+        core.setSeed(17L);
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(random.nextLong(), core.nextLong());
+            assertEquals(random.nextInt(), core.next(Integer.SIZE));
+            assertEquals(random.nextBoolean() ? 1 : 0, core.next(1));
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package org.bpunit.utils.cores;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * A quick battery of statistical tests for all the {@link RandomCore}s. These are sanity checks that catch broken
+ * generators, e.g., a mistyped shift or constant, rather than a replacement for full batteries such as TestU01 or
+ * PractRand. The seeds are fixed, so the tests are deterministic.
+ *
+ * The bounds are six standard deviations away from the expected value, so a good generator practically never fails
+ * them.
+ */
+public class RandomCoreQualityTest {
+    private static final double SIGMAS = 6.0;
+
+    private static final long SEED = 19811611L;
+
+    public static Stream<Arguments> cores() {
+        return Stream.of(
+                core("LinearCongruential", LinearCongruentialCore::new, false),
+                core("SplitMix64", SplitMix64Core::new, true),
+                core("Xoshiro256StarStar", Xoshiro256StarStarCore::new, true),
+                core("BufferedXoshiro256StarStar", () -> new BufferedCore(new Xoshiro256StarStarCore()), true));
+    }
+
+    /**
+     * @param avalanche
+     *            Whether the core's seeding is expected to have the avalanche property. The linear congruential
+     *            generator only uses the low 48 bits of the seed, and barely mixes them.
+     */
+    private static Arguments core(String name, Supplier<RandomCore> factory, boolean avalanche) {
+        return Arguments.of(name, factory, avalanche);
+    }
+
+    private static RandomCore seeded(Supplier<RandomCore> factory, long seed) {
+        RandomCore core = factory.get();
+        core.setSeed(seed);
+        return core;
+    }
+
+    /**
+     * A chi-square test of the distribution of each of the 8 bytes of {@link RandomCore#nextLong()}.
+     */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("cores")
+    public void chiSquareBytes(String name, Supplier<RandomCore> factory, boolean avalanche) {
+        int samples = 1 << 18;
+        long[][] counts = new long[Long.BYTES][256];
+        RandomCore core = seeded(factory, SEED);
+        for (int i = 0; i < samples; ++i) {
+            long value = core.nextLong();
+            for (int b = 0; b < Long.BYTES; ++b) {
+                ++counts[b][(int) (value >>> (b * Byte.SIZE)) & 0xFF];
+            }
+        }
+
+        int degreesOfFreedom = 255;
+        double bound = SIGMAS * Math.sqrt(2.0 * degreesOfFreedom);
+        for (int b = 0; b < Long.BYTES; ++b) {
+            double chiSquare = chiSquare(counts[b], (double) samples / 256);
+            assertTrue(Math.abs(chiSquare - degreesOfFreedom) < bound,
+                    name + ": chi-square of byte " + b + " is " + chiSquare);
+        }
+    }
+
+    /**
+     * Checks that each of the 64 bits of {@link RandomCore#nextLong()} is set half of the time.
+     */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("cores")
+    public void bitFrequency(String name, Supplier<RandomCore> factory, boolean avalanche) {
+        int samples = 1 << 18;
+        long[] ones = new long[Long.SIZE];
+        RandomCore core = seeded(factory, SEED);
+        for (int i = 0; i < samples; ++i) {
+            long value = core.nextLong();
+            for (int bit = 0; bit < Long.SIZE; ++bit) {
+                ones[bit] += (value >>> bit) & 1L;
+            }
+        }
+
+        double bound = SIGMAS * Math.sqrt(samples) / 2;
+        for (int bit = 0; bit < Long.SIZE; ++bit) {
+            assertTrue(Math.abs(ones[bit] - samples / 2.0) < bound, name + ": bit " + bit + " was set " + ones[bit]
+                    + " times out of " + samples);
+        }
+    }
+
+    /**
+     * Checks that consecutive {@code double}s are not correlated, for lags 1 to 4.
+     */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("cores")
+    public void serialCorrelation(String name, Supplier<RandomCore> factory, boolean avalanche) {
+        int samples = 1 << 20;
+        double[] values = new double[samples];
+        RandomCore core = seeded(factory, SEED);
+        for (int i = 0; i < samples; ++i) {
+            values[i] = (core.nextLong() >>> 11) * 0x1.0p-53;
+        }
+
+        double bound = SIGMAS / Math.sqrt(samples);
+        for (int lag = 1; lag <= 4; ++lag) {
+            double correlation = serialCorrelation(values, lag);
+            assertTrue(Math.abs(correlation) < bound, name + ": lag " + lag + " correlation is " + correlation);
+        }
+    }
+
+    /**
+     * Checks that flipping any single bit of the seed flips half of the bits of the first value, on average.
+     */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("cores")
+    public void seedAvalanche(String name, Supplier<RandomCore> factory, boolean avalanche) {
+        if (!avalanche) {
+            return;
+        }
+
+        int seeds = 256;
+        // The number of flipped bits is binomial, with a standard deviation of 4 bits
+        double bound = SIGMAS * 4.0 / Math.sqrt(seeds);
+        long total = 0L;
+        for (int bit = 0; bit < Long.SIZE; ++bit) {
+            long flipped = 0L;
+            for (long i = 0; i < seeds; ++i) {
+                long seed = SEED * 0x9E3779B97F4A7C15L + i;
+                long first = seeded(factory, seed).nextLong();
+                long other = seeded(factory, seed ^ (1L << bit)).nextLong();
+                flipped += Long.bitCount(first ^ other);
+            }
+            double mean = (double) flipped / seeds;
+            assertTrue(Math.abs(mean - 32.0) < bound, name + ": flipping seed bit " + bit + " flips " + mean
+                    + " bits on average");
+            total += flipped;
+        }
+        double mean = (double) total / (seeds * Long.SIZE);
+        assertTrue(Math.abs(mean - 32.0) < bound / Math.sqrt(Long.SIZE), name + ": flips " + mean + " bits on average");
+    }
+
+    private static double chiSquare(long[] counts, double expected) {
+        double sum = 0.0;
+        for (long count : counts) {
+            double difference = count - expected;
+            sum += difference * difference / expected;
+        }
+        return sum;
+    }
+
+    private static double serialCorrelation(double[] values, int lag) {
+        int n = values.length - lag;
+        double sumX = 0.0;
+        double sumY = 0.0;
+        double sumXY = 0.0;
+        double sumXX = 0.0;
+        double sumYY = 0.0;
+        for (int i = 0; i < n; ++i) {
+            double x = values[i];
+            double y = values[i + lag];
+            sumX += x;
+            sumY += y;
+            sumXY += x * y;
+            sumXX += x * x;
+            sumYY += y * y;
+        }
+        double covariance = sumXY / n - (sumX / n) * (sumY / n);
+        double varianceX = sumXX / n - (sumX / n) * (sumX / n);
+        double varianceY = sumYY / n - (sumY / n) * (sumY / n);
+        return covariance / Math.sqrt(varianceX * varianceY);
+    }
+}
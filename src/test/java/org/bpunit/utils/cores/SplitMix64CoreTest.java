@@ -0,0 +1,35 @@
+package org.bpunit.utils.cores;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test case for the {@link SplitMix64Core} class.
+ */
+public class SplitMix64CoreTest {
+    @Test
+    public void sameSequenceAsSplittableRandom() {
+        SplittableRandom random = new SplittableRandom(17L);
+        SplitMix64Core core = new SplitMix64Core();
+        core.setSeed(17L);
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(random.nextLong(), core.nextLong());
+        }
+    }
+
+    @Test
+    public void advance() {
+        SplitMix64Core core = new SplitMix64Core();
+        core.setSeed(17L);
+        SplitMix64Core skipped = new SplitMix64Core();
+        skipped.setSeed(17L);
+        for (int i = 0; i < 1000; ++i) {
+            core.nextLong();
+        }
+        skipped.advance(1000);
+        assertEquals(core.nextLong(), skipped.nextLong());
+    }
+}
@@ -0,0 +1,51 @@
+package org.bpunit.utils.cores;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test case for the {@link Xoshiro256StarStarCore} class.
+ */
+public class Xoshiro256StarStarCoreTest {
+    @Test
+    public void referenceSequence() {
+        Xoshiro256StarStarCore core = new Xoshiro256StarStarCore();
+        core.setSeed(42L);
+        assertEquals(1546998764402558742L, core.nextLong());
+        assertEquals(6990951692964543102L, core.nextLong());
+        assertEquals(-5902157311460992607L, core.nextLong());
+    }
+
+    @Test
+    public void differentSeeds() {
+        Xoshiro256StarStarCore core1 = new Xoshiro256StarStarCore();
+        core1.setSeed(42L);
+        Xoshiro256StarStarCore core2 = new Xoshiro256StarStarCore();
+        core2.setSeed(43L);
+        assertNotEquals(core1.nextLong(), core2.nextLong());
+    }
+
+    @Test
+    public void copy() {
+        Xoshiro256StarStarCore core = new Xoshiro256StarStarCore();
+        core.setSeed(42L);
+        core.nextLong();
+        Xoshiro256StarStarCore copy = core.copy();
+        assertEquals(core.nextLong(), copy.nextLong());
+    }
+
+    @Test
+    public void jumpAndLeap() {
+        Xoshiro256StarStarCore core = new Xoshiro256StarStarCore();
+        core.setSeed(42L);
+        Xoshiro256StarStarCore jumped = core.copy();
+        jumped.jump();
+        Xoshiro256StarStarCore leaped = core.copy();
+        leaped.leap();
+        long value = core.nextLong();
+        assertNotEquals(value, jumped.nextLong());
+        assertNotEquals(value, leaped.nextLong());
+    }
+}